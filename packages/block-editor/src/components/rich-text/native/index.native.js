@@ -1289,7 +1289,11 @@ export class RichText extends Component {
 					}
 					onPaste={ this.onPaste }
 					activeFormats={ this.getActiveFormatNames( record ) }
-					onContentSizeChange={ this.onContentSizeChange }
+					onContentSizeChange={
+						// Android measures the view by its content in the layout
+						// pass, without the `minHeight` round trip.
+						this.isIOS && this.onContentSizeChange
+					}
 					onSelectionChange={ this.onSelectionChangeFromAztec }
 					blockType={ { tag: tagName } }
 					color={
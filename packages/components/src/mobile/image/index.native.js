@@ -11,6 +11,7 @@ import { __ } from '@wordpress/i18n';
 import { image, offline } from '@wordpress/icons';
 import { usePreferredColorSchemeStyle } from '@wordpress/compose';
 import { useEffect, useState, Platform } from '@wordpress/element';
+import { getMediaThumbnailUrl } from '@wordpress/react-native-bridge';
 
 /**
  * Internal dependencies
@@ -85,7 +86,9 @@ const ImageComponent = ( {
 			} );
 
 			if ( url.startsWith( 'file:///' ) ) {
-				setLocalURL( url );
+				// The host's downscaled preview of a selected image is shown,
+				// when there is one, rather than decoding the full image.
+				setLocalURL( getMediaThumbnailUrl( url ) ?? url );
 				setNetworkURL( null );
 				setNetworkImageLoaded( false );
 			} else if ( url.startsWith( 'https://' ) ) {
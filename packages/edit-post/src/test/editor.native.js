@@ -153,6 +153,29 @@ describe( 'Editor', () => {
 		expect( getEditorHtml() ).toMatchSnapshot();
 	} );
 
+	it( 'appends media sent in a single batch in order', async () => {
+		// Arrange
+		requestMediaImport
+			.mockImplementationOnce( ( _, callback ) =>
+				callback( MEDIA[ 0 ].id, MEDIA[ 0 ].serverUrl )
+			)
+			.mockImplementationOnce( ( _, callback ) =>
+				callback( MEDIA[ 2 ].id, MEDIA[ 2 ].serverUrl )
+			);
+		await initializeEditor();
+
+		// Act
+		act( () => mediaAppendCallback( { media: [ MEDIA[ 0 ], MEDIA[ 2 ] ] } ) );
+		await screen.findByTestId( `network-image-${ MEDIA[ 0 ].serverUrl }` );
+		await screen.findByTestId( `network-image-${ MEDIA[ 2 ].serverUrl }` );
+
+		// Assert
+		const html = getEditorHtml();
+		expect( html.indexOf( MEDIA[ 0 ].serverUrl ) ).toBeLessThan(
+			html.indexOf( MEDIA[ 2 ].serverUrl )
+		);
+	} );
+
 	it( 'appends media correctly for allowed types and skips unsupported ones', async () => {
 		// Arrange
 		requestMediaImport
@@ -9,6 +9,12 @@ import { SafeAreaProvider } from 'react-native-safe-area-context';
  * WordPress dependencies
  */
 import RNReactNativeGutenbergBridge, {
+	contentFingerprint,
+	editorDidChangeContent,
+	editorDidLoadInitialContent,
+	getHostCapabilities,
+	provideToNativeHtml,
+	readInitialContent,
 	requestBlockTypeImpressions,
 	setBlockTypeImpressions,
 	subscribeParentGetHtml,
@@ -38,7 +44,6 @@ import { compose } from '@wordpress/compose';
 import { applyFilters } from '@wordpress/hooks';
 import {
 	store as blockEditorStore,
-	getGlobalStyles,
 	getColorsAndGradients,
 } from '@wordpress/block-editor';
 import { NEW_BLOCK_TYPES } from '@wordpress/block-library';
@@ -70,6 +75,7 @@ import { store as coreStore } from '@wordpress/core-data';
  */
 import EditorProvider from './index.js';
 import { insertContentWithTitle } from '../post-title';
+import { getThemeGlobalStyles, resolveTheme } from './theme-cache';
 
 class NativeEditorProvider extends Component {
 	constructor() {
@@ -77,6 +83,9 @@ class NativeEditorProvider extends Component {
 
 		// Keep a local reference to `post` to detect changes.
 		this.post = this.props.post;
+		// A large post is loaded progressively: the editor starts with its
+		// first blocks, and the rest of them are appended once it's mounted.
+		this.initialHtmlRemainderHandle = this.props.initialHtmlRemainderHandle;
 		this.props.addEntities( postTypeEntities );
 		this.props.receiveEntityRecords(
 			'postType',
@@ -113,7 +122,7 @@ class NativeEditorProvider extends Component {
 
 		updateEditorSettings( {
 			capabilities,
-			...this.getThemeColors( this.props ),
+			...this.getThemeColors( resolveTheme( this.getInitialTheme() ) ),
 			locale,
 			hostAppNamespace,
 		} );
@@ -134,7 +143,7 @@ class NativeEditorProvider extends Component {
 
 		this.subscriptionParentUpdateHtml = subscribeUpdateHtml(
 			( payload ) => {
-				this.updateHtmlAction( payload.html );
+				this.updateHtmlAction( payload.html, payload.fingerprint );
 			}
 		);
 
@@ -146,23 +155,37 @@ class NativeEditorProvider extends Component {
 
 		this.subscriptionParentMediaAppend = subscribeMediaAppend(
 			( payload ) => {
-				const blockName = 'core/' + payload.mediaType;
-				const blockType = getBlockType( blockName );
-
-				if ( blockType && blockType?.name ) {
-					const newBlock = createBlock( blockType.name, {
-						id: payload.mediaId,
-						[ payload.mediaType === 'image' ? 'url' : 'src' ]:
-							payload.mediaUrl,
-					} );
+				// Android sends the media selected together in a single batch.
+				const mediaList = payload.media ?? [ payload ];
+				const newBlocks = [];
+				let hasUnsupportedMedia = false;
+
+				mediaList.forEach( ( { mediaId, mediaType, mediaUrl } ) => {
+					const blockType = getBlockType( 'core/' + mediaType );
+
+					if ( blockType && blockType?.name ) {
+						newBlocks.push(
+							createBlock( blockType.name, {
+								id: mediaId,
+								[ mediaType === 'image' ? 'url' : 'src' ]:
+									mediaUrl,
+							} )
+						);
+					} else {
+						hasUnsupportedMedia = true;
+					}
+				} );
 
+				if ( newBlocks.length ) {
 					const indexAfterSelected =
 						this.props.selectedBlockIndex + 1;
 					const insertionIndex =
 						indexAfterSelected || this.props.blockCount;
 
-					this.props.insertBlock( newBlock, insertionIndex );
-				} else {
+					this.props.insertBlocks( newBlocks, insertionIndex );
+				}
+
+				if ( hasUnsupportedMedia ) {
 					createErrorNotice(
 						__( 'File type not supported as a media file.' )
 					);
@@ -172,7 +195,9 @@ class NativeEditorProvider extends Component {
 
 		this.subscriptionParentUpdateEditorSettings =
 			subscribeUpdateEditorSettings( ( { ...editorSettings } ) => {
-				updateEditorSettings( this.getThemeColors( editorSettings ) );
+				updateEditorSettings(
+					this.getThemeColors( resolveTheme( editorSettings ) )
+				);
 			} );
 
 		this.subscriptionParentUpdateCapabilities = subscribeUpdateCapabilities(
@@ -222,6 +247,8 @@ class NativeEditorProvider extends Component {
 	}
 
 	componentWillUnmount() {
+		clearTimeout( this.appendInitialContentTimeout );
+
 		if ( this.subscriptionParentGetHtml ) {
 			this.subscriptionParentGetHtml.remove();
 		}
@@ -271,11 +298,17 @@ class NativeEditorProvider extends Component {
 		}
 	}
 
-	getThemeColors( { rawStyles, rawFeatures } ) {
+	getInitialTheme() {
+		const { themeHash, rawStyles, rawFeatures } = this.props;
+		return { themeHash, rawStyles, rawFeatures };
+	}
+
+	getThemeColors( theme ) {
+		const { rawStyles, rawFeatures } = theme;
 		const { defaultEditorColors, defaultEditorGradients } = this.props;
 
 		if ( rawStyles && rawFeatures ) {
-			return getGlobalStyles( rawStyles, rawFeatures );
+			return getThemeGlobalStyles( theme );
 		}
 
 		return getColorsAndGradients(
@@ -296,6 +329,17 @@ class NativeEditorProvider extends Component {
 			RNReactNativeGutenbergBridge.editorDidMount(
 				unsupportedBlockNames
 			);
+			if ( this.initialHtmlRemainderHandle ) {
+				// Let the first blocks render before appending the rest.
+				this.appendInitialContentTimeout = setTimeout( () =>
+					this.appendRemainingInitialContent()
+				);
+			}
+		} else if (
+			this.props.isReady &&
+			prevProps.blocks !== this.props.blocks
+		) {
+			editorDidChangeContent();
 		}
 	}
 
@@ -324,8 +368,37 @@ class NativeEditorProvider extends Component {
 		onClearPostTitleSelection();
 	}
 
+	/**
+	 * Appends the rest of the blocks of a post loaded progressively.
+	 *
+	 * @return {?Array} The blocks of the whole post, or undefined when the post
+	 *                  isn't being loaded.
+	 */
+	appendRemainingInitialContent() {
+		const handle = this.initialHtmlRemainderHandle;
+		if ( ! handle ) {
+			return undefined;
+		}
+		this.initialHtmlRemainderHandle = undefined;
+		clearTimeout( this.appendInitialContentTimeout );
+
+		const remainingBlocks = parse( readInitialContent( handle ) );
+		const blocks = [ ...this.props.blocks, ...remainingBlocks ];
+		this.props.resetEditorBlocksWithoutUndoLevel( blocks );
+		// The post is loaded as is, without changes.
+		this.post.content.raw = [
+			this.post.content.raw,
+			serialize( remainingBlocks ),
+		]
+			.filter( Boolean )
+			.join( '\n\n' );
+		editorDidLoadInitialContent();
+		return blocks;
+	}
+
 	serializeToNativeAction() {
 		const title = this.props.title;
+		let blocks = this.props.blocks;
 		let html;
 
 		if ( this.props.mode === 'text' ) {
@@ -333,7 +406,9 @@ class NativeEditorProvider extends Component {
 			// Let's request the HTML from the component's state directly.
 			html = applyFilters( 'native.persist-html' );
 		} else {
-			html = serialize( this.props.blocks );
+			// The host gets the whole post, even when it's still loading.
+			blocks = this.appendRemainingInitialContent() ?? blocks;
+			html = serialize( blocks );
 		}
 
 		const hasChanges =
@@ -348,12 +423,12 @@ class NativeEditorProvider extends Component {
 		contentInfo.wordCount = wordCount( html, 'words' );
 		contentInfo.paragraphCount = this.props.paragraphCount;
 		contentInfo.blockCount = this.props.blockCount;
-		RNReactNativeGutenbergBridge.provideToNative_Html(
-			html,
-			title,
-			hasChanges,
-			contentInfo
-		);
+		provideToNativeHtml( html, title, hasChanges, contentInfo );
+		// The host has this content now, unless the blocks change
+		this.syncedContent =
+			this.props.mode === 'text'
+				? null
+				: { html, blocks, fingerprint: null };
 
 		if ( hasChanges ) {
 			this.post.title.raw = title;
@@ -361,7 +436,33 @@ class NativeEditorProvider extends Component {
 		}
 	}
 
-	updateHtmlAction( html ) {
+	updateHtmlAction( html, fingerprint ) {
+		// Skip parsing the content the editor already has, e.g. when the host
+		// sets the content it just saved.
+		const { syncedContent } = this;
+		if (
+			fingerprint !== undefined &&
+			syncedContent &&
+			syncedContent.blocks === this.props.blocks
+		) {
+			if ( syncedContent.fingerprint === null ) {
+				syncedContent.fingerprint = contentFingerprint(
+					syncedContent.html
+				);
+			}
+			if ( syncedContent.fingerprint === fingerprint ) {
+				return;
+			}
+		}
+		this.syncedContent = null;
+
+		if ( this.initialHtmlRemainderHandle ) {
+			// The new content replaces the post being loaded.
+			this.initialHtmlRemainderHandle = undefined;
+			clearTimeout( this.appendInitialContentTimeout );
+			editorDidLoadInitialContent();
+		}
+
 		const parsed = parse( html );
 		this.props.resetEditorBlocksWithoutUndoLevel( parsed );
 	}
@@ -379,11 +480,18 @@ class NativeEditorProvider extends Component {
 	}
 
 	updateCapabilitiesAction( capabilities ) {
-		this.props.updateEditorSettings( { capabilities } );
+		this.props.updateCapabilities( capabilities );
 	}
 
 	render() {
-		const { children, post, capabilities, settings, ...props } = this.props;
+		const {
+			children,
+			post,
+			capabilities,
+			settings,
+			initialHtmlRemainderHandle,
+			...props
+		} = this.props;
 		const editorSettings = this.getEditorSettings( settings, capabilities );
 
 		return (
@@ -438,7 +546,7 @@ const ComposedNativeProvider = compose( [
 			paragraphCount: getGlobalBlockCount( 'core/paragraph' ),
 		};
 	} ),
-	withDispatch( ( dispatch ) => {
+	withDispatch( ( dispatch, ownProps, { select } ) => {
 		const {
 			editPost,
 			resetEditorBlocks,
@@ -449,7 +557,6 @@ const ComposedNativeProvider = compose( [
 		const {
 			clearSelectedBlock,
 			updateSettings,
-			insertBlock,
 			insertBlocks,
 			replaceBlock,
 		} = dispatch( blockEditorStore );
@@ -461,7 +568,6 @@ const ComposedNativeProvider = compose( [
 			updateBlockEditorSettings: updateSettings,
 			updateEditorSettings,
 			addEntities,
-			insertBlock,
 			insertBlocks,
 			createSuccessNotice,
 			createErrorNotice,
@@ -469,6 +575,18 @@ const ComposedNativeProvider = compose( [
 			editTitle( title ) {
 				editPost( { title } );
 			},
+			updateCapabilities( capabilities ) {
+				// The host only sends the capabilities that changed, so the
+				// rest are the host's current ones. Otherwise they're merged
+				// with the current ones as of now, since another update may
+				// not have re-rendered the provider yet.
+				const currentCapabilities =
+					getHostCapabilities() ??
+					select( editorStore ).getEditorSettings().capabilities;
+				updateEditorSettings( {
+					capabilities: { ...currentCapabilities, ...capabilities },
+				} );
+			},
 			receiveEntityRecords,
 			resetEditorBlocksWithoutUndoLevel( blocks ) {
 				resetEditorBlocks( blocks, {
@@ -0,0 +1,159 @@
+/**
+ * External dependencies
+ */
+import {
+	act,
+	getEditorHtml,
+	initializeEditor,
+	setupCoreBlocks,
+	waitFor,
+} from 'test/helpers';
+
+/**
+ * WordPress dependencies
+ */
+import { select } from '@wordpress/data';
+import {
+	editorDidLoadInitialContent,
+	editorDidMount,
+	getHostCapabilities,
+	provideToNativeHtml,
+	readInitialContent,
+	subscribeUpdateCapabilities,
+	subscribeUpdateHtml,
+} from '@wordpress/react-native-bridge';
+
+/**
+ * Internal dependencies
+ */
+import { store as editorStore } from '../../../store';
+
+setupCoreBlocks();
+
+let updateHtmlCallback;
+subscribeUpdateHtml.mockImplementation( ( callback ) => {
+	updateHtmlCallback = callback;
+} );
+
+let updateCapabilitiesCallback;
+subscribeUpdateCapabilities.mockImplementation( ( callback ) => {
+	updateCapabilitiesCallback = callback;
+} );
+
+const paragraph = ( text ) =>
+	`<!-- wp:paragraph -->\n<p>${ text }</p>\n<!-- /wp:paragraph -->`;
+
+const FIRST_BLOCKS = paragraph( 'First' );
+const REMAINING_BLOCKS = [ paragraph( 'Second' ), paragraph( 'Third' ) ].join(
+	'\n\n'
+);
+const WHOLE_POST = [ FIRST_BLOCKS, REMAINING_BLOCKS ].join( '\n\n' );
+
+const initializeProgressiveEditor = () =>
+	initializeEditor( {
+		initialHtml: FIRST_BLOCKS,
+		initialHtmlRemainderHandle: 'remainder',
+	} );
+
+describe( 'Editor provider', () => {
+	describe( 'when the initial content is loaded progressively', () => {
+		beforeEach( () => {
+			readInitialContent.mockReturnValue( REMAINING_BLOCKS );
+		} );
+
+		afterEach( () => {
+			jest.clearAllMocks();
+		} );
+
+		it( 'appends the rest of the post once mounted', async () => {
+			await initializeProgressiveEditor();
+
+			await waitFor( () =>
+				expect( editorDidLoadInitialContent ).toHaveBeenCalledTimes( 1 )
+			);
+			expect( readInitialContent ).toHaveBeenCalledTimes( 1 );
+			expect( readInitialContent ).toHaveBeenCalledWith( 'remainder' );
+			expect( getEditorHtml() ).toBe( WHOLE_POST );
+		} );
+
+		it( 'sends the whole post when the host asks for it before the rest is appended', async () => {
+			let html;
+			editorDidMount.mockImplementationOnce( () => {
+				html = getEditorHtml();
+			} );
+
+			await initializeProgressiveEditor();
+
+			expect( html ).toBe( WHOLE_POST );
+			expect( readInitialContent ).toHaveBeenCalledTimes( 1 );
+			expect( editorDidLoadInitialContent ).toHaveBeenCalledTimes( 1 );
+		} );
+
+		it( 'does not append the rest of the post when the host replaces it first', async () => {
+			editorDidMount.mockImplementationOnce( () => {
+				updateHtmlCallback( { html: paragraph( 'Replaced' ) } );
+			} );
+
+			await initializeProgressiveEditor();
+
+			expect( readInitialContent ).not.toHaveBeenCalled();
+			expect( editorDidLoadInitialContent ).toHaveBeenCalledTimes( 1 );
+			expect( getEditorHtml() ).toBe( paragraph( 'Replaced' ) );
+		} );
+
+		it( 'keeps the whole post unchanged once the rest is appended', async () => {
+			await initializeProgressiveEditor();
+			await waitFor( () =>
+				expect( editorDidLoadInitialContent ).toHaveBeenCalledTimes( 1 )
+			);
+
+			getEditorHtml();
+
+			expect( provideToNativeHtml ).toHaveBeenLastCalledWith(
+				WHOLE_POST,
+				'test',
+				false,
+				expect.any( Object )
+			);
+		} );
+	} );
+
+	describe( 'when the host updates the capabilities', () => {
+		it( 'keeps every change of back-to-back updates', async () => {
+			await initializeEditor( {
+				capabilities: { mentions: true, xposts: true },
+			} );
+
+			act( () => {
+				updateCapabilitiesCallback( { mentions: false } );
+				updateCapabilitiesCallback( { unsupportedBlockEditor: true } );
+			} );
+
+			expect(
+				select( editorStore ).getEditorSettings().capabilities
+			).toEqual( {
+				mentions: false,
+				xposts: true,
+				unsupportedBlockEditor: true,
+			} );
+		} );
+
+		it( 'takes the capabilities that did not change from the host', async () => {
+			await initializeEditor( {
+				capabilities: { mentions: true },
+			} );
+			getHostCapabilities.mockReturnValueOnce( {
+				mentions: false,
+				xposts: true,
+			} );
+
+			act( () => {
+				updateCapabilitiesCallback( { mentions: false } );
+			} );
+
+			expect(
+				select( editorStore ).getEditorSettings().capabilities
+			).toEqual( { mentions: false, xposts: true } );
+		} );
+	} );
+} );
@@ -0,0 +1,112 @@
+/**
+ * WordPress dependencies
+ */
+import { getGlobalStyles } from '@wordpress/block-editor';
+import {
+	getHostThemeStyles,
+	saveThemeStyles,
+} from '@wordpress/react-native-bridge';
+
+/**
+ * Internal dependencies
+ */
+import { getThemeGlobalStyles, resolveTheme } from '../theme-cache';
+
+jest.mock( '@wordpress/block-editor', () => ( {
+	getGlobalStyles: jest.fn( ( rawStyles, rawFeatures ) => ( {
+		rawStyles,
+		rawFeatures,
+	} ) ),
+} ) );
+
+describe( 'Theme cache', () => {
+	beforeEach( () => {
+		getGlobalStyles.mockClear();
+	} );
+
+	it( 'parses the global styles of a theme once', () => {
+		const theme = resolveTheme( {
+			themeHash: 1,
+			rawStyles: 'styles-1',
+			rawFeatures: 'features-1',
+		} );
+		const globalStyles = getThemeGlobalStyles( theme );
+		const updatedTheme = resolveTheme( { themeHash: 1 } );
+
+		expect( updatedTheme ).toBe( theme );
+		expect( getThemeGlobalStyles( updatedTheme ) ).toBe( globalStyles );
+		expect( getGlobalStyles ).toHaveBeenCalledTimes( 1 );
+	} );
+
+	it( 'applies the changed fields to the base theme', () => {
+		resolveTheme( {
+			themeHash: 2,
+			rawStyles: 'styles-2',
+			rawFeatures: 'features-2',
+			colors: [ 'color-2' ],
+		} );
+
+		const theme = resolveTheme( {
+			themeHash: 3,
+			baseThemeHash: 2,
+			rawStyles: 'styles-3',
+			colors: null,
+		} );
+
+		expect( theme ).toEqual( {
+			themeHash: 3,
+			rawStyles: 'styles-3',
+			rawFeatures: 'features-2',
+			colors: null,
+		} );
+		expect( getThemeGlobalStyles( theme ) ).toEqual( {
+			rawStyles: 'styles-3',
+			rawFeatures: 'features-2',
+		} );
+	} );
+
+	it( 'saves the global styles on the host once parsed', () => {
+		const theme = resolveTheme( {
+			themeHash: 4,
+			rawStyles: 'styles-4',
+			rawFeatures: 'features-4',
+		} );
+		getThemeGlobalStyles( theme );
+
+		expect( saveThemeStyles ).toHaveBeenCalledWith(
+			4,
+			JSON.stringify( {
+				rawStyles: 'styles-4',
+				rawFeatures: 'features-4',
+			} )
+		);
+	} );
+
+	it( 'takes the global styles the host saved instead of parsing them', () => {
+		getHostThemeStyles.mockReturnValueOnce(
+			JSON.stringify( { rawStyles: 'saved-styles' } )
+		);
+		const theme = resolveTheme( {
+			themeHash: 5,
+			rawStyles: 'styles-5',
+			rawFeatures: 'features-5',
+		} );
+
+		expect( getThemeGlobalStyles( theme ) ).toEqual( {
+			rawStyles: 'saved-styles',
+		} );
+		expect( getHostThemeStyles ).toHaveBeenCalledWith( 5 );
+		expect( getGlobalStyles ).not.toHaveBeenCalled();
+	} );
+
+	it( 'parses themes without a hash every time', () => {
+		const theme = resolveTheme( {
+			rawStyles: 'styles',
+			rawFeatures: 'features',
+		} );
+		getThemeGlobalStyles( theme );
+		getThemeGlobalStyles( theme );
+
+		expect( getGlobalStyles ).toHaveBeenCalledTimes( 2 );
+	} );
+} );
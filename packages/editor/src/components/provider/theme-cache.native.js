@@ -0,0 +1,91 @@
+/**
+ * WordPress dependencies
+ */
+import { getGlobalStyles } from '@wordpress/block-editor';
+import {
+	getHostThemeStyles,
+	saveThemeStyles,
+} from '@wordpress/react-native-bridge';
+
+const MAX_THEMES = 4;
+
+// The themes received from the host by hash, along with their global styles
+// once parsed, most recently used last. Kept for as long as the JS context,
+// across editor sessions. The host keeps the global styles across JS contexts.
+const themes = new Map();
+
+function rememberTheme( themeHash, theme ) {
+	themes.delete( themeHash );
+	themes.set( themeHash, theme );
+	if ( themes.size > MAX_THEMES ) {
+		themes.delete( themes.keys().next().value );
+	}
+	return theme;
+}
+
+/**
+ * Resolves the theme the host sent, in the initial props or as an update. The
+ * host sends the hash of the theme along with only the fields that changed
+ * since the theme with the base hash, if any, and removed fields as null.
+ *
+ * @param {Object} update               The theme sent by the host.
+ * @param {number} update.themeHash     The hash of the theme.
+ * @param {number} update.baseThemeHash The hash of the theme the fields apply
+ *                                      to, when only the changed fields are
+ *                                      sent.
+ *
+ * @return {Object} The theme, i.e. its `themeHash`, `colors`, `gradients`,
+ *                  `rawStyles` and `rawFeatures`.
+ */
+export function resolveTheme( { themeHash, baseThemeHash, ...fields } ) {
+	if ( themeHash === undefined ) {
+		return fields;
+	}
+	const cachedTheme = themes.get( themeHash );
+	if ( cachedTheme ) {
+		return rememberTheme( themeHash, cachedTheme );
+	}
+	const baseTheme =
+		baseThemeHash !== undefined ? themes.get( baseThemeHash ) : undefined;
+	const { globalStyles, ...baseFields } = baseTheme ?? {};
+	return rememberTheme( themeHash, {
+		...baseFields,
+		...fields,
+		themeHash,
+	} );
+}
+
+function parseThemeGlobalStyles( { themeHash, rawStyles, rawFeatures } ) {
+	const savedStyles = getHostThemeStyles( themeHash );
+	if ( savedStyles ) {
+		try {
+			return JSON.parse( savedStyles );
+		} catch ( error ) {
+			// The theme is parsed again instead.
+		}
+	}
+	const globalStyles = getGlobalStyles( rawStyles, rawFeatures );
+	saveThemeStyles( themeHash, JSON.stringify( globalStyles ) );
+	return globalStyles;
+}
+
+/**
+ * Returns the global styles of a theme, parsed once per theme, or once per
+ * host for the themes it keeps the global styles of.
+ *
+ * @param {Object} theme The theme, as resolved by `resolveTheme`.
+ *
+ * @return {Object} The global styles settings.
+ */
+export function getThemeGlobalStyles( theme ) {
+	const { themeHash, rawStyles, rawFeatures } = theme;
+	const cachedTheme =
+		themeHash !== undefined ? themes.get( themeHash ) : undefined;
+	if ( ! cachedTheme ) {
+		return getGlobalStyles( rawStyles, rawFeatures );
+	}
+	if ( ! cachedTheme.globalStyles ) {
+		cachedTheme.globalStyles = parseThemeGlobalStyles( theme );
+	}
+	return cachedTheme.globalStyles;
+}
@@ -1,7 +1,7 @@
 /**
  * WordPress dependencies
  */
-import RNReactNativeGutenbergBridge from '@wordpress/react-native-bridge';
+import { editorDidAutosave } from '@wordpress/react-native-bridge';
 
 export * from './actions.js';
 
@@ -22,6 +22,11 @@ export function togglePostTitleSelection( isSelected = true ) {
 /**
  * Action that autosaves the post.
  */
-export const autosave = () => () => {
-	RNReactNativeGutenbergBridge.editorDidAutosave();
-};
+export const autosave =
+	() =>
+	( { select } ) => {
+		editorDidAutosave( () => ( {
+			title: select.getEditedPostAttribute( 'title' ),
+			content: select.getEditedPostContent(),
+		} ) );
+	};
@@ -0,0 +1,204 @@
+package org.wordpress.mobile.ReactNativeAztec
+
+import android.app.Application
+import android.content.ClipData
+import android.content.ClipboardManager
+import android.content.Context
+import android.view.ContextThemeWrapper
+import com.facebook.react.bridge.JavaOnlyArray
+import com.facebook.react.bridge.JavaOnlyMap
+import com.facebook.react.bridge.ReactApplicationContext
+import com.facebook.react.uimanager.ThemedReactContext
+import com.facebook.react.uimanager.UIManagerModule
+import com.facebook.react.uimanager.events.EventDispatcher
+import org.junit.AfterClass
+import org.junit.Assume.assumeTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.Mockito.doReturn
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.spy
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.wordpress.mobile.benchmark.BenchmarkRunner
+
+/**
+ * Benchmarks of the operations [ReactAztecText] runs on each keystroke, selection change and paste, for blocks
+ * from 100 characters to 100 KB. Operations whose cost grows with the size of the block (i.e. the ones serializing
+ * the whole text to HTML) show up as ns/op growing with `chars`.
+ *
+ * The events sent to JS go to a mocked [EventDispatcher], since the React instance isn't available on the JVM.
+ */
+@RunWith(RobolectricTestRunner::class)
+class AztecBenchmark {
+    private lateinit var reactContext: ThemedReactContext
+    private lateinit var manager: ReactAztecManager
+
+    @Before
+    fun setUp() {
+        assumeTrue(BenchmarkRunner.isEnabled)
+
+        val application: Application = RuntimeEnvironment.getApplication()
+        val uiManager = mock(UIManagerModule::class.java)
+        doReturn(mock(EventDispatcher::class.java)).`when`(uiManager).eventDispatcher
+        reactContext = spy(ThemedReactContext(
+            ReactApplicationContext(application),
+            ContextThemeWrapper(application, androidx.appcompat.R.style.Theme_AppCompat_Light)
+        ))
+        doReturn(uiManager).`when`(reactContext).getNativeModule(UIManagerModule::class.java)
+
+        manager = ReactAztecManager(null, null)
+    }
+
+    @Test
+    fun setText() {
+        for (chars in BLOCK_SIZES) {
+            val view = createView(withEventEmitters = true)
+            val html = createHtml(chars)
+            runner.measure("setText", mapOf("chars" to chars), warmupIterations(chars), iterations(chars)) {
+                manager.setText(view, JavaOnlyMap.of("text", html))
+            }
+        }
+    }
+
+    /**
+     * Types a character at the end of the block, which runs the `AztecTextWatcher` registered by the manager.
+     * Compare with [typeCharacterWithoutTextWatcher] to get the cost of the watcher itself.
+     */
+    @Test
+    fun typeCharacter() {
+        measureTyping("typeCharacter", withEventEmitters = true)
+    }
+
+    @Test
+    fun typeCharacterWithoutTextWatcher() {
+        measureTyping("typeCharacterWithoutTextWatcher", withEventEmitters = false)
+    }
+
+    @Test
+    fun propagateSelectionChanges() {
+        for (chars in BLOCK_SIZES) {
+            val view = createViewWithContent(chars)
+            view.shouldHandleOnSelectionChange = true
+            val length = view.text!!.length
+            runner.measure(
+                "propagateSelectionChanges",
+                mapOf("chars" to chars),
+                warmupIterations(chars),
+                iterations(chars)
+            ) {
+                view.propagateSelectionChanges(length, length)
+            }
+        }
+    }
+
+    @Test
+    fun updateToolbarButtons() {
+        for (chars in BLOCK_SIZES) {
+            val view = createViewWithContent(chars)
+            view.shouldHandleActiveFormatsChange = true
+            val length = view.text!!.length
+            runner.measure(
+                "updateToolbarButtons",
+                mapOf("chars" to chars),
+                warmupIterations(chars),
+                iterations(chars),
+                // Otherwise only the first iteration would send the formatting change event
+                setup = { view.lastSentFormattingOptionsEventString = "" }
+            ) {
+                view.updateToolbarButtons(0, length)
+            }
+        }
+    }
+
+    @Test
+    fun setActiveFormats() {
+        val formats = listOf(JavaOnlyArray.of("bold", "italic"), JavaOnlyArray.of("strikethrough"))
+        for (chars in BLOCK_SIZES) {
+            val view = createViewWithContent(chars)
+            var iteration = 0
+            runner.measure(
+                "setActiveFormats",
+                mapOf("chars" to chars),
+                warmupIterations(chars),
+                iterations(chars),
+                setup = { formats[iteration++ % formats.size] }
+            ) { activeFormats ->
+                manager.setActiveFormats(view, activeFormats)
+            }
+        }
+    }
+
+    @Test
+    fun onPaste() {
+        val clipboardManager = reactContext.getSystemService(Context.CLIPBOARD_SERVICE) as ClipboardManager
+        val pastedHtml = createHtml(1_000)
+        clipboardManager.setPrimaryClip(ClipData.newHtmlText("paste", pastedHtml, pastedHtml))
+        for (chars in BLOCK_SIZES) {
+            val view = createViewWithContent(chars)
+            runner.measure("onPaste", mapOf("chars" to chars), warmupIterations(chars), iterations(chars)) {
+                view.onPaste(false)
+            }
+        }
+    }
+
+    private fun measureTyping(name: String, withEventEmitters: Boolean) {
+        for (chars in BLOCK_SIZES) {
+            val view = createView(withEventEmitters)
+            manager.setText(view, JavaOnlyMap.of("text", createHtml(chars)))
+            view.setSelection(view.text!!.length)
+            runner.measure(name, mapOf("chars" to chars), warmupIterations(chars), iterations(chars)) {
+                view.text!!.insert(view.selectionEnd, "a")
+            }
+        }
+    }
+
+    private fun createView(withEventEmitters: Boolean): ReactAztecText {
+        val view = manager.createViewInstance(reactContext)
+        view.setTagName("p")
+        if (withEventEmitters) {
+            manager.addEventEmitters(reactContext, view)
+        }
+        return view
+    }
+
+    private fun createViewWithContent(chars: Int): ReactAztecText {
+        val view = createView(withEventEmitters = true)
+        manager.setText(view, JavaOnlyMap.of("text", createHtml(chars)))
+        return view
+    }
+
+    /**
+     * Creates the inline HTML of a paragraph block with some formatting, about [chars] characters long.
+     */
+    private fun createHtml(chars: Int): String {
+        val sentence = "Lorem ipsum <strong>dolor</strong> sit <em>amet</em>, consectetur " +
+            "<a href=\"https://wordpress.org\">adipiscing</a> elit. "
+        val html = StringBuilder(chars + sentence.length)
+        while (html.length < chars) {
+            html.append(sentence)
+        }
+        return html.toString()
+    }
+
+    // Larger blocks get fewer iterations, so that the whole suite runs in a few minutes
+    private fun iterations(chars: Int) = (MAX_CHARS_PER_BENCHMARK / chars).coerceIn(10, 1_000)
+
+    private fun warmupIterations(chars: Int) = (iterations(chars) / 5).coerceAtLeast(2)
+
+    companion object {
+        private val BLOCK_SIZES = listOf(100, 1_000, 10_000, 100_000)
+        private const val MAX_CHARS_PER_BENCHMARK = 1_000_000
+
+        private val runner = BenchmarkRunner("AztecBenchmark")
+
+        @JvmStatic
+        @AfterClass
+        fun writeResults() {
+            if (BenchmarkRunner.isEnabled) {
+                runner.writeResults()
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.wordpress.mobile.benchmark
+
+import java.io.File
+import java.lang.management.ManagementFactory
+import java.util.Locale
+
+/**
+ * Minimal JVM benchmark harness. Each benchmark is warmed up, then timed over a fixed number of iterations, and the
+ * results of a suite are written as JSON to the directory set in the `gutenberg.benchmark.outputDir` system property,
+ * so they can be compared between runs.
+ *
+ * Benchmarks only run when the `gutenberg.benchmark` system property is `true` (i.e. `./gradlew test -Pbenchmark`).
+ */
+class BenchmarkRunner(private val suiteName: String) {
+    data class Result(
+        val name: String,
+        val params: Map<String, Any>,
+        val iterations: Int,
+        val nsPerOp: Double,
+        val allocatedBytesPerOp: Double
+    )
+
+    private val results = mutableListOf<Result>()
+
+    /**
+     * Measures [operation], calling [setup] before each iteration to create its input. Setup is not timed.
+     */
+    fun <T> measure(
+        name: String,
+        params: Map<String, Any> = emptyMap(),
+        warmupIterations: Int = DEFAULT_WARMUP_ITERATIONS,
+        iterations: Int = DEFAULT_ITERATIONS,
+        setup: () -> T,
+        operation: (T) -> Unit
+    ): Result {
+        repeat(warmupIterations) { operation(setup()) }
+
+        var elapsedNs = 0L
+        var allocatedBytes = 0L
+        repeat(iterations) {
+            val input = setup()
+            val allocatedBefore = currentThreadAllocatedBytes()
+            val start = System.nanoTime()
+            operation(input)
+            elapsedNs += System.nanoTime() - start
+            allocatedBytes += currentThreadAllocatedBytes() - allocatedBefore
+        }
+
+        val result = Result(
+            name,
+            params,
+            iterations,
+            elapsedNs.toDouble() / iterations,
+            allocatedBytes.toDouble() / iterations
+        )
+        results.add(result)
+        println(String.format(Locale.US, "%s.%s %s: %.0f ns/op, %.0f B/op",
+            suiteName, name, params, result.nsPerOp, result.allocatedBytesPerOp))
+        return result
+    }
+
+    fun measure(
+        name: String,
+        params: Map<String, Any> = emptyMap(),
+        warmupIterations: Int = DEFAULT_WARMUP_ITERATIONS,
+        iterations: Int = DEFAULT_ITERATIONS,
+        operation: () -> Unit
+    ) = measure(name, params, warmupIterations, iterations, {}, { operation() })
+
+    fun writeResults() {
+        val outputDir = File(System.getProperty(OUTPUT_DIR_PROPERTY) ?: "build/benchmark-results")
+        outputDir.mkdirs()
+        File(outputDir, "$suiteName.json").writeText(toJson())
+    }
+
+    private fun toJson() = results.joinToString(",\n", "[\n", "\n]\n") { result ->
+        val params = result.params.entries.joinToString(", ", "{", "}") { (key, value) ->
+            "\"$key\": ${if (value is Number) value else "\"$value\""}"
+        }
+        String.format(Locale.US,
+            "  {\"suite\": \"%s\", \"benchmark\": \"%s\", \"params\": %s, \"iterations\": %d, " +
+                "\"nsPerOp\": %.1f, \"allocatedBytesPerOp\": %.1f}",
+            suiteName, result.name, params, result.iterations, result.nsPerOp, result.allocatedBytesPerOp)
+    }
+
+    companion object {
+        private const val ENABLED_PROPERTY = "gutenberg.benchmark"
+        private const val OUTPUT_DIR_PROPERTY = "gutenberg.benchmark.outputDir"
+        private const val DEFAULT_WARMUP_ITERATIONS = 200
+        private const val DEFAULT_ITERATIONS = 1000
+
+        @JvmStatic
+        val isEnabled: Boolean
+            get() = System.getProperty(ENABLED_PROPERTY) == "true"
+
+        private val threadMXBean = ManagementFactory.getThreadMXBean()
+
+        private fun currentThreadAllocatedBytes(): Long {
+            val bean = threadMXBean
+            return if (bean is com.sun.management.ThreadMXBean && bean.isThreadAllocatedMemorySupported) {
+                bean.getThreadAllocatedBytes(Thread.currentThread().id)
+            } else {
+                0L
+            }
+        }
+    }
+}
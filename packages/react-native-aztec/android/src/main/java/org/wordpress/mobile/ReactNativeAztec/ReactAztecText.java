@@ -24,6 +24,7 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 
 import com.facebook.infer.annotation.Assertions;
 import com.facebook.react.bridge.ReactContext;
@@ -31,7 +32,6 @@ import com.facebook.react.uimanager.ThemedReactContext;
 import com.facebook.react.uimanager.UIManagerModule;
 import com.facebook.react.uimanager.events.EventDispatcher;
 import com.facebook.react.views.textinput.ContentSizeWatcher;
-import com.facebook.react.views.textinput.ReactTextInputLocalData;
 import com.facebook.react.views.textinput.ScrollWatcher;
 
 import org.wordpress.android.util.AppLog;
@@ -64,6 +64,17 @@ public class ReactAztecText extends AztecText {
     private @Nullable ArrayList<TextWatcher> mListeners;
     private @Nullable TextWatcherDelegator mTextWatcherDelegator;
     private @Nullable ContentSizeWatcher mContentSizeWatcher;
+    private final Runnable mContentSizeWatcherRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (mContentSizeWatcher != null) {
+                mContentSizeWatcher.onLayout();
+            }
+        }
+    };
+    // The size of the text last handed to the shadow node, which measures by it in the layout pass.
+    private int mIntrinsicLayoutWidth = ReactAztecTextLocalData.NO_LAYOUT;
+    private int mIntrinsicLayoutHeight = ReactAztecTextLocalData.NO_LAYOUT;
     private @Nullable ScrollWatcher mScrollWatcher;
     private @Nullable Runnable mKeyboardRunnable;
 
@@ -342,14 +353,9 @@ public class ReactAztecText extends AztecText {
 
     private void onContentSizeChange() {
         if (mContentSizeWatcher != null) {
-            new Handler(Looper.getMainLooper()).post(new Runnable() {
-                @Override
-                public void run() {
-                    if (mContentSizeWatcher != null) {
-                        mContentSizeWatcher.onLayout();
-                    }
-                }
-            });
+            // Coalesce the changes of a frame into a single event.
+            removeCallbacks(mContentSizeWatcherRunnable);
+            post(mContentSizeWatcherRunnable);
         }
         setIntrinsicContentSize();
     }
@@ -364,7 +370,8 @@ public class ReactAztecText extends AztecText {
     }
 
 
-    private void updateToolbarButtons(int selStart, int selEnd) {
+    @VisibleForTesting
+    void updateToolbarButtons(int selStart, int selEnd) {
         ArrayList<ITextFormat> appliedStyles = getAppliedStyles(selStart, selEnd);
         updateToolbarButtons(appliedStyles);
     }
@@ -412,7 +419,8 @@ public class ReactAztecText extends AztecText {
         }
     }
 
-    private void propagateSelectionChanges(int selStart, int selEnd) {
+    @VisibleForTesting
+    void propagateSelectionChanges(int selStart, int selEnd) {
         if (!shouldHandleOnSelectionChange) {
             return;
         }
@@ -430,10 +438,27 @@ public class ReactAztecText extends AztecText {
     }
 
     private void setIntrinsicContentSize() {
+        int layoutWidth = ReactAztecTextLocalData.NO_LAYOUT;
+        int layoutHeight = ReactAztecTextLocalData.NO_LAYOUT;
+        // An empty text is measured by its placeholder, whose layout isn't exposed.
+        if (getLayout() != null && length() > 0) {
+            // The width the text is laid out at, like the width Yoga measures the node's content at
+            layoutWidth = getWidth() - getPaddingLeft() - getPaddingRight();
+            layoutHeight = getLayout().getHeight();
+        }
+
+        // Every update dirties the shadow node and runs a layout pass, which is only needed when the size of the
+        // text changed. Without the view's layout, the shadow node measures the text itself, so that's always sent.
+        if (layoutHeight != ReactAztecTextLocalData.NO_LAYOUT
+                && layoutWidth == mIntrinsicLayoutWidth && layoutHeight == mIntrinsicLayoutHeight) {
+            return;
+        }
+        mIntrinsicLayoutWidth = layoutWidth;
+        mIntrinsicLayoutHeight = layoutHeight;
+
         ReactContext reactContext = (ReactContext) getContext();
         UIManagerModule uiManager = reactContext.getNativeModule(UIManagerModule.class);
-        final ReactTextInputLocalData localData = new ReactTextInputLocalData(this);
-        uiManager.setViewLocalData(getId(), localData);
+        uiManager.setViewLocalData(getId(), new ReactAztecTextLocalData(this, layoutWidth, layoutHeight));
     }
 
     //// Text changed events
@@ -544,7 +569,8 @@ public class ReactAztecText extends AztecText {
      *
      * @return  boolean to indicate that the action was handled (always true)
      */
-    private boolean onPaste(boolean isPastedAsPlainText) {
+    @VisibleForTesting
+    boolean onPaste(boolean isPastedAsPlainText) {
         ClipboardManager clipboardManager = (ClipboardManager) getContext().getSystemService(
                 Context.CLIPBOARD_SERVICE);
 
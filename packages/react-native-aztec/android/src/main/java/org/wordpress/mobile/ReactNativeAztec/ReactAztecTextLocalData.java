@@ -0,0 +1,34 @@
+package org.wordpress.mobile.ReactNativeAztec;
+
+import com.facebook.react.views.textinput.ReactTextInputLocalData;
+
+/**
+ * The local data {@link ReactAztecText} hands to its shadow node: the size of its text as laid out by the view
+ * itself, along with the text input data the shadow node measures with when the view's layout doesn't apply. The
+ * width is the view's width minus its padding, and the height is the text's, without the padding either.
+ */
+final class ReactAztecTextLocalData {
+    static final int NO_LAYOUT = -1;
+
+    private final ReactTextInputLocalData mTextInputLocalData;
+    private final int mLayoutWidth;
+    private final int mLayoutHeight;
+
+    ReactAztecTextLocalData(ReactAztecText view, int layoutWidth, int layoutHeight) {
+        mTextInputLocalData = new ReactTextInputLocalData(view);
+        mLayoutWidth = layoutWidth;
+        mLayoutHeight = layoutHeight;
+    }
+
+    ReactTextInputLocalData getTextInputLocalData() {
+        return mTextInputLocalData;
+    }
+
+    int getLayoutWidth() {
+        return mLayoutWidth;
+    }
+
+    int getLayoutHeight() {
+        return mLayoutHeight;
+    }
+}
@@ -5,10 +5,15 @@ import android.widget.EditText;
 import androidx.annotation.Nullable;
 
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.uimanager.Spacing;
 import com.facebook.react.uimanager.annotations.ReactProp;
 import com.facebook.react.views.textinput.ReactTextInputShadowNode;
+import com.facebook.yoga.YogaMeasureMode;
+import com.facebook.yoga.YogaMeasureOutput;
+import com.facebook.yoga.YogaNode;
 
 public class ReactAztecTextShadowNode extends ReactTextInputShadowNode {
+    private @Nullable ReactAztecTextLocalData mAztecLocalData;
 
     @Override
     protected EditText createInternalEditText() {
@@ -24,4 +29,48 @@ public class ReactAztecTextShadowNode extends ReactTextInputShadowNode {
     public void setColor(@Nullable Integer color) {
         markUpdated();
     }
+
+    @Override
+    public void setLocalData(Object data) {
+        if (data instanceof ReactAztecTextLocalData) {
+            mAztecLocalData = (ReactAztecTextLocalData) data;
+            super.setLocalData(mAztecLocalData.getTextInputLocalData());
+        } else {
+            mAztecLocalData = null;
+            super.setLocalData(data);
+        }
+    }
+
+    @Override
+    public long measure(YogaNode node, float width, YogaMeasureMode widthMode, float height,
+                        YogaMeasureMode heightMode) {
+        // The view lays its text out with the Aztec spans, line height and heading scale the internal EditText
+        // doesn't have, so its height is used as is when laid out at the same width, e.g. while typing. This keeps
+        // the size right in the layout pass rather than after a content size event round trip through JS.
+        ReactAztecTextLocalData localData = mAztecLocalData;
+        if (localData == null || localData.getLayoutHeight() == ReactAztecTextLocalData.NO_LAYOUT
+                || widthMode != YogaMeasureMode.EXACTLY
+                || Math.abs(getViewContentWidth(width) - localData.getLayoutWidth()) >= 1) {
+            return super.measure(node, width, widthMode, height, heightMode);
+        }
+
+        float measuredHeight = localData.getLayoutHeight();
+        if (heightMode == YogaMeasureMode.EXACTLY) {
+            measuredHeight = height;
+        } else if (heightMode == YogaMeasureMode.AT_MOST) {
+            measuredHeight = Math.min(measuredHeight, height);
+        }
+        return YogaMeasureOutput.make(width, measuredHeight);
+    }
+
+    /**
+     * Yoga measures the content of the node, i.e. without its padding, and so does the view's layout width. The view's
+     * padding is the node's truncated to whole pixels though, see {@link ReactAztecManager#updateExtraData}, so the
+     * view lays its text out at up to a pixel wider on each side.
+     */
+    private float getViewContentWidth(float width) {
+        float paddingLeft = getPadding(Spacing.LEFT);
+        float paddingRight = getPadding(Spacing.RIGHT);
+        return width + (paddingLeft - (int) paddingLeft) + (paddingRight - (int) paddingRight);
+    }
 }
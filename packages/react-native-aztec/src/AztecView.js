@@ -340,7 +340,13 @@ class AztecView extends Component {
 				<RCTAztecView
 					{ ...otherProps }
 					style={ style }
-					onContentSizeChange={ this._onContentSizeChange }
+					onContentSizeChange={
+						// The caret data only comes with the content size on iOS,
+						// and Android sizes the view in the layout pass.
+						( Platform.OS === 'ios' ||
+							this.props.onContentSizeChange ) &&
+						this._onContentSizeChange
+					}
 					onHTMLContentWithCursor={ this._onHTMLContentWithCursor }
 					onChange={ this._onChange }
 					onSelectionChange={ this._onSelectionChange }
@@ -0,0 +1,120 @@
+/**
+ * External dependencies
+ */
+import type { TurboModule } from 'react-native';
+import { TurboModuleRegistry } from 'react-native';
+import type {
+	Int32,
+	UnsafeObject,
+} from 'react-native/Libraries/Types/CodegenTypes';
+
+/**
+ * The spec of the bridge module of the Android host, which React Native codegen
+ * generates its TurboModule interface from when it's built with the new
+ * architecture. With the legacy architecture, and on iOS, the module is a
+ * legacy native module implementing the same methods, along with a few that
+ * are specific to iOS.
+ */
+export interface Spec extends TurboModule {
+	getConstants(): {
+		isInitialColorSchemeDark: boolean;
+		minLogLevel?: Int32;
+		shouldSendContentOnAutosave?: boolean;
+	};
+
+	// Required by `NativeEventEmitter`, for the events sent to JS.
+	addListener( eventName: string ): void;
+	removeListeners( count: Int32 ): void;
+
+	provideToNative_Html(
+		html: string,
+		title: string,
+		changed: boolean,
+		contentInfo: UnsafeObject
+	): void;
+	editorDidMount( unsupportedBlockNames: Array< string > ): void;
+	editorDidEmitLog( message: string, logLevel: Int32 ): void;
+	editorDidEmitLogs(
+		messages: Array< string >,
+		logLevels: Array< Int32 >
+	): void;
+	editorDidAutosave( title: string | null, content: string | null ): void;
+	editorDidChangeContent(): void;
+	editorDidLoadInitialContent(): void;
+	saveThemeStyles( themeHash: number, styles: string ): void;
+
+	// Synchronous queries, answered without blocking.
+	getHostTranslation( key: string ): Array< string > | null;
+	getHostTranslationKeyHashes(): string | null;
+	readInitialContentChunk( handle: string, offset: Int32 ): string | null;
+	getHostContentFingerprint(): number;
+	getHostTitle(): string | null;
+	getHostCapabilities(): UnsafeObject | null;
+	getHostThemeStyles( themeHash: number ): string | null;
+
+	requestMediaPickFrom(
+		mediaSource: string,
+		filter: Array< string >,
+		allowMultipleSelection: boolean,
+		onMediaSelected: ( media: UnsafeObject ) => void
+	): void;
+	requestMediaImport(
+		url: string,
+		onUploadMediaSelected: ( media: UnsafeObject ) => void
+	): void;
+	mediaUploadSync(): void;
+	requestImageFailedRetryDialog( mediaId: Int32 ): void;
+	requestImageUploadCancelDialog( mediaId: Int32 ): void;
+	requestImageUploadCancel( mediaId: Int32 ): void;
+	setFeaturedImage( mediaId: Int32 ): void;
+	requestImageFullscreenPreview( mediaUrl: string ): void;
+	requestMediaEditor(
+		mediaUrl: string,
+		onUploadMediaSelected: ( media: UnsafeObject ) => void
+	): void;
+	getOtherMediaOptions(
+		filter: Array< string >,
+		onOtherMediaOptions: ( options: UnsafeObject ) => void
+	): void;
+
+	fetchRequest( path: string, enableCaching: boolean ): Promise< string >;
+	postRequest( path: string, data: UnsafeObject ): Promise< string >;
+
+	requestUnsupportedBlockFallback(
+		content: string,
+		blockId: string,
+		blockName: string,
+		blockTitle: string
+	): void;
+	requestEmbedFullscreenPreview( content: string, title: string ): void;
+	actionButtonPressed( buttonType: string ): void;
+	showUserSuggestions(): Promise< string >;
+	showXpostSuggestions(): Promise< string >;
+	setFocalPointPickerTooltipShown( tooltipShown: boolean ): void;
+	requestFocalPointPickerTooltipShown(
+		onTooltipShown: ( tooltipShown: boolean ) => void
+	): void;
+	requestPreview(): void;
+	requestBlockTypeImpressions(
+		onImpressions: ( impressions: UnsafeObject ) => void
+	): void;
+	setBlockTypeImpressions( impressions: UnsafeObject ): void;
+	requestContactCustomerSupport(): void;
+	requestGotoCustomerSupportOptions(): void;
+	sendEventToHost( eventName: string, properties: UnsafeObject ): void;
+	toggleUndoButton( isDisabled: boolean ): void;
+	toggleRedoButton( isDisabled: boolean ): void;
+	generateHapticFeedback(): void;
+	requestConnectionStatus( onStatus: ( isConnected: boolean ) => void ): void;
+	showAndroidSoftKeyboard(): void;
+	hideAndroidSoftKeyboard(): void;
+	logException(
+		rawException: UnsafeObject,
+		onLogged: ( wasSent: boolean ) => void
+	): void;
+}
+
+// Falls back to the native module with the legacy architecture.
+export default TurboModuleRegistry.getEnforcing< Spec >(
+	'RNReactNativeGutenbergBridge'
+);
@@ -0,0 +1,303 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import android.os.Bundle
+import android.os.Parcel
+import com.facebook.react.bridge.JavaOnlyArray
+import com.facebook.react.bridge.JavaOnlyMap
+import com.facebook.react.bridge.WritableMap
+import com.facebook.react.bridge.WritableNativeMap
+import org.junit.AfterClass
+import org.junit.Assume.assumeTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.mobile.FileUtils
+import org.wordpress.mobile.ReactNativeGutenbergBridge.RNReactNativeGutenbergBridgeModule
+import org.wordpress.mobile.benchmark.BenchmarkRunner
+import java.nio.file.Files
+
+/**
+ * Benchmarks of the bridge's hot paths that can run on the JVM. Maps and arrays sent to JS are created by
+ * [JavaOnlyMapFactory] here, since [WritableNativeMap] needs the React Native native libraries.
+ */
+@RunWith(RobolectricTestRunner::class)
+class BridgeBenchmark {
+    @Before
+    fun setUp() {
+        assumeTrue(BenchmarkRunner.isEnabled)
+    }
+
+    @Test
+    fun getInitialProps() {
+        for (translationsCount in listOf(0, 1_000, 10_000)) {
+            val props = createGutenbergProps(translationsCount)
+            runner.measure("getInitialProps", mapOf("translations" to translationsCount)) {
+                props.getInitialProps(Bundle())
+            }
+        }
+    }
+
+    /**
+     * Compares the initial props with the translations in them, and with the translations looked up lazily, by the
+     * time it takes to create and parcel them and by their parcelled size, as a proxy for what JS gets at startup.
+     */
+    @Test
+    fun getInitialPropsParcelled() {
+        for (translationsCount in listOf(1_000, 10_000)) {
+            for (lazyTranslations in listOf(false, true)) {
+                val props = createGutenbergProps(translationsCount, lazyTranslations)
+                val params = mapOf(
+                    "translations" to translationsCount,
+                    "lazyTranslations" to lazyTranslations,
+                    "propsBytes" to getParcelledSize(props.getInitialProps(Bundle()))
+                )
+                runner.measure("getInitialPropsParcelled", params, warmupIterations = 20, iterations = 100) {
+                    getParcelledSize(props.getInitialProps(Bundle()))
+                }
+            }
+        }
+    }
+
+    @Test
+    fun translationStoreOpen() {
+        for (translationsCount in listOf(1_000, 10_000)) {
+            val translations = createGutenbergProps(translationsCount).translations
+            val dir = Files.createTempDirectory("translations").toFile()
+            for (cached in listOf(false, true)) {
+                runner.measure(
+                    "translationStoreOpen",
+                    mapOf("translations" to translationsCount, "cached" to cached),
+                    warmupIterations = 2,
+                    iterations = 10,
+                    setup = { if (!cached) dir.listFiles()?.forEach { it.delete() } }
+                ) {
+                    TranslationStore(dir, "fr", translations).getTranslation("Original string 0")
+                }
+            }
+            dir.deleteRecursively()
+        }
+    }
+
+    @Test
+    fun translationStoreGetTranslation() {
+        val dir = Files.createTempDirectory("translations").toFile()
+        val store = TranslationStore(dir, "fr", createGutenbergProps(10_000).translations)
+        var i = 0
+        runner.measure("translationStoreGetTranslation", mapOf("translations" to 10_000)) {
+            store.getTranslation("Original string ${i++ % 10_000}")
+        }
+        dir.deleteRecursively()
+    }
+
+    @Test
+    fun getUpdatedCapabilitiesProps() {
+        val props = createGutenbergProps(0)
+        runner.measure("getUpdatedCapabilitiesProps") {
+            props.getUpdatedCapabilitiesProps()
+        }
+    }
+
+    /**
+     * Compares getting the capabilities to JS as an event with all of them, as the legacy module does on each update,
+     * with the synchronous query JS can make instead. Only the host's side of either is measured: the latency of the
+     * calls themselves, through the bridge or JSI, is measured on a device by `benchmarkHostQueries` in JS.
+     */
+    @Test
+    fun hostCapabilities() {
+        val props = createGutenbergProps(0)
+        runner.measure("hostCapabilities", mapOf("query" to "event")) {
+            DeferredEventEmitter(JavaOnlyMapFactory).apply {
+                setEmitter { _, _ -> }
+                updateCapabilities(props)
+            }
+        }
+        val emitter = DeferredEventEmitter(JavaOnlyMapFactory).apply { setInitialCapabilities(props) }
+        runner.measure("hostCapabilities", mapOf("query" to "sync")) {
+            emitter.capabilities
+        }
+    }
+
+    @Test
+    fun deferredEventEmitterEnqueueAndFlush() {
+        for (eventsCount in listOf(10, 100, 1_000)) {
+            runner.measure(
+                "deferredEventEmitterEnqueueAndFlush",
+                mapOf("events" to eventsCount),
+                iterations = 200,
+                setup = { DeferredEventEmitter(JavaOnlyMapFactory) }
+            ) { emitter ->
+                for (i in 0 until eventsCount) {
+                    if (i % 2 == 0) {
+                        emitter.onMediaFileUploadFailed(i)
+                    } else {
+                        emitter.onMediaFileSaveSucceeded(i.toString(), "https://example.com/$i.jpg")
+                    }
+                }
+                emitter.setEmitter { _, _ -> }
+            }
+        }
+    }
+
+    @Test
+    fun gutenbergJsExceptionFromReadableMap() {
+        for (framesCount in listOf(10, 100)) {
+            runner.measure(
+                "gutenbergJsExceptionFromReadableMap",
+                mapOf("frames" to framesCount),
+                setup = { createRawException(framesCount) }
+            ) { rawException ->
+                GutenbergJsException.fromReadableMap(rawException)
+            }
+        }
+    }
+
+    @Test
+    fun mediaToMap() {
+        runner.measure("mediaToMap", setup = {
+            Media(1, "https://example.com/image.jpg", "image", "caption", "title", "alt", JavaOnlyMap())
+        }) { media ->
+            media.toMap(JavaOnlyMapFactory)
+        }
+    }
+
+    @Test
+    fun mediaAppendBatch() {
+        for (mediaCount in listOf(1, 10, 100)) {
+            val mediaList = (1..mediaCount).map { id ->
+                Media(id, "https://example.com/$id.jpg", "image", "", "", "", JavaOnlyMap())
+            }
+            runner.measure("mediaAppendBatch", mapOf("media" to mediaCount)) {
+                RNReactNativeGutenbergBridgeModule.createMediaAppendBatch(mediaList, JavaOnlyMapFactory)
+            }
+        }
+    }
+
+    @Test
+    fun contentStatsCompute() {
+        for (sizeKb in listOf(100, 1_024, 4_096)) {
+            val content = createPostContent(sizeKb)
+            runner.measure(
+                "contentStatsCompute",
+                mapOf("sizeKb" to sizeKb),
+                warmupIterations = 5,
+                iterations = 20
+            ) {
+                ContentStats.compute(content, SUPPORTED_BLOCK_NAMES)
+            }
+        }
+    }
+
+    @Test
+    fun fileUtilsGetStringFromInputStream() {
+        val line = "<p>" + "a".repeat(76) + "</p>\n"
+        for (sizeKb in listOf(1, 100, 1_024)) {
+            val content = line.repeat(sizeKb * 1024 / line.length).toByteArray()
+            runner.measure(
+                "fileUtilsGetStringFromInputStream",
+                mapOf("sizeKb" to sizeKb),
+                iterations = 100,
+                setup = { content.inputStream() }
+            ) { inputStream ->
+                FileUtils.getStringFromInputStream(inputStream)
+            }
+        }
+    }
+
+    private fun getParcelledSize(bundle: Bundle): Int {
+        val parcel = Parcel.obtain()
+        try {
+            bundle.writeToParcel(parcel, 0)
+            return parcel.dataSize()
+        } finally {
+            parcel.recycle()
+        }
+    }
+
+    private fun createGutenbergProps(translationsCount: Int, lazyTranslations: Boolean = false) = GutenbergProps(
+        enableContactInfoBlock = true,
+        enableLayoutGridBlock = true,
+        enableTiledGalleryBlock = true,
+        enableVideoPressBlock = true,
+        enableVideoPressV5Support = true,
+        enableFacebookEmbed = true,
+        enableInstagramEmbed = true,
+        enableLoomEmbed = true,
+        enableSmartframeEmbed = true,
+        enableMentions = true,
+        enableXPosts = true,
+        enableUnsupportedBlockEditor = true,
+        enableSupportSection = true,
+        enableOnlyCoreBlocks = false,
+        canEnableUnsupportedBlockEditor = true,
+        isAudioBlockMediaUploadEnabled = true,
+        shouldUseFastImage = true,
+        enableReusableBlock = true,
+        localeSlug = "en-us",
+        postType = "post",
+        hostAppNamespace = "WordPress",
+        featuredImageId = 0,
+        editorTheme = null,
+        translations = Bundle().apply {
+            for (i in 0 until translationsCount) {
+                putString("Original string $i", "Translated string $i")
+            }
+        },
+        isDarkMode = false,
+        htmlModeEnabled = false,
+        lazyTranslations = lazyTranslations
+    )
+
+    /**
+     * Creates the content of a post about [sizeKb] KB long, made of paragraphs, headings, and images in groups.
+     */
+    private fun createPostContent(sizeKb: Int): String {
+        val blocks = "<!-- wp:heading -->\n<h2 class=\"wp-block-heading\">Lorem ipsum</h2>\n" +
+            "<!-- /wp:heading -->\n\n" +
+            "<!-- wp:paragraph -->\n<p>Lorem ipsum <strong>dolor</strong> sit amet, consectetur adipiscing " +
+            "elit&nbsp;&mdash; sed do <em>eiusmod</em> tempor.</p>\n<!-- /wp:paragraph -->\n\n" +
+            "<!-- wp:group {\"layout\":{\"type\":\"constrained\"}} -->\n<div class=\"wp-block-group\">" +
+            "<!-- wp:image {\"id\":123,\"sizeSlug\":\"large\"} -->\n<figure class=\"wp-block-image size-large\">" +
+            "<img src=\"https://example.com/image.jpg\" alt=\"\" class=\"wp-image-123\"/></figure>\n" +
+            "<!-- /wp:image --></div>\n<!-- /wp:group -->\n\n"
+        val content = StringBuilder(sizeKb * 1024 + blocks.length)
+        while (content.length < sizeKb * 1024) {
+            content.append(blocks)
+        }
+        return content.toString()
+    }
+
+    private fun createRawException(framesCount: Int): WritableMap {
+        val stacktrace = JavaOnlyArray()
+        for (i in 0 until framesCount) {
+            stacktrace.pushMap(JavaOnlyMap.of(
+                "filename", "index.android.bundle",
+                "lineno", i,
+                "colno", i * 2,
+                "function", "renderBlock$i"
+            ))
+        }
+        return JavaOnlyMap.of(
+            "type", "TypeError",
+            "message", "undefined is not an object",
+            "stacktrace", stacktrace,
+            "context", JavaOnlyMap.of("component", "BlockList"),
+            "tags", JavaOnlyMap.of("release", "1.0"),
+            "isHandled", false,
+            "handledBy", "Unknown"
+        )
+    }
+
+    companion object {
+        private val runner = BenchmarkRunner("BridgeBenchmark")
+        private val SUPPORTED_BLOCK_NAMES = setOf("core/heading", "core/paragraph", "core/group", "core/image")
+
+        @JvmStatic
+        @AfterClass
+        fun writeResults() {
+            if (BenchmarkRunner.isEnabled) {
+                runner.writeResults()
+            }
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package org.wordpress.mobile.ReactNativeGutenbergBridge;
 
+import android.os.Bundle;
+
+import androidx.annotation.Nullable;
 import androidx.core.util.Consumer;
 
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableNativeMap;
 
+import org.wordpress.mobile.WPAndroidGlue.ContentFingerprint;
 import org.wordpress.mobile.WPAndroidGlue.GutenbergJsException;
 import org.wordpress.mobile.WPAndroidGlue.MediaOption;
 import org.wordpress.mobile.WPAndroidGlue.RequestExecutor;
@@ -81,6 +85,10 @@ public interface GutenbergBridgeJS2Parent extends RequestExecutor {
             this.id = id;
         }
 
+        public int getId() {
+            return id;
+        }
+
         public static LogLevel valueOf(int id) {
             for (LogLevel num : values()) {
                 if (num.id == id) {
@@ -136,8 +144,110 @@ public interface GutenbergBridgeJS2Parent extends RequestExecutor {
 
     void editorDidEmitLog(String message, LogLevel logLevel);
 
+    /**
+     * Logs below this level are dropped by JS, before crossing the bridge. Read once, when the editor starts.
+     */
+    default LogLevel getMinLogLevel() {
+        return LogLevel.TRACE;
+    }
+
+    /**
+     * Whether JS sends the title and content of the post along with autosaves, to
+     * {@link #editorDidAutosave(String, String)}. Serializing the post on every autosave is costly for large posts, so
+     * it's only done when the host uses the content. Read once, when the editor starts.
+     */
+    default boolean shouldSendContentOnAutosave() {
+        return false;
+    }
+
+    /**
+     * Reads a chunk of the initial content the host handed off to JS by handle, instead of putting it in the app
+     * properties. Returns an empty string after the end of the content, and null when there's no content with this
+     * handle, e.g. it was released, so JS doesn't start the editor with part of the content.
+     */
+    default @Nullable String readInitialContentChunk(String handle, int offset) {
+        return null;
+    }
+
     void editorDidAutosave();
 
+    /**
+     * Called on autosave with the current title and content of the post, which are null unless
+     * {@link #shouldSendContentOnAutosave()}. Defaults to {@link #editorDidAutosave()}.
+     */
+    default void editorDidAutosave(String title, String content) {
+        editorDidAutosave();
+    }
+
+    /**
+     * Called when the content changes, once until the content is sent to or received from the host again.
+     */
+    default void editorDidChangeContent() {
+    }
+
+    /**
+     * Called when JS appended the rest of the blocks of a post loaded progressively, or replaced the content before.
+     */
+    default void editorDidLoadInitialContent() {
+    }
+
+    /**
+     * Looks up a translation of the host, when the translations aren't sent in the initial props. Returns the plural
+     * forms of the translation, or null when there is none.
+     */
+    default @Nullable String[] getHostTranslation(String key) {
+        return null;
+    }
+
+    /**
+     * Lists the hashes of the keys {@link #getHostTranslation(String)} has a translation for, see
+     * {@link String#hashCode()}, in ascending order, as 8 hex digits each, so that JS only looks up the keys that may
+     * have one. Returns null when they aren't known, and then every key is looked up.
+     */
+    default @Nullable String getHostTranslationKeyHashes() {
+        return null;
+    }
+
+    /**
+     * Returns the fingerprint of the post content the host set or autosaved last, see {@link ContentFingerprint}, or
+     * {@link ContentFingerprint#NONE} when there is none. Queried synchronously by JS, so it must not block. JS skips
+     * sending the content on autosave when it has the same fingerprint.
+     */
+    default long getHostContentFingerprint() {
+        return ContentFingerprint.NONE;
+    }
+
+    /**
+     * Returns the post title the host set or autosaved last, or null when there is none. Queried synchronously by JS,
+     * so it must not block.
+     */
+    default @Nullable String getHostTitle() {
+        return null;
+    }
+
+    /**
+     * Returns the current capabilities of the editor, or null when they aren't known. Queried synchronously by JS,
+     * so it must not block. JS reads them when a capabilities update only has the ones that changed.
+     */
+    default @Nullable Bundle getHostCapabilities() {
+        return null;
+    }
+
+    /**
+     * Returns the global styles JS parsed from the theme with the hash, see {@link #saveThemeStyles}, or null when
+     * there are none. Queried synchronously by JS, so that it doesn't parse the theme again.
+     */
+    default @Nullable String getHostThemeStyles(long themeHash) {
+        return null;
+    }
+
+    /**
+     * Called when JS parsed the global styles of the theme with the hash, as JSON, for the host to keep them across
+     * editor sessions.
+     */
+    default void saveThemeStyles(long themeHash, String styles) {
+    }
+
     void getOtherMediaPickerOptions(OtherMediaOptionsReceivedCallback otherMediaOptionsReceivedCallback, MediaType mediaType);
 
     void requestMediaPickFrom(String mediaSource, MediaSelectedCallback mediaSelectedCallback, Boolean allowMultipleSelection);
@@ -183,4 +293,12 @@ public interface GutenbergBridgeJS2Parent extends RequestExecutor {
     void requestConnectionStatus(ConnectionStatusCallback connectionStatusCallback);
 
     void logException(GutenbergJsException exception, LogExceptionCallback logExceptionCallback);
+
+    /**
+     * Called with the exception as sent by JS. Defaults to converting it on the calling thread and passing it to
+     * {@link #logException(GutenbergJsException, LogExceptionCallback)}.
+     */
+    default void logException(ReadableMap rawException, LogExceptionCallback logExceptionCallback) {
+        logException(GutenbergJsException.fromReadableMap(rawException), logExceptionCallback);
+    }
 }
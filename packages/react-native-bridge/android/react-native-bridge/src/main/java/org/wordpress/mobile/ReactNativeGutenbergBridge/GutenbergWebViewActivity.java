@@ -19,6 +19,7 @@ import android.widget.ImageView;
 import android.widget.LinearLayout;
 import android.widget.ProgressBar;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.ActionBar;
@@ -44,8 +45,15 @@ public class GutenbergWebViewActivity extends AppCompatActivity {
     private static final String INJECT_GET_HTML_POST_CONTENT_SCRIPT = "window.getHTMLPostContent();";
     private static final String INJECT_ON_SHOW_CONTEXT_MENU_SCRIPT = "window.onShowContextMenu();";
     private static final String INJECT_ON_HIDE_CONTEXT_MENU_SCRIPT = "window.onHideContextMenu();";
+    private static final String INJECT_RESET_BLOCK_CONTENT_CHUNKS_SCRIPT = "window.resetBlockContentChunks();";
+    private static final String INJECT_APPEND_BLOCK_CONTENT_CHUNK_FUNCTION = "window.appendBlockContentChunk";
+    private static final String INJECT_INSERT_BLOCK_FROM_CHUNKS_SCRIPT = "window.insertBlockFromChunks();";
     private static final String JAVA_SCRIPT_INTERFACE_NAME = "wpwebkit";
 
+    // Block content is sent to the web page in chunks of this many chars, so that large blocks
+    // don't end up in a single huge script.
+    private static final int BLOCK_CONTENT_CHUNK_SIZE = 32 * 1024;
+
     protected WebView mWebView;
     protected LinearLayout mForegroundView;
     protected ImageView mForegroundViewImage;
@@ -219,7 +227,9 @@ public class GutenbergWebViewActivity extends AppCompatActivity {
 
     protected void saveContent(String content) {
         String blockId = getIntent().getExtras().getString(ARG_BLOCK_ID);
-        AppLog.i(AppLog.T.EDITOR, String.format(Locale.US, "Save block id %s, with content %s", blockId, content));
+        // Only log the size and hash, as the content of a block can be several MB long
+        AppLog.i(AppLog.T.EDITOR, String.format(Locale.US, "Save block id %s, with content length %d and hash %08x",
+                blockId, content.length(), content.hashCode()));
         ((GutenbergBridgeInterface)getApplication()).saveContent(content, blockId);
         finish();
     }
@@ -374,11 +384,65 @@ public class GutenbergWebViewActivity extends AppCompatActivity {
 
     private void insertBlockScript() {
         if (!mIsBlockContentInserted.getAndSet(true)) {
-            String insertBlock = getFileContentFromAssets("gutenberg-web-single-block/insert-block.js").replace("%@","%s");
-            String blockContent = getIntent().getExtras().getString(ARG_BLOCK_CONTENT);
-            insertBlock = String.format(insertBlock, blockContent);
-            evaluateJavaScript(removeNewLines(insertBlock.replace("\\n", "\\\\n")));
+            String blockContent = getIntent().getExtras().getString(ARG_BLOCK_CONTENT, "");
+
+            // The content is streamed to the page chunk by chunk and reassembled there. Scripts are
+            // evaluated in order, so the block is inserted once the last chunk has been appended.
+            mWebView.evaluateJavascript(INJECT_RESET_BLOCK_CONTENT_CHUNKS_SCRIPT, null);
+            int length = blockContent.length();
+            int start = 0;
+            while (start < length) {
+                int end = Math.min(start + BLOCK_CONTENT_CHUNK_SIZE, length);
+                // Don't split a surrogate pair between two chunks
+                if (end < length && Character.isHighSurrogate(blockContent.charAt(end - 1))) {
+                    end--;
+                }
+                mWebView.evaluateJavascript(getAppendBlockContentChunkScript(blockContent, start, end), null);
+                start = end;
+            }
+            evaluateJavaScript(INJECT_INSERT_BLOCK_FROM_CHUNKS_SCRIPT);
+        }
+    }
+
+    /**
+     * Builds the script that appends the given range of the block content to the page's chunk buffer.
+     * The range is written as an escaped JS string literal directly into the script, so no intermediate
+     * copies of the content are made.
+     */
+    private static String getAppendBlockContentChunkScript(String content, int start, int end) {
+        StringBuilder script = new StringBuilder(INJECT_APPEND_BLOCK_CONTENT_CHUNK_FUNCTION.length() + (end - start) + 16);
+        script.append(INJECT_APPEND_BLOCK_CONTENT_CHUNK_FUNCTION).append("(\"");
+        for (int i = start; i < end; i++) {
+            char c = content.charAt(i);
+            switch (c) {
+                case '"':
+                    script.append("\\\"");
+                    break;
+                case '\\':
+                    script.append("\\\\");
+                    break;
+                case '\n':
+                    script.append("\\n");
+                    break;
+                case '\r':
+                    script.append("\\r");
+                    break;
+                case '\u2028':
+                    script.append("\\u2028");
+                    break;
+                case '\u2029':
+                    script.append("\\u2029");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        script.append(String.format(Locale.US, "\\u%04x", (int) c));
+                    } else {
+                        script.append(c);
+                    }
+            }
         }
+        script.append("\");");
+        return script.toString();
     }
 
     @Override
@@ -422,6 +486,11 @@ public class GutenbergWebViewActivity extends AppCompatActivity {
     }
 
     public class WPWebKit {
+        private final Object mContentLock = new Object();
+        private @Nullable StringBuilder mContentBuilder;
+        private int mExpectedContentLength;
+        private int mExpectedContentHash;
+
         @JavascriptInterface
         public void postMessage(String content) {
             if (content != null && content.length() > 0) {
@@ -429,6 +498,76 @@ public class GutenbergWebViewActivity extends AppCompatActivity {
             }
         }
 
+        /**
+         * Starts receiving the post content in chunks. JS interface methods are called on a background thread,
+         * so the content is assembled off the main thread.
+         *
+         * @param length the total length of the content
+         * @param hash the content hash, computed in the same way as {@link String#hashCode()}
+         */
+        @JavascriptInterface
+        public void beginContent(int length, int hash) {
+            synchronized (mContentLock) {
+                mContentBuilder = new StringBuilder(length);
+                mExpectedContentLength = length;
+                mExpectedContentHash = hash;
+            }
+        }
+
+        @JavascriptInterface
+        public void appendContent(String chunk) {
+            synchronized (mContentLock) {
+                if (mContentBuilder == null) {
+                    AppLog.e(AppLog.T.EDITOR, "Received a content chunk before beginContent");
+                    return;
+                }
+                mContentBuilder.append(chunk);
+            }
+        }
+
+        /**
+         * Saves the content once every chunk was received, if it's intact.
+         *
+         * @return whether the content was intact, JS sends it again when it wasn't
+         */
+        @JavascriptInterface
+        public boolean endContent() {
+            String content;
+            int expectedLength;
+            int expectedHash;
+            synchronized (mContentLock) {
+                if (mContentBuilder == null) {
+                    AppLog.e(AppLog.T.EDITOR, "Received endContent before beginContent");
+                    return false;
+                }
+                content = mContentBuilder.toString();
+                mContentBuilder = null;
+                expectedLength = mExpectedContentLength;
+                expectedHash = mExpectedContentHash;
+            }
+
+            if (content.length() != expectedLength || content.hashCode() != expectedHash) {
+                AppLog.e(AppLog.T.EDITOR, String.format(Locale.US,
+                        "Discarding block content that failed the integrity check: expected length %d and hash %08x,"
+                        + " got length %d and hash %08x", expectedLength, expectedHash,
+                        content.length(), content.hashCode()));
+                return false;
+            }
+
+            postMessage(content);
+            return true;
+        }
+
+        /**
+         * Called when JS couldn't send the content intact, even after sending it again. The activity stays open, so
+         * that the user doesn't lose the changes to the block and can save it again.
+         */
+        @JavascriptInterface
+        public void failContent() {
+            GutenbergWebViewActivity.this.runOnUiThread(() -> Toast.makeText(GutenbergWebViewActivity.this,
+                    R.string.block_editor_save_failed, Toast.LENGTH_LONG).show());
+        }
+
         @JavascriptInterface
         public void gutenbergReady() {
             GutenbergWebViewActivity.this.runOnUiThread(() -> onGutenbergReady());
@@ -33,15 +33,20 @@ import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.
 import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.OtherMediaOptionsReceivedCallback;
 import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.FocalPointPickerTooltipShownCallback;
 import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.BlockTypeImpressionsCallback;
+import org.wordpress.mobile.WPAndroidGlue.ContentFingerprint;
 import org.wordpress.mobile.WPAndroidGlue.DeferredEventEmitter;
-import org.wordpress.mobile.WPAndroidGlue.GutenbergJsException;
+import org.wordpress.mobile.WPAndroidGlue.EditorThemeSync;
 import org.wordpress.mobile.WPAndroidGlue.MediaOption;
+import org.wordpress.mobile.WPAndroidGlue.MediaThumbnailGenerator;
+import org.wordpress.mobile.WPAndroidGlue.WritableMapFactory;
 
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class RNReactNativeGutenbergBridgeModule extends ReactContextBaseJavaModule implements
         DeferredEventEmitter.JSEventEmitter {
@@ -69,6 +74,7 @@ public class RNReactNativeGutenbergBridgeModule extends ReactContextBaseJavaModu
     private static final String EVENT_NAME_ON_CONTENT_UPDATE = "onContentUpdate";
 
     private static final String MAP_KEY_UPDATE_HTML = "html";
+    private static final String MAP_KEY_UPDATE_HTML_FINGERPRINT = "fingerprint";
     private static final String MAP_KEY_UPDATE_TITLE = "title";
     public static final String MAP_KEY_MEDIA_FILE_UPLOAD_MEDIA_NEW_ID = "newId";
     private static final String MAP_KEY_SHOW_NOTICE_MESSAGE = "message";
@@ -76,6 +82,7 @@ public class RNReactNativeGutenbergBridgeModule extends ReactContextBaseJavaModu
     public static final String MAP_KEY_MEDIA_FILE_UPLOAD_MEDIA_ID = "mediaId";
     public static final String MAP_KEY_MEDIA_FILE_UPLOAD_MEDIA_URL = "mediaUrl";
     public static final String MAP_KEY_MEDIA_FILE_UPLOAD_MEDIA_TYPE = "mediaType";
+    private static final String MAP_KEY_MEDIA_APPEND_MEDIA = "media";
     private static final String MAP_KEY_THEME_UPDATE_COLORS = "colors";
     private static final String MAP_KEY_THEME_UPDATE_GRADIENTS = "gradients";
     private static final String MAP_KEY_THEME_UPDATE_RAW_STYLES = "rawStyles";
@@ -96,7 +103,11 @@ public class RNReactNativeGutenbergBridgeModule extends ReactContextBaseJavaModu
 
     public static final String MAP_KEY_IS_CONNECTED = "isConnected";
 
+    public static final String NAME = "RNReactNativeGutenbergBridge";
+
     private boolean mIsDarkMode;
+    private final ExecutorService mMediaExecutor = Executors.newSingleThreadExecutor();
+    private final EditorThemeSync mEditorThemeSync = new EditorThemeSync();
 
     public RNReactNativeGutenbergBridgeModule(ReactApplicationContext reactContext,
             GutenbergBridgeJS2Parent gutenbergBridgeJS2Parent, boolean isDarkMode) {
@@ -108,16 +119,28 @@ public class RNReactNativeGutenbergBridgeModule extends ReactContextBaseJavaModu
 
     @Override
     public String getName() {
-        return "RNReactNativeGutenbergBridge";
+        return NAME;
     }
 
     @Override
     public Map<String, Object> getConstants() {
         final HashMap<String, Object> constants = new HashMap<>();
         constants.put("isInitialColorSchemeDark", mIsDarkMode);
+        constants.put("minLogLevel", mGutenbergBridgeJS2Parent.getMinLogLevel().getId());
+        constants.put("shouldSendContentOnAutosave", mGutenbergBridgeJS2Parent.shouldSendContentOnAutosave());
         return constants;
     }
 
+    /**
+     * Stops the thread media is converted on along with the React instance, since a module is created for each
+     * instance.
+     */
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        mMediaExecutor.shutdown();
+    }
+
     @Override
     public void emitToJS(String eventName, @Nullable WritableMap data) {
         mReactContext.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class).emit(eventName, data);
@@ -133,6 +156,17 @@ public class RNReactNativeGutenbergBridgeModule extends ReactContextBaseJavaModu
         emitToJS(EVENT_NAME_UPDATE_HTML, writableMap);
     }
 
+    /**
+     * Sends the HTML along with its fingerprint, so JS can skip applying it when it already has that content.
+     */
+    public void setHtmlInJS(String html, long fingerprint) {
+        WritableMap writableMap = new WritableNativeMap();
+        writableMap.putString(MAP_KEY_UPDATE_HTML, html);
+        // Fingerprints have 53 bits, so they're exact as doubles
+        writableMap.putDouble(MAP_KEY_UPDATE_HTML_FINGERPRINT, fingerprint);
+        emitToJS(EVENT_NAME_UPDATE_HTML, writableMap);
+    }
+
     public void setTitleInJS(String title) {
         WritableMap writableMap = new WritableNativeMap();
         writableMap.putString(MAP_KEY_UPDATE_TITLE, title);
@@ -150,6 +184,40 @@ public class RNReactNativeGutenbergBridgeModule extends ReactContextBaseJavaModu
         emitToJS(EVENT_NAME_SHOW_NOTICE, writableMap);
     }
 
+    /**
+     * Appends a block for each media in a single event, so JS can insert them all at once. The event is built on a
+     * background thread, since the selection can include many items.
+     */
+    public void appendNewMediaBlocks(List<? extends RNMedia> mediaList) {
+        if (mMediaExecutor.isShutdown()) {
+            // The React instance the media was meant for is gone
+            return;
+        }
+        mMediaExecutor.execute(() -> emitToJS(EVENT_NAME_MEDIA_APPEND,
+                createMediaAppendBatch(mediaList, WritableMapFactory.NATIVE)));
+    }
+
+    public static WritableMap createMediaAppendBatch(List<? extends RNMedia> mediaList,
+                                                     WritableMapFactory mapFactory) {
+        WritableArray mediaArray = mapFactory.createArray();
+        for (RNMedia media : mediaList) {
+            WritableMap mediaMap = mapFactory.createMap();
+            mediaMap.putString(MAP_KEY_MEDIA_FILE_UPLOAD_MEDIA_TYPE, media.getType());
+            mediaMap.putString(MAP_KEY_MEDIA_FILE_UPLOAD_MEDIA_URL, media.getUrl());
+            mediaMap.putInt(MAP_KEY_MEDIA_FILE_UPLOAD_MEDIA_ID, media.getId());
+            ReadableMap metadata = media.getMetadata();
+            if (metadata.hasKey(MediaThumbnailGenerator.METADATA_KEY_THUMBNAIL_URL)) {
+                mediaMap.putString(MediaThumbnailGenerator.METADATA_KEY_THUMBNAIL_URL,
+                        metadata.getString(MediaThumbnailGenerator.METADATA_KEY_THUMBNAIL_URL));
+            }
+            mediaArray.pushMap(mediaMap);
+        }
+
+        WritableMap writableMap = mapFactory.createMap();
+        writableMap.putArray(MAP_KEY_MEDIA_APPEND_MEDIA, mediaArray);
+        return writableMap;
+    }
+
     public void appendNewMediaBlock(int mediaId, String mediaUri, String mediaType) {
         WritableMap writableMap = new WritableNativeMap();
         writableMap.putString(MAP_KEY_MEDIA_FILE_UPLOAD_MEDIA_TYPE, mediaType);
@@ -167,31 +235,53 @@ public class RNReactNativeGutenbergBridgeModule extends ReactContextBaseJavaModu
     public void updateTheme(@Nullable Bundle editorTheme) {
         if (editorTheme == null) return;
 
+        // Only the fields JS doesn't have are sent, along with the hash of the theme JS caches it by
+        EditorThemeSync.Update update = mEditorThemeSync.update(editorTheme);
         WritableMap writableMap = new WritableNativeMap();
+        writableMap.putDouble(EditorThemeSync.KEY_THEME_HASH, update.getThemeHash());
+        if (update.getBaseThemeHash() != ContentFingerprint.NONE) {
+            writableMap.putDouble(EditorThemeSync.KEY_BASE_THEME_HASH, update.getBaseThemeHash());
+        }
         Serializable colors = editorTheme.getSerializable(MAP_KEY_THEME_UPDATE_COLORS);
         Serializable gradients = editorTheme.getSerializable(MAP_KEY_THEME_UPDATE_GRADIENTS);
         Serializable rawStyles = editorTheme.getSerializable(MAP_KEY_THEME_UPDATE_RAW_STYLES);
         Serializable rawFeatures = editorTheme.getSerializable(MAP_KEY_THEME_UPDATE_RAW_FEATURES);
 
-        if (colors != null) {
-            writableMap.putArray(MAP_KEY_THEME_UPDATE_COLORS, Arguments.fromList((ArrayList)colors));
+        if (update.isChanged(MAP_KEY_THEME_UPDATE_COLORS)) {
+            if (colors != null) {
+                writableMap.putArray(MAP_KEY_THEME_UPDATE_COLORS, Arguments.fromList((ArrayList)colors));
+            } else {
+                writableMap.putNull(MAP_KEY_THEME_UPDATE_COLORS);
+            }
         }
 
-        if (gradients != null) {
-            writableMap.putArray(MAP_KEY_THEME_UPDATE_GRADIENTS, Arguments.fromList((ArrayList)gradients));
+        if (update.isChanged(MAP_KEY_THEME_UPDATE_GRADIENTS)) {
+            if (gradients != null) {
+                writableMap.putArray(MAP_KEY_THEME_UPDATE_GRADIENTS, Arguments.fromList((ArrayList)gradients));
+            } else {
+                writableMap.putNull(MAP_KEY_THEME_UPDATE_GRADIENTS);
+            }
         }
 
-        if (rawStyles != null) {
-            writableMap.putString(MAP_KEY_THEME_UPDATE_RAW_STYLES, rawStyles.toString());
+        if (update.isChanged(MAP_KEY_THEME_UPDATE_RAW_STYLES)) {
+            writableMap.putString(MAP_KEY_THEME_UPDATE_RAW_STYLES, rawStyles != null ? rawStyles.toString() : null);
         }
 
-        if (rawFeatures != null) {
-            writableMap.putString(MAP_KEY_THEME_UPDATE_RAW_FEATURES, rawFeatures.toString());
+        if (update.isChanged(MAP_KEY_THEME_UPDATE_RAW_FEATURES)) {
+            writableMap.putString(MAP_KEY_THEME_UPDATE_RAW_FEATURES,
+                    rawFeatures != null ? rawFeatures.toString() : null);
         }
 
         emitToJS(EVENT_NAME_UPDATE_EDITOR_SETTINGS, writableMap);
     }
 
+    /**
+     * @return the theme JS has, which {@link #updateTheme} sends the changes to
+     */
+    public EditorThemeSync getEditorThemeSync() {
+        return mEditorThemeSync;
+    }
+
     public void showEditorHelp() {
         emitToJS(EVENT_NAME_SHOW_EDITOR_HELP, null);
     }
@@ -308,8 +398,81 @@ public class RNReactNativeGutenbergBridgeModule extends ReactContextBaseJavaModu
     }
 
     @ReactMethod
-    public void editorDidAutosave() {
-        mGutenbergBridgeJS2Parent.editorDidAutosave();
+    public void editorDidEmitLogs(ReadableArray messages, ReadableArray logLevels) {
+        int size = Math.min(messages.size(), logLevels.size());
+        for (int i = 0; i < size; i++) {
+            mGutenbergBridgeJS2Parent.editorDidEmitLog(messages.getString(i),
+                    GutenbergBridgeJS2Parent.LogLevel.valueOf(logLevels.getInt(i)));
+        }
+    }
+
+    @ReactMethod
+    public void editorDidAutosave(@Nullable String title, @Nullable String content) {
+        mGutenbergBridgeJS2Parent.editorDidAutosave(title, content);
+    }
+
+    @ReactMethod
+    public void editorDidChangeContent() {
+        mGutenbergBridgeJS2Parent.editorDidChangeContent();
+    }
+
+    @ReactMethod
+    public void editorDidLoadInitialContent() {
+        mGutenbergBridgeJS2Parent.editorDidLoadInitialContent();
+    }
+
+    // Synchronous, since JS translates strings while rendering
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public @Nullable WritableArray getHostTranslation(String key) {
+        String[] translation = mGutenbergBridgeJS2Parent.getHostTranslation(key);
+        if (translation == null) {
+            return null;
+        }
+        WritableArray forms = new WritableNativeArray();
+        for (String form : translation) {
+            forms.pushString(form);
+        }
+        return forms;
+    }
+
+    // Synchronous, since JS translates strings while rendering
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public @Nullable String getHostTranslationKeyHashes() {
+        return mGutenbergBridgeJS2Parent.getHostTranslationKeyHashes();
+    }
+
+    // Synchronous, since JS needs the initial content to start the editor
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public @Nullable String readInitialContentChunk(String handle, int offset) {
+        return mGutenbergBridgeJS2Parent.readInitialContentChunk(handle, offset);
+    }
+
+    // Synchronous, since these are small queries that JS makes while rendering
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public double getHostContentFingerprint() {
+        return mGutenbergBridgeJS2Parent.getHostContentFingerprint();
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public @Nullable String getHostTitle() {
+        return mGutenbergBridgeJS2Parent.getHostTitle();
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public @Nullable WritableMap getHostCapabilities() {
+        Bundle capabilities = mGutenbergBridgeJS2Parent.getHostCapabilities();
+        return capabilities != null ? Arguments.fromBundle(capabilities) : null;
+    }
+
+    // Synchronous, since JS needs the theme to render the editor
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public @Nullable String getHostThemeStyles(double themeHash) {
+        return mGutenbergBridgeJS2Parent.getHostThemeStyles((long) themeHash);
+    }
+
+    @ReactMethod
+    public void saveThemeStyles(double themeHash, String styles) {
+        mGutenbergBridgeJS2Parent.saveThemeStyles((long) themeHash, styles);
     }
 
     @ReactMethod
@@ -421,12 +584,19 @@ public class RNReactNativeGutenbergBridgeModule extends ReactContextBaseJavaModu
         return new GutenbergBridgeJS2Parent.MediaSelectedCallback() {
             @Override
             public void onMediaFileSelected(List<RNMedia> mediaList) {
+                if (mMediaExecutor.isShutdown()) {
+                    // The React instance the callback was meant for is gone
+                    return;
+                }
                 if (allowMultipleSelection) {
-                    WritableArray writableArray = new WritableNativeArray();
-                    for (RNMedia media : mediaList) {
-                        writableArray.pushMap(media.toMap());
-                    }
-                    jsCallback.invoke(writableArray);
+                    // Converting many media can take a while, so do it off the calling (usually main) thread
+                    mMediaExecutor.execute(() -> {
+                        WritableArray writableArray = new WritableNativeArray();
+                        for (RNMedia media : mediaList) {
+                            writableArray.pushMap(media.toMap());
+                        }
+                        jsCallback.invoke(writableArray);
+                    });
                 } else if (!mediaList.isEmpty()) {
                     jsCallback.invoke(mediaList.get(0).toMap());
                 } else {
@@ -595,9 +765,8 @@ public class RNReactNativeGutenbergBridgeModule extends ReactContextBaseJavaModu
 
     @ReactMethod
     public void logException(final ReadableMap rawException, final Callback jsCallback) {
-        GutenbergJsException exception = GutenbergJsException.fromReadableMap(rawException);
         LogExceptionCallback logExceptionCallback = onLogExceptionCallback(jsCallback);
-        mGutenbergBridgeJS2Parent.logException(exception, logExceptionCallback);
+        mGutenbergBridgeJS2Parent.logException(rawException, logExceptionCallback);
     }
 
    private LogExceptionCallback onLogExceptionCallback(final Callback jsCallback) {
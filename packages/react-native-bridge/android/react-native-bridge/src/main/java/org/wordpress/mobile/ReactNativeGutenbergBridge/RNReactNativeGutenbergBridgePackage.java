@@ -1,15 +1,22 @@
 package org.wordpress.mobile.ReactNativeGutenbergBridge;
 
-import com.facebook.react.ReactPackage;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.TurboReactPackage;
 import com.facebook.react.bridge.NativeModule;
 import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.module.model.ReactModuleInfo;
+import com.facebook.react.module.model.ReactModuleInfoProvider;
 import com.facebook.react.uimanager.ViewManager;
 
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
-public class RNReactNativeGutenbergBridgePackage implements ReactPackage {
+/**
+ * Provides the bridge module, as a TurboModule when built with the new architecture, see {@link BridgeArchitecture},
+ * or as a legacy native module.
+ */
+public class RNReactNativeGutenbergBridgePackage extends TurboReactPackage {
     private final GutenbergBridgeJS2Parent mGutenbergBridgeJS2Parent;
     private final boolean mIsDarkMode;
 
@@ -26,11 +33,27 @@ public class RNReactNativeGutenbergBridgePackage implements ReactPackage {
     }
 
     @Override
-    public List<NativeModule> createNativeModules(ReactApplicationContext reactContext) {
+    public @Nullable NativeModule getModule(String name, ReactApplicationContext reactContext) {
+        if (!RNReactNativeGutenbergBridgeModule.NAME.equals(name)) {
+            return null;
+        }
         mRNReactNativeGutenbergBridgeModule = new RNReactNativeGutenbergBridgeModule(reactContext,
                 mGutenbergBridgeJS2Parent,
                 mIsDarkMode);
-        return Arrays.<NativeModule>asList(mRNReactNativeGutenbergBridgeModule);
+        return BridgeArchitecture.createNativeModule(reactContext, mRNReactNativeGutenbergBridgeModule);
+    }
+
+    @Override
+    public ReactModuleInfoProvider getReactModuleInfoProvider() {
+        // Created eagerly, since the host talks to JS through the module as soon as the editor starts
+        ReactModuleInfo moduleInfo = new ReactModuleInfo(RNReactNativeGutenbergBridgeModule.NAME,
+                RNReactNativeGutenbergBridgeModule.class.getName(),
+                false,
+                true,
+                true,
+                false,
+                BuildConfig.IS_NEW_ARCHITECTURE_ENABLED);
+        return () -> Collections.singletonMap(RNReactNativeGutenbergBridgeModule.NAME, moduleInfo);
     }
 
     @Override
@@ -0,0 +1,289 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Streaming parser of the block grammar, i.e. the {@code <!-- wp:namespace/name {"attributes"} /-->} comments that
+ * delimit the blocks of a post. It follows {@code @wordpress/block-serialization-default-parser}: a closer ends the
+ * innermost open block whatever its name, a closer without open block turns the rest of the content into freeform
+ * HTML, and the blocks left open at the end of the content are closed there.
+ * <p>
+ * Instead of building a tree, the parser reports the offsets of what it finds to a {@link Handler}, so parsing
+ * doesn't allocate anything besides the stack of open blocks.
+ */
+public final class BlockGrammarParser {
+    public static final int NO_ATTRIBUTES = -1;
+
+    private static final String DELIMITER_START = "<!--";
+    private static final String DELIMITER_END = "-->";
+    private static final String BLOCK_PREFIX = "wp:";
+    private static final String DEFAULT_NAMESPACE = "core/";
+
+    public interface Handler {
+        /**
+         * Called for a block opener, or for a void block (i.e. {@code <!-- wp:name /-->}), which has no closer.
+         *
+         * @param depth      the number of blocks this block is nested in
+         * @param start      the offset of the delimiter
+         * @param end        the offset after the delimiter
+         * @param nameStart  the offset of the name, which doesn't include the namespace if it's the default one
+         * @param nameEnd    the offset after the name
+         * @param attrsStart the offset of the JSON attributes, or {@link #NO_ATTRIBUTES}
+         * @param attrsEnd   the offset after the JSON attributes, or {@link #NO_ATTRIBUTES}
+         */
+        void onBlockStart(int depth, int start, int end, int nameStart, int nameEnd, int attrsStart, int attrsEnd,
+                          boolean isVoid);
+
+        /**
+         * Called for a block closer. When the block wasn't closed, start and end are the end of the content.
+         */
+        void onBlockEnd(int depth, int start, int end, int nameStart, int nameEnd);
+
+        /**
+         * Called for the HTML between delimiters: freeform content when depth is 0, or the inner HTML of a block.
+         */
+        void onHtml(int depth, int start, int end);
+
+        /**
+         * Called for a closer without open block, before the rest of the content is reported as freeform HTML.
+         */
+        default void onUnmatchedCloser(int start, int end) {
+        }
+    }
+
+    private final CharSequence mContent;
+    private final Handler mHandler;
+    private int[] mOpenNames = new int[16];
+    private int mDepth;
+
+    // The delimiter last matched by matchDelimiter
+    private int mDelimiterEnd;
+    private int mNameStart;
+    private int mNameEnd;
+    private int mAttrsStart;
+    private int mAttrsEnd;
+    private boolean mIsCloser;
+    private boolean mIsVoid;
+
+    private BlockGrammarParser(CharSequence content, Handler handler) {
+        mContent = content;
+        mHandler = handler;
+    }
+
+    public static void parse(@NonNull CharSequence content, @NonNull Handler handler) {
+        new BlockGrammarParser(content, handler).parse();
+    }
+
+    /**
+     * @return the full name of the block, adding the default namespace if it was omitted
+     */
+    public static String getBlockName(CharSequence content, int nameStart, int nameEnd) {
+        for (int i = nameStart; i < nameEnd; i++) {
+            if (content.charAt(i) == '/') {
+                return content.subSequence(nameStart, nameEnd).toString();
+            }
+        }
+        return DEFAULT_NAMESPACE + content.subSequence(nameStart, nameEnd);
+    }
+
+    private void parse() {
+        int length = mContent.length();
+        int htmlStart = 0;
+        int position = 0;
+        while ((position = indexOf(DELIMITER_START, position)) != -1) {
+            if (!matchDelimiter(position)) {
+                position += DELIMITER_START.length();
+                continue;
+            }
+
+            if (mIsCloser && mDepth == 0) {
+                // Nothing to close, so the default parser gives up: the rest of the content is freeform HTML
+                mHandler.onUnmatchedCloser(position, mDelimiterEnd);
+                break;
+            }
+
+            if (htmlStart < position) {
+                mHandler.onHtml(mDepth, htmlStart, position);
+            }
+            if (mIsCloser) {
+                mDepth--;
+                mHandler.onBlockEnd(mDepth, position, mDelimiterEnd, mOpenNames[mDepth * 2],
+                        mOpenNames[mDepth * 2 + 1]);
+            } else {
+                mHandler.onBlockStart(mDepth, position, mDelimiterEnd, mNameStart, mNameEnd, mAttrsStart, mAttrsEnd,
+                        mIsVoid);
+                if (!mIsVoid) {
+                    pushOpenName();
+                }
+            }
+            htmlStart = mDelimiterEnd;
+            position = mDelimiterEnd;
+        }
+
+        if (htmlStart < length) {
+            mHandler.onHtml(mDepth, htmlStart, length);
+        }
+        while (mDepth > 0) {
+            mDepth--;
+            mHandler.onBlockEnd(mDepth, length, length, mOpenNames[mDepth * 2], mOpenNames[mDepth * 2 + 1]);
+        }
+    }
+
+    private void pushOpenName() {
+        if (mOpenNames.length < (mDepth + 1) * 2) {
+            mOpenNames = Arrays.copyOf(mOpenNames, mOpenNames.length * 2);
+        }
+        mOpenNames[mDepth * 2] = mNameStart;
+        mOpenNames[mDepth * 2 + 1] = mNameEnd;
+        mDepth++;
+    }
+
+    /**
+     * Matches {@code <!--\s+(/)?wp:(namespace/)?name\s+(\{...\}\s+)?(/)?-->} at the given offset, where the namespace
+     * and the name match {@code [a-z][a-z0-9_-]*}, keeping what it found in the delimiter fields.
+     */
+    private boolean matchDelimiter(int start) {
+        int position = skipWhitespace(start + DELIMITER_START.length());
+        if (position == start + DELIMITER_START.length()) {
+            return false;
+        }
+
+        mIsCloser = charAt(position) == '/';
+        if (mIsCloser) {
+            position++;
+        }
+        if (!regionMatches(position, BLOCK_PREFIX)) {
+            return false;
+        }
+        position += BLOCK_PREFIX.length();
+
+        mNameStart = position;
+        position = skipNamePart(position);
+        if (position == -1) {
+            return false;
+        }
+        if (charAt(position) == '/') {
+            position = skipNamePart(position + 1);
+            if (position == -1) {
+                return false;
+            }
+        }
+        mNameEnd = position;
+
+        position = skipWhitespace(position);
+        if (position == mNameEnd) {
+            return false;
+        }
+
+        mAttrsStart = NO_ATTRIBUTES;
+        mAttrsEnd = NO_ATTRIBUTES;
+        if (charAt(position) == '{') {
+            int attrsEnd = findAttributesEnd(position);
+            if (attrsEnd == -1) {
+                return false;
+            }
+            mAttrsStart = position;
+            mAttrsEnd = attrsEnd;
+            position = skipWhitespace(attrsEnd);
+        }
+
+        mIsVoid = charAt(position) == '/';
+        if (mIsVoid) {
+            position++;
+        }
+        if (!regionMatches(position, DELIMITER_END)) {
+            return false;
+        }
+        mDelimiterEnd = position + DELIMITER_END.length();
+        return true;
+    }
+
+    /**
+     * @return the offset after the first {@code }} followed by the end of the delimiter, or -1
+     */
+    private int findAttributesEnd(int start) {
+        int position = start;
+        while ((position = indexOf('}', position + 1)) != -1) {
+            int end = skipWhitespace(position + 1);
+            if (end == position + 1) {
+                continue;
+            }
+            if (charAt(end) == '/') {
+                end++;
+            }
+            if (regionMatches(end, DELIMITER_END)) {
+                return position + 1;
+            }
+        }
+        return -1;
+    }
+
+    private int skipNamePart(int start) {
+        char first = charAt(start);
+        if (first < 'a' || first > 'z') {
+            return -1;
+        }
+        int position = start + 1;
+        while (true) {
+            char c = charAt(position);
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_' || c == '-') {
+                position++;
+            } else {
+                return position;
+            }
+        }
+    }
+
+    private int skipWhitespace(int start) {
+        int position = start;
+        while (position < mContent.length() && Character.isWhitespace(mContent.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private char charAt(int index) {
+        return index < mContent.length() ? mContent.charAt(index) : 0;
+    }
+
+    private boolean regionMatches(int start, String expected) {
+        if (start + expected.length() > mContent.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (mContent.charAt(start + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(char c, int start) {
+        if (mContent instanceof String) {
+            return ((String) mContent).indexOf(c, start);
+        }
+        for (int i = start; i < mContent.length(); i++) {
+            if (mContent.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int indexOf(String s, int start) {
+        if (mContent instanceof String) {
+            return ((String) mContent).indexOf(s, start);
+        }
+        char first = s.charAt(0);
+        int position = start;
+        while ((position = indexOf(first, position)) != -1) {
+            if (regionMatches(position, s)) {
+                return position;
+            }
+            position++;
+        }
+        return -1;
+    }
+}
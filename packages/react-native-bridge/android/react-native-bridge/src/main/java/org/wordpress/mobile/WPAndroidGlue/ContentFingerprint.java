@@ -0,0 +1,35 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Fingerprints of the content of the post, to tell whether the host and the editor have the same content without
+ * sending it across the bridge.
+ * <p>
+ * A fingerprint is the 53-bit cyrb53 hash of the UTF-16 code units of the content, so JS can compute the same one
+ * (see {@code contentFingerprint.js}) and send it as a number without losing precision.
+ */
+public final class ContentFingerprint {
+    /**
+     * Never the fingerprint of any content, since fingerprints are positive.
+     */
+    public static final long NONE = -1;
+
+    private ContentFingerprint() {
+    }
+
+    public static long of(@NonNull CharSequence content) {
+        int h1 = 0xdeadbeef;
+        int h2 = 0x41c6ce57;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            h1 = (h1 ^ c) * 0x9e3779b1;
+            h2 = (h2 ^ c) * 0x5f356495;
+        }
+        h1 = (h1 ^ (h1 >>> 16)) * 0x85ebca6b;
+        h1 ^= (h2 ^ (h2 >>> 13)) * 0xc2b2ae35;
+        h2 = (h2 ^ (h2 >>> 16)) * 0x85ebca6b;
+        h2 ^= (h1 ^ (h1 >>> 13)) * 0xc2b2ae35;
+        return ((long) (h2 & 0x1fffff) << 32) | (h1 & 0xffffffffL);
+    }
+}
@@ -0,0 +1,333 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The content info JS sends along with the HTML of the post, i.e. its character, word, paragraph and block counts,
+ * kept up to date natively from the content the host gets, so it can be answered without a JS round trip.
+ * <p>
+ * The counts are kept per top-level block. When new content comes in, only the top-level blocks in the range that
+ * differs from the previous content are parsed and counted again, off the calling thread. The info is stale from the
+ * time JS says the content changed, or new content comes in, until that content is counted.
+ * <p>
+ * Unlike {@link ContentStats}, words don't carry over from one top-level block to the next, which only makes a
+ * difference when blocks aren't separated by whitespace. The editor always separates them.
+ */
+public class ContentInfoCache {
+    public static final String KEY_CHARACTER_COUNT = "characterCount";
+    public static final String KEY_WORD_COUNT = "wordCount";
+    public static final String KEY_PARAGRAPH_COUNT = "paragraphCount";
+    public static final String KEY_BLOCK_COUNT = "blockCount";
+
+    private static final int BLOCKS = 0;
+    private static final int PARAGRAPHS = 1;
+    private static final int WORDS = 2;
+    private static final int CHARACTERS = 3;
+    private static final int COUNTS = 4;
+
+    private final Executor mExecutor;
+
+    // Only used by the executor: the last content counted, the end of each of its top-level blocks and their counts
+    private String mContent = "";
+    private int mSegmentCount;
+    private int[] mSegmentEnds = new int[0];
+    private int[] mSegmentCounts = new int[0];
+    private final int[] mTotals = new int[COUNTS];
+
+    // Guarded by this
+    private long mVersion;
+    private boolean mIsStale = true;
+    private final int[] mPublishedTotals = new int[COUNTS];
+
+    private final AtomicLong mHits = new AtomicLong();
+    private final AtomicLong mMisses = new AtomicLong();
+    private final AtomicLong mCountedBlocks = new AtomicLong();
+    private final AtomicLong mReusedBlocks = new AtomicLong();
+
+    public ContentInfoCache() {
+        this(Executors.newSingleThreadExecutor());
+    }
+
+    ContentInfoCache(Executor executor) {
+        mExecutor = executor;
+    }
+
+    /**
+     * Counts the given content, which is the current content of the post.
+     */
+    public void update(@NonNull String content) {
+        long version;
+        synchronized (this) {
+            version = ++mVersion;
+            mIsStale = true;
+        }
+        try {
+            mExecutor.execute(() -> count(content, version));
+        } catch (RejectedExecutionException e) {
+            // Shut down, the info stays stale
+        }
+    }
+
+    /**
+     * Stops the thread the content is counted on, i.e. when the editor is destroyed. The info stays stale afterwards.
+     */
+    public void shutdown() {
+        if (mExecutor instanceof ExecutorService) {
+            ((ExecutorService) mExecutor).shutdown();
+        }
+    }
+
+    /**
+     * Marks the info as stale, until the next content is counted.
+     */
+    public synchronized void markStale() {
+        mVersion++;
+        mIsStale = true;
+    }
+
+    public synchronized boolean isStale() {
+        return mIsStale;
+    }
+
+    /**
+     * @return the content info, with the keys and value types JS sends it with, or null when it's stale
+     */
+    public @Nullable HashMap<String, Object> getContentInfo() {
+        HashMap<String, Object> contentInfo = new HashMap<>();
+        synchronized (this) {
+            if (mIsStale) {
+                mMisses.incrementAndGet();
+                return null;
+            }
+            contentInfo.put(KEY_CHARACTER_COUNT, (double) mPublishedTotals[CHARACTERS]);
+            contentInfo.put(KEY_WORD_COUNT, (double) mPublishedTotals[WORDS]);
+            contentInfo.put(KEY_PARAGRAPH_COUNT, (double) mPublishedTotals[PARAGRAPHS]);
+            contentInfo.put(KEY_BLOCK_COUNT, (double) mPublishedTotals[BLOCKS]);
+        }
+        mHits.incrementAndGet();
+        return contentInfo;
+    }
+
+    private void count(String content, long version) {
+        if (!content.equals(mContent)) {
+            if (!countChangedRange(content)) {
+                countAll(content);
+            }
+            mContent = content;
+        }
+        synchronized (this) {
+            if (version == mVersion) {
+                System.arraycopy(mTotals, 0, mPublishedTotals, 0, COUNTS);
+                mIsStale = false;
+            }
+        }
+    }
+
+    private void countAll(String content) {
+        Segments segments = Segments.parse(content, 0, content.length());
+        mSegmentCount = 0;
+        Arrays.fill(mTotals, 0);
+        splice(content, 0, 0, segments, 0);
+    }
+
+    /**
+     * Counts again the top-level blocks touching the range that differs from the previous content.
+     *
+     * @return false when the range can't be parsed on its own, because it leaves blocks open, or has a closer without
+     * open block, which turns the rest of the content into freeform HTML
+     */
+    private boolean countChangedRange(String content) {
+        if (mSegmentCount == 0) {
+            return false;
+        }
+        int maxCommon = Math.min(mContent.length(), content.length());
+        int prefix = 0;
+        while (prefix < maxCommon && mContent.charAt(prefix) == content.charAt(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < maxCommon - prefix
+               && mContent.charAt(mContent.length() - 1 - suffix) == content.charAt(content.length() - 1 - suffix)) {
+            suffix++;
+        }
+
+        int first = 0;
+        while (first < mSegmentCount - 1 && mSegmentEnds[first] < prefix) {
+            first++;
+        }
+        int changeEnd = mContent.length() - suffix;
+        int last = first;
+        while (last < mSegmentCount - 1 && getSegmentStart(last + 1) <= changeEnd) {
+            last++;
+        }
+        // The blocks around the change are counted again too: freeform HTML next to the change can merge with it
+        first = Math.max(0, first - 1);
+        last = Math.min(mSegmentCount - 1, last + 1);
+
+        int delta = content.length() - mContent.length();
+        int start = getSegmentStart(first);
+        int end = mSegmentEnds[last] + delta;
+        Segments segments = Segments.parse(content, start, end);
+        if (segments.mLeavesBlocksOpen || (segments.mHasUnmatchedCloser && end < content.length())) {
+            return false;
+        }
+        splice(content, first, last + 1, segments, delta);
+        return true;
+    }
+
+    /**
+     * Replaces the segments from {@code from} to {@code to} (exclusive) with the given ones, counting them, and shifts
+     * the ends of the segments after them by {@code delta}.
+     */
+    private void splice(String content, int from, int to, Segments segments, int delta) {
+        for (int i = from; i < to; i++) {
+            for (int count = 0; count < COUNTS; count++) {
+                mTotals[count] -= mSegmentCounts[i * COUNTS + count];
+            }
+        }
+
+        int newSegmentCount = mSegmentCount - (to - from) + segments.mCount;
+        int[] ends = new int[newSegmentCount];
+        int[] counts = new int[newSegmentCount * COUNTS];
+        System.arraycopy(mSegmentEnds, 0, ends, 0, from);
+        System.arraycopy(mSegmentCounts, 0, counts, 0, from * COUNTS);
+
+        int start = segments.mStart;
+        for (int i = 0; i < segments.mCount; i++) {
+            int end = segments.mEnds[i];
+            ContentStats stats = ContentStats.compute(content.substring(start, end));
+            int offset = (from + i) * COUNTS;
+            counts[offset + BLOCKS] = stats.getBlockCount();
+            counts[offset + PARAGRAPHS] = stats.getParagraphCount();
+            counts[offset + WORDS] = stats.getWordCount();
+            counts[offset + CHARACTERS] = stats.getCharacterCount();
+            for (int count = 0; count < COUNTS; count++) {
+                mTotals[count] += counts[offset + count];
+            }
+            ends[from + i] = end;
+            start = end;
+        }
+
+        int after = from + segments.mCount;
+        for (int i = to; i < mSegmentCount; i++) {
+            ends[after + i - to] = mSegmentEnds[i] + delta;
+        }
+        System.arraycopy(mSegmentCounts, to * COUNTS, counts, after * COUNTS, (mSegmentCount - to) * COUNTS);
+
+        mCountedBlocks.addAndGet(segments.mCount);
+        mReusedBlocks.addAndGet(mSegmentCount - (to - from));
+        mSegmentEnds = ends;
+        mSegmentCounts = counts;
+        mSegmentCount = newSegmentCount;
+    }
+
+    private int getSegmentStart(int segment) {
+        return segment == 0 ? 0 : mSegmentEnds[segment - 1];
+    }
+
+    /**
+     * @return how many times the content info was answered natively
+     */
+    public long getHits() {
+        return mHits.get();
+    }
+
+    /**
+     * @return how many times the content info was stale, and had to be asked to JS
+     */
+    public long getMisses() {
+        return mMisses.get();
+    }
+
+    /**
+     * @return how many top-level blocks were counted, since they were new or changed
+     */
+    public long getCountedBlocks() {
+        return mCountedBlocks.get();
+    }
+
+    /**
+     * @return how many top-level blocks kept their counts, since they didn't change
+     */
+    public long getReusedBlocks() {
+        return mReusedBlocks.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%d content info hits, %d misses, %d top-level blocks counted, %d reused",
+                getHits(), getMisses(), getCountedBlocks(), getReusedBlocks());
+    }
+
+    /**
+     * The top-level blocks, and runs of freeform HTML, found in a range of the content.
+     */
+    private static class Segments implements BlockGrammarParser.Handler {
+        private final int mStart;
+        private int[] mEnds = new int[16];
+        private int mCount;
+        private boolean mLeavesBlocksOpen;
+        private boolean mHasUnmatchedCloser;
+
+        private Segments(int start) {
+            mStart = start;
+        }
+
+        static Segments parse(String content, int start, int end) {
+            Segments segments = new Segments(start);
+            BlockGrammarParser.parse(content.substring(start, end), segments);
+            for (int i = 0; i < segments.mCount; i++) {
+                segments.mEnds[i] += start;
+            }
+            return segments;
+        }
+
+        @Override
+        public void onBlockStart(int depth, int start, int end, int nameStart, int nameEnd, int attrsStart,
+                                 int attrsEnd, boolean isVoid) {
+            if (depth == 0 && isVoid) {
+                add(end);
+            }
+        }
+
+        @Override
+        public void onBlockEnd(int depth, int start, int end, int nameStart, int nameEnd) {
+            if (depth == 0) {
+                add(end);
+            }
+            if (start == end) {
+                // Closed at the end of the range, which isn't necessarily where the block ends in the content
+                mLeavesBlocksOpen = true;
+            }
+        }
+
+        @Override
+        public void onHtml(int depth, int start, int end) {
+            if (depth == 0) {
+                add(end);
+            }
+        }
+
+        @Override
+        public void onUnmatchedCloser(int start, int end) {
+            mHasUnmatchedCloser = true;
+        }
+
+        private void add(int end) {
+            if (mCount == mEnds.length) {
+                mEnds = Arrays.copyOf(mEnds, mCount * 2);
+            }
+            mEnds[mCount++] = end;
+        }
+    }
+}
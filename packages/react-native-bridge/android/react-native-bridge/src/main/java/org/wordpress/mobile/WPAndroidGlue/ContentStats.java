@@ -0,0 +1,323 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Content metrics of a post, computed natively in a single pass of the {@link BlockGrammarParser}, without waking JS.
+ * <p>
+ * Blocks are counted like the editor counts them: inner blocks are included, and each top-level run of freeform HTML
+ * that isn't only whitespace is a classic block. Words and characters are counted like {@code @wordpress/wordcount}
+ * counts {@code words} and {@code characters_including_spaces}.
+ */
+public class ContentStats {
+    private static final String PARAGRAPH_BLOCK_NAME = "core/paragraph";
+    private static final String FREEFORM_BLOCK_NAME = "core/freeform";
+
+    private final int mBlockCount;
+    private final int mParagraphCount;
+    private final int mWordCount;
+    private final int mCharacterCount;
+    private final Set<String> mUnsupportedBlockNames;
+
+    private ContentStats(int blockCount, int paragraphCount, int wordCount, int characterCount,
+                         Set<String> unsupportedBlockNames) {
+        mBlockCount = blockCount;
+        mParagraphCount = paragraphCount;
+        mWordCount = wordCount;
+        mCharacterCount = characterCount;
+        mUnsupportedBlockNames = unsupportedBlockNames;
+    }
+
+    public static ContentStats compute(@NonNull CharSequence content) {
+        return compute(content, null);
+    }
+
+    /**
+     * @param supportedBlockNames the names of the blocks the editor supports, to find the unsupported ones. Freeform
+     *                            content is always supported.
+     */
+    public static ContentStats compute(@NonNull CharSequence content, @Nullable Set<String> supportedBlockNames) {
+        Counter counter = new Counter(content, supportedBlockNames);
+        BlockGrammarParser.parse(content, counter);
+        counter.mText.finish();
+        return new ContentStats(counter.mBlockCount, counter.mParagraphCount, counter.mText.mWordCount,
+                counter.mText.mCharacterCount, Collections.unmodifiableSet(counter.mUnsupportedBlockNames));
+    }
+
+    public int getBlockCount() {
+        return mBlockCount;
+    }
+
+    public int getParagraphCount() {
+        return mParagraphCount;
+    }
+
+    public int getWordCount() {
+        return mWordCount;
+    }
+
+    public int getCharacterCount() {
+        return mCharacterCount;
+    }
+
+    /**
+     * @return the names of the blocks that aren't supported, in the order they first appear. Empty when the
+     * supported blocks weren't given.
+     */
+    public Set<String> getUnsupportedBlockNames() {
+        return mUnsupportedBlockNames;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%d blocks (%d paragraphs), %d words, %d characters, unsupported blocks: %s",
+                mBlockCount, mParagraphCount, mWordCount, mCharacterCount, mUnsupportedBlockNames);
+    }
+
+    private static class Counter implements BlockGrammarParser.Handler {
+        private final CharSequence mContent;
+        private final @Nullable Set<String> mSupportedBlockNames;
+        private final Set<String> mUnsupportedBlockNames = new LinkedHashSet<>();
+        private final TextCounter mText;
+        private int mBlockCount;
+        private int mParagraphCount;
+
+        Counter(CharSequence content, @Nullable Set<String> supportedBlockNames) {
+            mContent = content;
+            mSupportedBlockNames = supportedBlockNames;
+            mText = new TextCounter(content);
+        }
+
+        @Override
+        public void onBlockStart(int depth, int start, int end, int nameStart, int nameEnd, int attrsStart,
+                                 int attrsEnd, boolean isVoid) {
+            mBlockCount++;
+            if (isBlockNamed(PARAGRAPH_BLOCK_NAME, nameStart, nameEnd)) {
+                mParagraphCount++;
+            } else if (mSupportedBlockNames != null) {
+                String name = BlockGrammarParser.getBlockName(mContent, nameStart, nameEnd);
+                if (!mSupportedBlockNames.contains(name)) {
+                    mUnsupportedBlockNames.add(name);
+                }
+            }
+        }
+
+        @Override
+        public void onBlockEnd(int depth, int start, int end, int nameStart, int nameEnd) {
+        }
+
+        @Override
+        public void onHtml(int depth, int start, int end) {
+            if (depth == 0 && !isWhitespace(start, end)) {
+                mBlockCount++;
+                if (mSupportedBlockNames != null && !mSupportedBlockNames.contains(FREEFORM_BLOCK_NAME)) {
+                    mUnsupportedBlockNames.add(FREEFORM_BLOCK_NAME);
+                }
+            }
+            mText.count(start, end);
+        }
+
+        /**
+         * Compares without allocating, since paragraphs are most of the blocks of most posts.
+         */
+        private boolean isBlockNamed(String fullName, int nameStart, int nameEnd) {
+            int nameLength = nameEnd - nameStart;
+            int offset = fullName.length() - nameLength;
+            if (offset != 0 && (offset != fullName.indexOf('/') + 1)) {
+                return false;
+            }
+            for (int i = 0; i < nameLength; i++) {
+                if (mContent.charAt(nameStart + i) != fullName.charAt(offset + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isWhitespace(int start, int end) {
+            for (int i = start; i < end; i++) {
+                if (!Character.isWhitespace(mContent.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Counts words and characters in the HTML between block delimiters, with the rules of {@code @wordpress/wordcount}:
+     * tags are line breaks, comments are removed, {@code &nbsp;} is a space and other entities are a single character
+     * (removed when counting words), {@code --} and em dashes separate words, and punctuation and symbols don't count
+     * as words. The word being counted carries over from one range to the next, since block delimiters, being
+     * comments, don't separate words.
+     */
+    private static class TextCounter {
+        private final CharSequence mContent;
+        private int mWordCount;
+        private int mCharacterCount;
+        private boolean mIsInWord;
+
+        TextCounter(CharSequence content) {
+            mContent = content;
+        }
+
+        void count(int start, int end) {
+            int position = start;
+            while (position < end) {
+                char c = mContent.charAt(position);
+                int skip;
+                if (c == '<' && (skip = matchTag(position, end)) > 0) {
+                    onWordSeparator();
+                } else if (c == '<' && (skip = matchComment(position, end)) > 0) {
+                    // Removed
+                } else if (c == '&' && (skip = matchEntity(position, end)) > 0) {
+                    mCharacterCount++;
+                    if (isNonBreakingSpace(position, skip)) {
+                        onWordSeparator();
+                    }
+                } else if (c == '-' && position + 1 < end && mContent.charAt(position + 1) == '-') {
+                    skip = 2;
+                    mCharacterCount += 2;
+                    onWordSeparator();
+                } else {
+                    skip = 1;
+                    if (Character.isHighSurrogate(c) && position + 1 < end
+                        && Character.isLowSurrogate(mContent.charAt(position + 1))) {
+                        skip = 2;
+                    }
+                    if (!isFormattingCharacter(c)) {
+                        mCharacterCount++;
+                    }
+                    if (c == '\u2014' || isWordSeparator(c)) {
+                        onWordSeparator();
+                    } else if (skip == 2 || !isRemovable(c)) {
+                        mIsInWord = true;
+                    }
+                }
+                position += skip;
+            }
+        }
+
+        void finish() {
+            onWordSeparator();
+        }
+
+        private void onWordSeparator() {
+            if (mIsInWord) {
+                mWordCount++;
+                mIsInWord = false;
+            }
+        }
+
+        /**
+         * @return the length of the tag ({@code </?[a-z][^>]*?>}) at the position, or 0
+         */
+        private int matchTag(int start, int end) {
+            int position = start + 1;
+            if (position < end && mContent.charAt(position) == '/') {
+                position++;
+            }
+            if (position >= end || !isAsciiLetter(mContent.charAt(position))) {
+                return 0;
+            }
+            for (position++; position < end; position++) {
+                if (mContent.charAt(position) == '>') {
+                    return position + 1 - start;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * @return the length of the comment ({@code <!--[\s\S]*?-->}) at the position, or 0
+         */
+        private int matchComment(int start, int end) {
+            if (!regionMatches(start, end, "<!--")) {
+                return 0;
+            }
+            for (int position = start + 4; position + 3 <= end; position++) {
+                if (regionMatches(position, end, "-->")) {
+                    return position + 3 - start;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * @return the length of the entity ({@code &\S+?;}) at the position, or 0
+         */
+        private int matchEntity(int start, int end) {
+            for (int position = start + 1; position < end; position++) {
+                char c = mContent.charAt(position);
+                if (c == ';') {
+                    return position > start + 1 ? position + 1 - start : 0;
+                }
+                if (isJsWhitespace(c)) {
+                    return 0;
+                }
+            }
+            return 0;
+        }
+
+        private boolean isNonBreakingSpace(int start, int length) {
+            return (length == 6 && regionMatchesIgnoreCase(start, "&nbsp;"))
+                   || (length == 6 && regionMatchesIgnoreCase(start, "&#160;"));
+        }
+
+        private boolean regionMatches(int start, int end, String expected) {
+            if (start + expected.length() > end) {
+                return false;
+            }
+            for (int i = 0; i < expected.length(); i++) {
+                if (mContent.charAt(start + i) != expected.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean regionMatchesIgnoreCase(int start, String expected) {
+            for (int i = 0; i < expected.length(); i++) {
+                if (Character.toLowerCase(mContent.charAt(start + i)) != expected.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isAsciiLetter(char c) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+        }
+
+        /**
+         * Whitespace that separates words: JS's {@code \s}, except the characters removed as punctuation first.
+         */
+        private static boolean isWordSeparator(char c) {
+            return isJsWhitespace(c) && !isRemovable(c);
+        }
+
+        private static boolean isJsWhitespace(char c) {
+            return c == ' ' || (c >= '\t' && c <= '\r') || c == '\u00A0' || c == '\u1680'
+                   || (c >= '\u2000' && c <= '\u200A') || c == '\u2028' || c == '\u2029' || c == '\u202F'
+                   || c == '\u205F' || c == '\u3000' || c == '\uFEFF';
+        }
+
+        private static boolean isRemovable(char c) {
+            return (c >= '!' && c <= '/') || (c >= ':' && c <= '@')
+                   || (c >= '[' && c <= '`') || (c >= '{' && c <= '~')
+                   || (c >= '\u0080' && c <= '\u00BF') || c == '\u00D7' || c == '\u00F7'
+                   || (c >= '\u2000' && c <= '\u2BFF') || (c >= '\u2E00' && c <= '\u2E7F');
+        }
+
+        private static boolean isFormattingCharacter(char c) {
+            return c == '\f' || c == '\n' || c == '\r' || c == '\t' || c == '\u000B' || c == '\u00AD' || c == '\u2028'
+                   || c == '\u2029';
+        }
+    }
+}
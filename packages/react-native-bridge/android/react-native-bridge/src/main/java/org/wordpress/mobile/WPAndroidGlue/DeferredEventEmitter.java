@@ -1,10 +1,10 @@
 package org.wordpress.mobile.WPAndroidGlue;
 
+import android.os.Bundle;
 import android.util.Pair;
 
 import androidx.annotation.Nullable;
 
-import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.WritableNativeMap;
 
@@ -13,6 +13,7 @@ import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.
 import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.FeaturedImageEmitter;
 
 import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 import static org.wordpress.mobile.ReactNativeGutenbergBridge.RNReactNativeGutenbergBridgeModule.MAP_KEY_IS_CONNECTED;
@@ -65,11 +66,56 @@ public class DeferredEventEmitter implements MediaUploadEventEmitter, MediaSaveE
 
     private JSEventEmitter mJSEventEmitter;
 
+    private final WritableMapFactory mMapFactory;
+
+    // The capabilities as bitsets, see GutenbergProps#getCapabilityFlags. Guarded by this
+    private boolean mHasInitialCapabilities;
+    private long mInitialCapabilities;
+    private boolean mHasCapabilities;
+    private long mCapabilities;
+    private boolean mHasCapabilitiesInJs;
+    private long mCapabilitiesInJs;
+
+    private final AtomicLong mSkippedCapabilityUpdates = new AtomicLong();
+
+    public DeferredEventEmitter() {
+        this(WritableMapFactory.NATIVE);
+    }
+
+    DeferredEventEmitter(WritableMapFactory mapFactory) {
+        mMapFactory = mapFactory;
+    }
+
     void setEmitter(JSEventEmitter emitter) {
         mJSEventEmitter = emitter;
+        if (emitter == null) {
+            onJSContextReleased();
+        }
         flushActionQueueToJS();
     }
 
+    /**
+     * Called when the initial props are sent, so that capability updates only send the capabilities that changed
+     * since.
+     */
+    public synchronized void setInitialCapabilities(GutenbergProps gutenbergProps) {
+        mHasInitialCapabilities = true;
+        mInitialCapabilities = gutenbergProps.getCapabilityFlags();
+        mHasCapabilitiesInJs = true;
+        mCapabilitiesInJs = mInitialCapabilities;
+    }
+
+    /**
+     * The next JS context gets the initial props again, so the capabilities updated since are sent again to it.
+     */
+    private synchronized void onJSContextReleased() {
+        mHasCapabilitiesInJs = mHasInitialCapabilities;
+        mCapabilitiesInJs = mInitialCapabilities;
+        if (mHasCapabilities) {
+            sendCapabilities(mCapabilities);
+        }
+    }
+
     /** This will queue actions to JS when the editor has not yet mounted. When the editor mounts, the events will be
      *  flushed. If the editor has already mounted, this will directly call emitToJS. This is useful for critical
      *  messages that have required actions, such as upload completion events.
@@ -98,22 +144,26 @@ public class DeferredEventEmitter implements MediaUploadEventEmitter, MediaSaveE
     }
 
     private void flushActionQueueToJS() {
-        while (0 < mPendingActions.size()) {
-            final Pair<String, WritableMap> action = mPendingActions.remove();
+        if (mJSEventEmitter == null) {
+            return;
+        }
+        // ConcurrentLinkedQueue#size() traverses the whole queue, so poll until it's empty instead
+        Pair<String, WritableMap> action;
+        while ((action = mPendingActions.poll()) != null) {
             mJSEventEmitter.emitToJS(action.first, action.second);
         }
     }
 
     private void setMediaFileUploadDataInJS(int state, int mediaId, String mediaUrl, float progress) {
-        setMediaFileUploadDataInJS(state, mediaId, mediaUrl, progress, MEDIA_SERVER_ID_UNKNOWN, new WritableNativeMap());
+        setMediaFileUploadDataInJS(state, mediaId, mediaUrl, progress, MEDIA_SERVER_ID_UNKNOWN, mMapFactory.createMap());
     }
 
     private void setMediaFileUploadDataInJS(int state, int mediaId, String mediaUrl, float progress, int mediaServerId) {
-        setMediaFileUploadDataInJS(state, mediaId, mediaUrl, progress, mediaServerId, new WritableNativeMap());
+        setMediaFileUploadDataInJS(state, mediaId, mediaUrl, progress, mediaServerId, mMapFactory.createMap());
     }
 
-    private void setMediaFileUploadDataInJS(int state, int mediaId, String mediaUrl, float progress, int mediaServerId, WritableNativeMap metadata) {
-        WritableMap writableMap = new WritableNativeMap();
+    private void setMediaFileUploadDataInJS(int state, int mediaId, String mediaUrl, float progress, int mediaServerId, WritableMap metadata) {
+        WritableMap writableMap = mMapFactory.createMap();
         writableMap.putInt(MAP_KEY_MEDIA_FILE_STATE, state);
         writableMap.putInt(MAP_KEY_MEDIA_FILE_UPLOAD_MEDIA_ID, mediaId);
         writableMap.putString(MAP_KEY_MEDIA_FILE_UPLOAD_MEDIA_URL, mediaUrl);
@@ -130,7 +180,7 @@ public class DeferredEventEmitter implements MediaUploadEventEmitter, MediaSaveE
     }
 
     private void setMediaSaveResultDataInJS(int state, String mediaId, String mediaUrl, float progress) {
-        WritableMap writableMap = new WritableNativeMap();
+        WritableMap writableMap = mMapFactory.createMap();
         writableMap.putInt(MAP_KEY_MEDIA_FILE_STATE, state);
         writableMap.putString(MAP_KEY_MEDIA_FILE_UPLOAD_MEDIA_ID, mediaId);
         writableMap.putString(MAP_KEY_MEDIA_FILE_UPLOAD_MEDIA_URL, mediaUrl);
@@ -143,7 +193,7 @@ public class DeferredEventEmitter implements MediaUploadEventEmitter, MediaSaveE
     }
 
     private void setMediaSaveResultDataInJS(int state, String mediaId, boolean success, float progress) {
-        WritableMap writableMap = new WritableNativeMap();
+        WritableMap writableMap = mMapFactory.createMap();
         writableMap.putInt(MAP_KEY_MEDIA_FILE_STATE, state);
         writableMap.putString(MAP_KEY_MEDIA_FILE_UPLOAD_MEDIA_ID, mediaId);
         writableMap.putBoolean(MAP_KEY_MEDIA_FINAL_SAVE_RESULT_SUCCESS_VALUE, success);
@@ -213,7 +263,7 @@ public class DeferredEventEmitter implements MediaUploadEventEmitter, MediaSaveE
     }
 
     @Override public void onMediaIdChanged(String oldId, String newId, String oldUrl) {
-        WritableMap writableMap = new WritableNativeMap();
+        WritableMap writableMap = mMapFactory.createMap();
         writableMap.putInt(MAP_KEY_MEDIA_FILE_STATE, MEDIA_SAVE_MEDIAID_CHANGED);
         writableMap.putString(MAP_KEY_MEDIA_FILE_UPLOAD_MEDIA_ID, oldId);
         writableMap.putString(MAP_KEY_MEDIA_FILE_UPLOAD_MEDIA_NEW_ID, newId);
@@ -226,26 +276,71 @@ public class DeferredEventEmitter implements MediaUploadEventEmitter, MediaSaveE
     }
 
     public void sendToJSFeaturedImageId(int mediaId) {
-        WritableMap writableMap = new WritableNativeMap();
+        WritableMap writableMap = mMapFactory.createMap();
         writableMap.putInt(MAP_KEY_FEATURED_IMAGE_ID, mediaId);
         queueActionToJS(EVENT_FEATURED_IMAGE_ID_NATIVE_UPDATED, writableMap);
     }
 
     public void onConnectionStatusChange(boolean isConnected) {
-        WritableMap writableMap = new WritableNativeMap();
+        WritableMap writableMap = mMapFactory.createMap();
         writableMap.putBoolean(MAP_KEY_IS_CONNECTED, isConnected);
         queueActionToJS(EVENT_CONNECTION_STATUS_CHANGE, writableMap);
     }
 
     @Override public void onReplaceMediaFilesEditedBlock(String mediaFiles, String blockId) {
-        WritableMap writableMap = new WritableNativeMap();
+        WritableMap writableMap = mMapFactory.createMap();
         writableMap.putString(MAP_KEY_REPLACE_BLOCK_HTML, mediaFiles);
         writableMap.putString(MAP_KEY_REPLACE_BLOCK_BLOCK_ID, blockId);
         // this is a critical message so, always enqueue
         queueActionToJS(EVENT_NAME_MEDIA_REPLACE_BLOCK, writableMap);
     }
 
-    public void updateCapabilities(GutenbergProps gutenbergProps) {
-        queueActionToJS(MAP_KEY_UPDATE_CAPABILITIES, Arguments.makeNativeMap(gutenbergProps.getUpdatedCapabilitiesProps()));
+    public synchronized void updateCapabilities(GutenbergProps gutenbergProps) {
+        mHasCapabilities = true;
+        mCapabilities = gutenbergProps.getCapabilityFlags();
+        sendCapabilities(mCapabilities);
+    }
+
+    /**
+     * Sends the capabilities that differ from the ones JS has, if any, or all of them when those aren't known.
+     */
+    private void sendCapabilities(long capabilities) {
+        long changedCapabilities = mHasCapabilitiesInJs ? capabilities ^ mCapabilitiesInJs : -1L;
+        if (changedCapabilities == 0) {
+            mSkippedCapabilityUpdates.incrementAndGet();
+            return;
+        }
+        WritableMap writableMap = mMapFactory.createMap();
+        for (int i = 0; i < GutenbergProps.CAPABILITY_KEYS.length; i++) {
+            long flag = 1L << i;
+            if ((changedCapabilities & flag) != 0) {
+                writableMap.putBoolean(GutenbergProps.CAPABILITY_KEYS[i], (capabilities & flag) != 0);
+            }
+        }
+        mHasCapabilitiesInJs = true;
+        mCapabilitiesInJs = capabilities;
+        queueActionToJS(MAP_KEY_UPDATE_CAPABILITIES, writableMap);
+    }
+
+    /**
+     * @return the capabilities last updated, or the initial ones, or null when neither is known
+     */
+    public synchronized @Nullable Bundle getCapabilities() {
+        if (!mHasCapabilities && !mHasInitialCapabilities) {
+            return null;
+        }
+        long capabilities = mHasCapabilities ? mCapabilities : mInitialCapabilities;
+        Bundle bundle = new Bundle();
+        for (int i = 0; i < GutenbergProps.CAPABILITY_KEYS.length; i++) {
+            bundle.putBoolean(GutenbergProps.CAPABILITY_KEYS[i], (capabilities & (1L << i)) != 0);
+        }
+        return bundle;
+    }
+
+    /**
+     * @return how many capability updates weren't sent, since JS had the capabilities already
+     */
+    public long getSkippedCapabilityUpdates() {
+        return mSkippedCapabilityUpdates.get();
     }
 }
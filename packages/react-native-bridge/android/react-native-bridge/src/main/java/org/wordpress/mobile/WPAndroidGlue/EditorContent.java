@@ -0,0 +1,85 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import android.text.TextUtils;
+
+import androidx.annotation.Nullable;
+
+/**
+ * The title and content of the post, as the host set them and as the editor last returned them, which tells whether
+ * the user changed them.
+ * <p>
+ * The host's title and content are only set by the host, so that the edits still count as changes when the editor is
+ * started again with them, e.g. when the React instance released under memory pressure is restored.
+ */
+public class EditorContent {
+    private volatile @Nullable String mTitle = "";
+    private volatile @Nullable String mContent = "";
+    private volatile boolean mIsChanged;
+    // The fingerprint and title of the content the host set
+    private volatile long mHostContentFingerprint = ContentFingerprint.NONE;
+    private volatile @Nullable String mHostTitle;
+
+    /**
+     * Called when the host sets the title or the content, either of which is null when it isn't set.
+     */
+    public synchronized void setFromHost(@Nullable String title, @Nullable String content) {
+        if (content != null) {
+            mContent = content;
+            mHostContentFingerprint = ContentFingerprint.of(content);
+        }
+        if (title != null) {
+            mTitle = title;
+            mHostTitle = title;
+        }
+        updateIsChanged();
+    }
+
+    /**
+     * Called when the editor returns its title and content.
+     */
+    public synchronized void setFromEditor(@Nullable String title, @Nullable String content) {
+        mTitle = title;
+        mContent = content;
+        updateIsChanged();
+    }
+
+    private void updateIsChanged() {
+        // Changed means different from what the host set, whatever the editor compared the content with
+        long fingerprint = mContent == null ? ContentFingerprint.NONE : ContentFingerprint.of(mContent);
+        mIsChanged = fingerprint != mHostContentFingerprint || !TextUtils.equals(mTitle, mHostTitle);
+    }
+
+    public @Nullable String getTitle() {
+        return mTitle;
+    }
+
+    public @Nullable String getContent() {
+        return mContent;
+    }
+
+    /**
+     * @return the content, when it's different from the host's, or else the content the host has
+     */
+    public CharSequence getContentOr(CharSequence hostContent) {
+        if (!mIsChanged) {
+            return hostContent;
+        }
+        String content = mContent;
+        return content == null ? "" : content;
+    }
+
+    /**
+     * @return whether the title or the content is different from the host's
+     */
+    public boolean isChanged() {
+        return mIsChanged;
+    }
+
+    /**
+     * @return the fingerprint of the content the host set, see {@link ContentFingerprint}, or
+     * {@link ContentFingerprint#NONE} when it didn't set any
+     */
+    public long getHostContentFingerprint() {
+        return mHostContentFingerprint;
+    }
+}
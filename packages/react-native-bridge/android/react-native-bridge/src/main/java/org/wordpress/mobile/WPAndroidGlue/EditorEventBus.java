@@ -0,0 +1,264 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.core.util.Consumer;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers the events the editor sends to the host (see {@link EditorEvents}) to their subscribers.
+ * <p>
+ * Each subscriber picks where its events are delivered: on the posting thread ({@link Delivery#IMMEDIATE}), on the
+ * main thread ({@link Delivery#MAIN}), on a background thread shared by the bus ({@link Delivery#BACKGROUND}), or on
+ * its own {@link Executor}. Events are always delivered to a subscriber in the order they were posted. Subscribers
+ * that aren't delivered immediately have a bounded queue: when it's full, the oldest event is dropped, so that a
+ * slow subscriber of frequent events (e.g. logs) can't pile them up.
+ * <p>
+ * The time from posting to the end of the delivery is counted per event type, see {@link #getMetrics(Class)}.
+ * <p>
+ * Once {@link #shutdown()}, i.e. when the editor is destroyed, events are no longer posted.
+ */
+public class EditorEventBus {
+    public static final int DEFAULT_CAPACITY = 256;
+
+    public enum Delivery {
+        IMMEDIATE,
+        MAIN,
+        BACKGROUND
+    }
+
+    private final Map<Class<?>, List<Subscription<?>>> mSubscriptions = new ConcurrentHashMap<>();
+    private final Map<Class<?>, EventMetrics> mMetrics = new ConcurrentHashMap<>();
+    private final Executor mMainExecutor;
+    private final Executor mBackgroundExecutor;
+    private volatile boolean mIsShutdown;
+
+    public EditorEventBus() {
+        this(new Handler(Looper.getMainLooper())::post, Executors.newSingleThreadExecutor());
+    }
+
+    EditorEventBus(Executor mainExecutor, Executor backgroundExecutor) {
+        mMainExecutor = mainExecutor;
+        mBackgroundExecutor = backgroundExecutor;
+    }
+
+    public <E> Subscription<E> subscribe(Class<E> eventType, Delivery delivery, Consumer<? super E> subscriber) {
+        return subscribe(eventType, delivery, DEFAULT_CAPACITY, subscriber);
+    }
+
+    /**
+     * @param capacity how many events can be waiting to be delivered to this subscriber before the oldest ones are
+     *                 dropped. Ignored for {@link Delivery#IMMEDIATE}.
+     */
+    public <E> Subscription<E> subscribe(Class<E> eventType, Delivery delivery, int capacity,
+                                         Consumer<? super E> subscriber) {
+        switch (delivery) {
+            case MAIN:
+                return subscribe(eventType, mMainExecutor, capacity, subscriber);
+            case BACKGROUND:
+                return subscribe(eventType, mBackgroundExecutor, capacity, subscriber);
+            case IMMEDIATE:
+            default:
+                return subscribe(eventType, null, 0, subscriber);
+        }
+    }
+
+    /**
+     * @param executor where the events are delivered, or null to deliver them on the posting thread
+     */
+    public <E> Subscription<E> subscribe(Class<E> eventType, Executor executor, int capacity,
+                                         Consumer<? super E> subscriber) {
+        Subscription<E> subscription = new Subscription<>(this, eventType, executor, capacity, subscriber);
+        mSubscriptions.computeIfAbsent(eventType, type -> new CopyOnWriteArrayList<>()).add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Lets callers skip creating events nobody is subscribed to.
+     */
+    public boolean hasSubscribers(Class<?> eventType) {
+        List<Subscription<?>> subscriptions = mSubscriptions.get(eventType);
+        return subscriptions != null && !subscriptions.isEmpty();
+    }
+
+    /**
+     * @return whether the event had any subscriber
+     */
+    public boolean post(@NonNull Object event) {
+        List<Subscription<?>> subscriptions = mSubscriptions.get(event.getClass());
+        if (mIsShutdown || subscriptions == null || subscriptions.isEmpty()) {
+            return false;
+        }
+
+        EventMetrics metrics = getMetrics(event.getClass());
+        metrics.mPosted.incrementAndGet();
+        long postedAt = SystemClock.elapsedRealtimeNanos();
+        for (Subscription<?> subscription : subscriptions) {
+            subscription.enqueue(event, postedAt, metrics);
+        }
+        return true;
+    }
+
+    public EventMetrics getMetrics(Class<?> eventType) {
+        return mMetrics.computeIfAbsent(eventType, type -> new EventMetrics());
+    }
+
+    /**
+     * Ignores the events posted afterwards, and stops the background thread once the events already queued on it are
+     * delivered.
+     */
+    public void shutdown() {
+        mIsShutdown = true;
+        if (mBackgroundExecutor instanceof ExecutorService) {
+            ((ExecutorService) mBackgroundExecutor).shutdown();
+        }
+    }
+
+    public static class Subscription<E> {
+        private final EditorEventBus mBus;
+        private final Class<E> mEventType;
+        private final Executor mExecutor;
+        private final int mCapacity;
+        private final Consumer<? super E> mSubscriber;
+        private final ConcurrentLinkedQueue<Envelope> mPending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger mPendingCount = new AtomicInteger();
+        private final AtomicBoolean mIsDrainScheduled = new AtomicBoolean();
+        private volatile boolean mIsActive = true;
+
+        private Subscription(EditorEventBus bus, Class<E> eventType, Executor executor, int capacity,
+                             Consumer<? super E> subscriber) {
+            mBus = bus;
+            mEventType = eventType;
+            mExecutor = executor;
+            mCapacity = Math.max(1, capacity);
+            mSubscriber = subscriber;
+        }
+
+        public void unsubscribe() {
+            mIsActive = false;
+            List<Subscription<?>> subscriptions = mBus.mSubscriptions.get(mEventType);
+            if (subscriptions != null) {
+                subscriptions.remove(this);
+            }
+        }
+
+        private void enqueue(Object event, long postedAt, EventMetrics metrics) {
+            if (mExecutor == null) {
+                deliver(new Envelope(event, postedAt, metrics));
+                return;
+            }
+
+            mPending.add(new Envelope(event, postedAt, metrics));
+            if (mPendingCount.incrementAndGet() > mCapacity) {
+                Envelope dropped = mPending.poll();
+                if (dropped != null) {
+                    mPendingCount.decrementAndGet();
+                    dropped.mMetrics.mDropped.incrementAndGet();
+                }
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (mIsDrainScheduled.compareAndSet(false, true)) {
+                mExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            Envelope envelope;
+            while ((envelope = mPending.poll()) != null) {
+                mPendingCount.decrementAndGet();
+                deliver(envelope);
+            }
+            mIsDrainScheduled.set(false);
+            // An event may have been posted after the queue was found empty, but before the flag was cleared
+            if (!mPending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void deliver(Envelope envelope) {
+            if (!mIsActive) {
+                return;
+            }
+            mSubscriber.accept(mEventType.cast(envelope.mEvent));
+            envelope.mMetrics.onDelivered(SystemClock.elapsedRealtimeNanos() - envelope.mPostedAt);
+        }
+    }
+
+    /**
+     * Counts, for one event type, the events posted, and the deliveries done and dropped. Latencies go from posting
+     * the event to the end of its delivery, so they include the time the subscribers took to handle it.
+     */
+    public static class EventMetrics {
+        private final AtomicLong mPosted = new AtomicLong();
+        private final AtomicLong mDelivered = new AtomicLong();
+        private final AtomicLong mDropped = new AtomicLong();
+        private final AtomicLong mTotalLatencyNs = new AtomicLong();
+        private final AtomicLong mMaxLatencyNs = new AtomicLong();
+
+        public long getPosted() {
+            return mPosted.get();
+        }
+
+        public long getDelivered() {
+            return mDelivered.get();
+        }
+
+        /**
+         * @return how many deliveries were dropped because the subscriber's queue was full
+         */
+        public long getDropped() {
+            return mDropped.get();
+        }
+
+        public long getAverageLatencyUs() {
+            long delivered = mDelivered.get();
+            return delivered == 0 ? 0 : mTotalLatencyNs.get() / delivered / 1000;
+        }
+
+        public long getMaxLatencyUs() {
+            return mMaxLatencyNs.get() / 1000;
+        }
+
+        private void onDelivered(long latencyNs) {
+            mDelivered.incrementAndGet();
+            mTotalLatencyNs.addAndGet(latencyNs);
+            mMaxLatencyNs.accumulateAndGet(latencyNs, Math::max);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%d posted, %d delivered (%d dropped), average latency %d µs, max %d µs",
+                    getPosted(), getDelivered(), getDropped(), getAverageLatencyUs(), getMaxLatencyUs());
+        }
+    }
+
+    private static class Envelope {
+        private final Object mEvent;
+        private final long mPostedAt;
+        private final EventMetrics mMetrics;
+
+        Envelope(Object event, long postedAt, EventMetrics metrics) {
+            mEvent = event;
+            mPostedAt = postedAt;
+            mMetrics = metrics;
+        }
+    }
+}
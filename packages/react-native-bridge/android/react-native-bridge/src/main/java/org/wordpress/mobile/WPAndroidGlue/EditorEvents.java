@@ -0,0 +1,129 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.LogLevel;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * The events posted to the {@link EditorEventBus} when the editor notifies the host of something, without expecting
+ * an answer.
+ */
+public final class EditorEvents {
+    private EditorEvents() {
+    }
+
+    public static final class EditorMounted {
+        private final ArrayList<Object> mUnsupportedBlockNames;
+
+        public EditorMounted(ArrayList<Object> unsupportedBlockNames) {
+            mUnsupportedBlockNames = unsupportedBlockNames;
+        }
+
+        public ArrayList<Object> getUnsupportedBlockNames() {
+            return mUnsupportedBlockNames;
+        }
+    }
+
+    public static final class EditorAutosaved {
+    }
+
+    public static final class LogEmitted {
+        private final String mMessage;
+        private final LogLevel mLogLevel;
+
+        public LogEmitted(String message, LogLevel logLevel) {
+            mMessage = message;
+            mLogLevel = logLevel;
+        }
+
+        public String getMessage() {
+            return mMessage;
+        }
+
+        public LogLevel getLogLevel() {
+            return mLogLevel;
+        }
+    }
+
+    public static final class EventSentToHost {
+        private final String mEventName;
+        private final Map<String, Object> mProperties;
+
+        public EventSentToHost(String eventName, Map<String, Object> properties) {
+            mEventName = eventName;
+            mProperties = properties;
+        }
+
+        public String getEventName() {
+            return mEventName;
+        }
+
+        public Map<String, Object> getProperties() {
+            return mProperties;
+        }
+    }
+
+    public static final class FeaturedImageSet {
+        private final int mMediaId;
+
+        public FeaturedImageSet(int mediaId) {
+            mMediaId = mediaId;
+        }
+
+        public int getMediaId() {
+            return mMediaId;
+        }
+    }
+
+    public static final class ImageFullscreenPreviewRequested {
+        private final String mMediaUrl;
+
+        public ImageFullscreenPreviewRequested(String mediaUrl) {
+            mMediaUrl = mediaUrl;
+        }
+
+        public String getMediaUrl() {
+            return mMediaUrl;
+        }
+    }
+
+    public static final class PreviewRequested {
+    }
+
+    public static final class ButtonPressed {
+        private final String mButtonType;
+
+        public ButtonPressed(String buttonType) {
+            mButtonType = buttonType;
+        }
+
+        public String getButtonType() {
+            return mButtonType;
+        }
+    }
+
+    public static final class UndoButtonToggled {
+        private final boolean mIsDisabled;
+
+        public UndoButtonToggled(boolean isDisabled) {
+            mIsDisabled = isDisabled;
+        }
+
+        public boolean isDisabled() {
+            return mIsDisabled;
+        }
+    }
+
+    public static final class RedoButtonToggled {
+        private final boolean mIsDisabled;
+
+        public RedoButtonToggled(boolean isDisabled) {
+            mIsDisabled = isDisabled;
+        }
+
+        public boolean isDisabled() {
+            return mIsDisabled;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import org.wordpress.android.util.AppLog;
+import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.LogLevel;
+
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Writes the editor's JS logs to {@link AppLog} on a background thread.
+ * <p>
+ * Logs are kept in a fixed-size ring, so logging a line doesn't allocate anything besides the message itself. The
+ * ring holds both the lines waiting to be written, and the last lines already written, so that they can be dumped
+ * (e.g. when the editor crashes) with {@link #dumpRecentLogs()}. If the writer falls a whole ring behind, the oldest
+ * lines are dropped. Lines below the minimum level are ignored, and lines over the rate limit are dropped, with a
+ * line reporting how many were dropped once the rate goes back under the limit. Once {@link #shutdown()}, lines are
+ * still kept in the ring, but no longer written.
+ */
+public class EditorLogPipeline {
+    public static final int DEFAULT_CAPACITY = 512;
+    public static final int DEFAULT_MAX_LINES_PER_SECOND = 200;
+
+    private static final long RATE_LIMIT_WINDOW_MS = 1000;
+
+    private final Executor mExecutor;
+    private final int mCapacity;
+    private final long[] mTimestamps;
+    private final LogLevel[] mLevels;
+    private final String[] mMessages;
+
+    private volatile LogLevel mMinLogLevel = LogLevel.TRACE;
+    private volatile int mMaxLinesPerSecond = DEFAULT_MAX_LINES_PER_SECOND;
+
+    // Guarded by this
+    private long mWriteSequence;
+    private long mReadSequence;
+    private boolean mIsWriteScheduled;
+    private long mWindowStart;
+    private int mLinesInWindow;
+    private long mRateLimitedLines;
+    private long mOverwrittenLines;
+    private long mTotalDroppedLines;
+    private boolean mIsShutdown;
+
+    public EditorLogPipeline() {
+        this(DEFAULT_CAPACITY, Executors.newSingleThreadExecutor());
+    }
+
+    EditorLogPipeline(int capacity, Executor executor) {
+        mExecutor = executor;
+        mCapacity = capacity;
+        mTimestamps = new long[capacity];
+        mLevels = new LogLevel[capacity];
+        mMessages = new String[capacity];
+    }
+
+    /**
+     * Lines below this level are ignored. It's also read by JS when the editor starts, so these lines don't even
+     * cross the bridge.
+     */
+    public void setMinLogLevel(@NonNull LogLevel minLogLevel) {
+        mMinLogLevel = minLogLevel;
+    }
+
+    public LogLevel getMinLogLevel() {
+        return mMinLogLevel;
+    }
+
+    public void setMaxLinesPerSecond(int maxLinesPerSecond) {
+        mMaxLinesPerSecond = maxLinesPerSecond;
+    }
+
+    public void log(String message, LogLevel logLevel) {
+        if (logLevel == null || logLevel.ordinal() < mMinLogLevel.ordinal()) {
+            return;
+        }
+
+        long now = SystemClock.elapsedRealtime();
+        synchronized (this) {
+            if (now - mWindowStart >= RATE_LIMIT_WINDOW_MS) {
+                mWindowStart = now;
+                mLinesInWindow = 0;
+            }
+            if (++mLinesInWindow > mMaxLinesPerSecond) {
+                mRateLimitedLines++;
+                mTotalDroppedLines++;
+                return;
+            }
+
+            if (mWriteSequence - mReadSequence == mCapacity) {
+                // The writer is a whole ring behind
+                mReadSequence++;
+                mOverwrittenLines++;
+                mTotalDroppedLines++;
+            }
+            int index = (int) (mWriteSequence % mCapacity);
+            mTimestamps[index] = System.currentTimeMillis();
+            mLevels[index] = logLevel;
+            mMessages[index] = message;
+            mWriteSequence++;
+
+            if (mIsWriteScheduled || mIsShutdown) {
+                return;
+            }
+            mIsWriteScheduled = true;
+        }
+        try {
+            mExecutor.execute(this::writePendingLines);
+        } catch (RejectedExecutionException e) {
+            // Shut down after the line was added, it's kept in the ring for dumps
+        }
+    }
+
+    /**
+     * Stops the writer thread once the lines already logged are written, i.e. when the editor is destroyed.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            mIsShutdown = true;
+        }
+        if (mExecutor instanceof ExecutorService) {
+            ((ExecutorService) mExecutor).shutdown();
+        }
+    }
+
+    private void writePendingLines() {
+        while (true) {
+            LogLevel level;
+            String message;
+            long droppedLines = 0;
+            synchronized (this) {
+                if (mReadSequence == mWriteSequence) {
+                    mIsWriteScheduled = false;
+                    return;
+                }
+                int index = (int) (mReadSequence % mCapacity);
+                level = mLevels[index];
+                message = mMessages[index];
+                mReadSequence++;
+                if (mRateLimitedLines + mOverwrittenLines > 0 && mLinesInWindow <= mMaxLinesPerSecond) {
+                    droppedLines = mRateLimitedLines + mOverwrittenLines;
+                    mRateLimitedLines = 0;
+                    mOverwrittenLines = 0;
+                }
+            }
+
+            write(level, message);
+            if (droppedLines > 0) {
+                AppLog.w(AppLog.T.EDITOR, "Dropped " + droppedLines + " editor log lines");
+            }
+        }
+    }
+
+    private static void write(LogLevel level, String message) {
+        switch (level) {
+            case TRACE:
+                AppLog.d(AppLog.T.EDITOR, message);
+                break;
+            case INFO:
+                AppLog.i(AppLog.T.EDITOR, message);
+                break;
+            case WARN:
+                AppLog.w(AppLog.T.EDITOR, message);
+                break;
+            case ERROR:
+                AppLog.e(AppLog.T.EDITOR, message);
+                break;
+        }
+    }
+
+    /**
+     * @return how many lines were dropped because of the rate limit, or because the writer fell behind
+     */
+    public synchronized long getDroppedLines() {
+        return mTotalDroppedLines;
+    }
+
+    /**
+     * @return the last lines logged, up to the capacity of the ring, oldest first. Lines not written to
+     * {@link AppLog} yet are included.
+     */
+    public String dumpRecentLogs() {
+        StringBuilder dump = new StringBuilder();
+        synchronized (this) {
+            long first = Math.max(0, mWriteSequence - mCapacity);
+            for (long sequence = first; sequence < mWriteSequence; sequence++) {
+                int index = (int) (sequence % mCapacity);
+                dump.append(String.format(Locale.US, "%tT.%<tL %s %s%n", mTimestamps[index], mLevels[index],
+                        mMessages[index]));
+            }
+        }
+        return dump.toString();
+    }
+}
@@ -0,0 +1,411 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import android.content.Context;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps the content of the editor on disk, so that it can be restored after a crash without asking JS for it.
+ *
+ * Snapshots are appended to a journal on a background thread. The first snapshot of a session is written in full,
+ * and the following ones only as the range of the content that changed since the previous snapshot. Each record is
+ * checksummed, so a record torn by a crash is detected on restore and the snapshot before it is returned instead.
+ * When the journal grows past a threshold it is compacted into a single full snapshot, which is written to a temporary
+ * file and then renamed over the journal.
+ *
+ * The journal of the previous session is kept aside, rather than replaced, when the first snapshot of a session is
+ * written. So the content of a session that crashed can still be restored with {@link #restorePreviousSession()}
+ * after the next session started saving snapshots.
+ */
+public class EditorSnapshotStore {
+    private static final String SNAPSHOTS_DIR = "gutenberg-snapshots";
+    private static final String JOURNAL_EXTENSION = ".journal";
+    private static final String COMPACTION_EXTENSION = ".tmp";
+    private static final String PREVIOUS_EXTENSION = ".previous";
+
+    private static final int RECORD_MAGIC = 0x47425331; // "GBS1"
+    private static final byte RECORD_FULL = 1;
+    private static final byte RECORD_DELTA = 2;
+    private static final int MAX_RECORD_SIZE = 64 * 1024 * 1024;
+    private static final long DEFAULT_COMPACTION_THRESHOLD_BYTES = 512 * 1024;
+
+    public static class Snapshot {
+        private final String mTitle;
+        private final String mContent;
+        private final long mTimestamp;
+
+        Snapshot(String title, String content, long timestamp) {
+            mTitle = title;
+            mContent = content;
+            mTimestamp = timestamp;
+        }
+
+        public String getTitle() {
+            return mTitle;
+        }
+
+        public String getContent() {
+            return mContent;
+        }
+
+        /**
+         * @return when the snapshot was taken, in milliseconds since the epoch
+         */
+        public long getTimestamp() {
+            return mTimestamp;
+        }
+    }
+
+    private final File mJournalFile;
+    private final File mPreviousJournalFile;
+    private final ExecutorService mExecutor = Executors.newSingleThreadExecutor();
+    private final AtomicReference<Snapshot> mPendingSnapshot = new AtomicReference<>();
+    private long mCompactionThresholdBytes = DEFAULT_COMPACTION_THRESHOLD_BYTES;
+
+    // Only accessed from the executor
+    private @Nullable Snapshot mLastWrittenSnapshot;
+    private long mJournalLength;
+    private boolean mHasWrittenSession;
+
+    /**
+     * @param context any context, only used to find the app's files dir
+     * @param sessionKey identifies the edited post, i.e. its local id, so that each post has its own journal
+     */
+    public EditorSnapshotStore(Context context, String sessionKey) {
+        this(new File(new File(context.getFilesDir(), SNAPSHOTS_DIR),
+                sessionKey.replaceAll("[^A-Za-z0-9_-]", "_") + JOURNAL_EXTENSION));
+    }
+
+    @VisibleForTesting
+    EditorSnapshotStore(File journalFile) {
+        mJournalFile = journalFile;
+        mPreviousJournalFile = new File(journalFile.getPath() + PREVIOUS_EXTENSION);
+    }
+
+    /**
+     * Sets the journal size above which it is compacted into a single full snapshot.
+     */
+    public void setCompactionThresholdBytes(long compactionThresholdBytes) {
+        mCompactionThresholdBytes = compactionThresholdBytes;
+    }
+
+    /**
+     * Saves the content in the background. Snapshots saved while a previous one is being written are coalesced, and
+     * only the latest is written.
+     */
+    public void saveSnapshot(String title, String content) {
+        Snapshot snapshot = new Snapshot(title == null ? "" : title, content == null ? "" : content,
+                System.currentTimeMillis());
+        if (mExecutor.isShutdown()) {
+            AppLog.w(T.EDITOR, "Ignoring an editor snapshot saved after the store was shut down");
+            return;
+        }
+        if (mPendingSnapshot.getAndSet(snapshot) == null) {
+            mExecutor.execute(this::writePendingSnapshot);
+        }
+    }
+
+    /**
+     * Returns the latest snapshot saved, by this or a previous session, without waiting for pending writes.
+     * Reads the journal, so avoid calling it from the main thread when the content can be large.
+     */
+    public @Nullable Snapshot restoreLastSession() {
+        Snapshot pendingSnapshot = mPendingSnapshot.get();
+        if (pendingSnapshot != null) {
+            return pendingSnapshot;
+        }
+
+        synchronized (mJournalFile) {
+            Snapshot snapshot = readJournal(mJournalFile);
+            return snapshot != null ? snapshot : readJournal(mPreviousJournalFile);
+        }
+    }
+
+    /**
+     * Returns the latest snapshot of the session before the one that last saved snapshots, i.e. the content of a
+     * session that crashed, if the editor was opened again and saved snapshots before it was restored.
+     * Reads the journal, so avoid calling it from the main thread when the content can be large.
+     */
+    public @Nullable Snapshot restorePreviousSession() {
+        synchronized (mJournalFile) {
+            return readJournal(mPreviousJournalFile);
+        }
+    }
+
+    /**
+     * Blocks until the snapshots saved so far are written, i.e. when the editor is paused.
+     */
+    public void flush() {
+        try {
+            if (mExecutor.isShutdown()) {
+                mExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } else {
+                mExecutor.submit(() -> { }).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            AppLog.e(T.EDITOR, "Error waiting for the editor snapshots to be written: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes the saved snapshots, of this session and the previous one, i.e. once the post has been saved or the
+     * changes discarded by the user.
+     */
+    public void clear() {
+        mPendingSnapshot.set(null);
+        if (mExecutor.isShutdown()) {
+            AppLog.w(T.EDITOR, "Unable to clear the editor snapshots after the store was shut down");
+            return;
+        }
+        mExecutor.execute(() -> {
+            synchronized (mJournalFile) {
+                mLastWrittenSnapshot = null;
+                mJournalLength = 0;
+                if (mJournalFile.exists() && !mJournalFile.delete()) {
+                    AppLog.w(T.EDITOR, "Unable to delete the editor snapshots journal");
+                }
+                if (mPreviousJournalFile.exists() && !mPreviousJournalFile.delete()) {
+                    AppLog.w(T.EDITOR, "Unable to delete the previous editor snapshots journal");
+                }
+            }
+        });
+    }
+
+    /**
+     * Stops the thread snapshots are written on, once the pending snapshot is written, i.e. when the editor is
+     * destroyed. Snapshots saved afterwards are ignored.
+     */
+    public void shutdown() {
+        mExecutor.shutdown();
+    }
+
+    private void writePendingSnapshot() {
+        Snapshot snapshot = mPendingSnapshot.getAndSet(null);
+        if (snapshot == null) {
+            return;
+        }
+
+        synchronized (mJournalFile) {
+            try {
+                Snapshot previous = mLastWrittenSnapshot;
+                if (previous == null || mJournalLength > mCompactionThresholdBytes) {
+                    // Start the journal over with a single full snapshot, keeping the previous session's aside
+                    writeCompactedJournal(snapshot, !mHasWrittenSession);
+                    mHasWrittenSession = true;
+                } else if (!previous.mTitle.equals(snapshot.mTitle)
+                           || !previous.mContent.equals(snapshot.mContent)) {
+                    appendRecord(RECORD_DELTA, encodeDelta(previous, snapshot));
+                }
+                mLastWrittenSnapshot = snapshot;
+            } catch (IOException e) {
+                AppLog.e(T.EDITOR, "Error writing the editor snapshot: " + e.getMessage());
+                // Write a full snapshot next time, since the journal may have been left behind
+                mLastWrittenSnapshot = null;
+            }
+        }
+    }
+
+    private void writeCompactedJournal(Snapshot snapshot, boolean keepPreviousJournal) throws IOException {
+        File dir = mJournalFile.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Unable to create " + dir);
+        }
+
+        File compactedFile = new File(mJournalFile.getPath() + COMPACTION_EXTENSION);
+        byte[] record = encodeRecord(RECORD_FULL, encodeFull(snapshot));
+        try (FileOutputStream outputStream = new FileOutputStream(compactedFile)) {
+            outputStream.write(record);
+            outputStream.getFD().sync();
+        }
+        // Only once the new journal has a valid record
+        if (keepPreviousJournal && mJournalFile.exists() && !mJournalFile.renameTo(mPreviousJournalFile)) {
+            throw new IOException("Unable to keep " + mJournalFile);
+        }
+        if (!compactedFile.renameTo(mJournalFile)) {
+            throw new IOException("Unable to replace " + mJournalFile);
+        }
+        mJournalLength = record.length;
+    }
+
+    private void appendRecord(byte type, byte[] payload) throws IOException {
+        byte[] record = encodeRecord(type, payload);
+        try (FileOutputStream outputStream = new FileOutputStream(mJournalFile, true)) {
+            outputStream.write(record);
+            outputStream.getFD().sync();
+        }
+        mJournalLength += record.length;
+    }
+
+    private static byte[] encodeFull(Snapshot snapshot) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeLong(snapshot.mTimestamp);
+        writeString(output, snapshot.mTitle);
+        writeString(output, snapshot.mContent);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encodes the content as the previous one with the range between their common prefix and suffix replaced.
+     */
+    private static byte[] encodeDelta(Snapshot previous, Snapshot snapshot) throws IOException {
+        String oldContent = previous.mContent;
+        String newContent = snapshot.mContent;
+        int maxCommonLength = Math.min(oldContent.length(), newContent.length());
+
+        int prefixLength = 0;
+        while (prefixLength < maxCommonLength && oldContent.charAt(prefixLength) == newContent.charAt(prefixLength)) {
+            prefixLength++;
+        }
+        int suffixLength = 0;
+        while (suffixLength < maxCommonLength - prefixLength
+               && oldContent.charAt(oldContent.length() - 1 - suffixLength)
+                  == newContent.charAt(newContent.length() - 1 - suffixLength)) {
+            suffixLength++;
+        }
+        // Don't split surrogate pairs, which can't be encoded on their own
+        if (prefixLength > 0 && Character.isHighSurrogate(newContent.charAt(prefixLength - 1))) {
+            prefixLength--;
+        }
+        if (suffixLength > 0 && Character.isLowSurrogate(newContent.charAt(newContent.length() - suffixLength))) {
+            suffixLength--;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeLong(snapshot.mTimestamp);
+        writeString(output, snapshot.mTitle);
+        output.writeInt(prefixLength);
+        output.writeInt(suffixLength);
+        writeString(output, newContent.substring(prefixLength, newContent.length() - suffixLength));
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeRecord(byte type, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(payload.length + 17);
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(RECORD_MAGIC);
+        output.writeByte(type);
+        output.writeInt(payload.length);
+        output.write(payload);
+        output.writeLong(crc.getValue());
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Replays the journal, stopping at the first incomplete or corrupted record.
+     */
+    private static @Nullable Snapshot readJournal(File journalFile) {
+        if (!journalFile.exists()) {
+            return null;
+        }
+
+        Snapshot snapshot = null;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(journalFile)))) {
+            while (true) {
+                if (input.readInt() != RECORD_MAGIC) {
+                    AppLog.w(T.EDITOR, "Editor snapshots journal is corrupted, restoring the last valid snapshot");
+                    break;
+                }
+                byte type = input.readByte();
+                int length = input.readInt();
+                if (length < 0 || length > MAX_RECORD_SIZE) {
+                    AppLog.w(T.EDITOR, "Editor snapshots journal is corrupted, restoring the last valid snapshot");
+                    break;
+                }
+                byte[] payload = new byte[length];
+                input.readFully(payload);
+                long checksum = input.readLong();
+
+                CRC32 crc = new CRC32();
+                crc.update(type);
+                crc.update(payload);
+                if (crc.getValue() != checksum) {
+                    AppLog.w(T.EDITOR, "Editor snapshot checksum mismatch, restoring the last valid snapshot");
+                    break;
+                }
+
+                Snapshot decoded = decodeRecord(type, payload, snapshot);
+                if (decoded == null) {
+                    break;
+                }
+                snapshot = decoded;
+            }
+        } catch (EOFException e) {
+            // End of the journal, or a record torn by a crash while being written
+        } catch (IOException e) {
+            AppLog.e(T.EDITOR, "Error reading the editor snapshots journal: " + e.getMessage());
+        }
+        return snapshot;
+    }
+
+    private static @Nullable Snapshot decodeRecord(byte type, byte[] payload, @Nullable Snapshot previous)
+            throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload));
+        long timestamp = input.readLong();
+        String title = readString(input);
+        switch (type) {
+            case RECORD_FULL:
+                return new Snapshot(title, readString(input), timestamp);
+            case RECORD_DELTA:
+                if (previous == null) {
+                    return null;
+                }
+                int prefixLength = input.readInt();
+                int suffixLength = input.readInt();
+                String replacement = readString(input);
+                String oldContent = previous.mContent;
+                if (prefixLength < 0 || suffixLength < 0 || prefixLength + suffixLength > oldContent.length()) {
+                    return null;
+                }
+                return new Snapshot(title, oldContent.substring(0, prefixLength) + replacement
+                                           + oldContent.substring(oldContent.length() - suffixLength), timestamp);
+            default:
+                return null;
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0 || length > MAX_RECORD_SIZE) {
+            throw new IOException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
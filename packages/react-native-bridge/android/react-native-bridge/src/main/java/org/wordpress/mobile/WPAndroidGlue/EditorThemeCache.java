@@ -0,0 +1,195 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The global styles JS parsed from the editor themes, kept across editor sessions by the hash of the theme, see
+ * {@link EditorThemeSync#getThemeHash}, so that JS doesn't parse a theme again when the editor is started with it.
+ * <p>
+ * The styles are kept as the JSON JS sent, one file per theme in the app's cache dir, for the last few themes used.
+ * Files are written on a background thread, to a temporary file that is then renamed, so a file that's found is
+ * complete. The styles of the theme the editor is started with are read in the background too, ahead of JS asking
+ * for them.
+ */
+public class EditorThemeCache {
+    private static final String THEMES_DIR = "gutenberg-themes";
+    private static final String STYLES_EXTENSION = ".json";
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+    private static final int MAX_THEMES = 4;
+
+    private final File mDir;
+    private final Executor mExecutor;
+    private final Map<Long, String> mStyles = new ConcurrentHashMap<>();
+
+    private final AtomicLong mHits = new AtomicLong();
+    private final AtomicLong mMisses = new AtomicLong();
+
+    /**
+     * @param context any context, only used to find the app's cache dir
+     */
+    public EditorThemeCache(Context context) {
+        this(new File(context.getCacheDir(), THEMES_DIR), Executors.newSingleThreadExecutor());
+    }
+
+    @VisibleForTesting
+    EditorThemeCache(File dir, Executor executor) {
+        mDir = dir;
+        mExecutor = executor;
+    }
+
+    /**
+     * Reads the styles of the theme in the background, e.g. the one the editor is started with.
+     */
+    public void preload(long themeHash) {
+        execute(() -> {
+            String styles = read(themeHash);
+            if (styles != null) {
+                mStyles.putIfAbsent(themeHash, styles);
+            }
+        });
+    }
+
+    /**
+     * Returns the styles of the theme, reading them from disk unless they were preloaded.
+     *
+     * @return the styles, as the JSON JS saved, or null when they aren't saved
+     */
+    public @Nullable String get(long themeHash) {
+        String styles = mStyles.get(themeHash);
+        if (styles == null) {
+            styles = read(themeHash);
+            if (styles != null) {
+                mStyles.put(themeHash, styles);
+            }
+        }
+        (styles != null ? mHits : mMisses).incrementAndGet();
+        return styles;
+    }
+
+    /**
+     * Saves the styles of the theme in the background, removing the ones of the least recently used themes.
+     */
+    public void put(long themeHash, @NonNull String styles) {
+        mStyles.put(themeHash, styles);
+        execute(() -> write(themeHash, styles));
+    }
+
+    /**
+     * Stops the thread the styles are written on once the pending ones are written, i.e. when the editor is destroyed.
+     */
+    public void shutdown() {
+        if (mExecutor instanceof ExecutorService) {
+            ((ExecutorService) mExecutor).shutdown();
+        }
+    }
+
+    private void execute(Runnable runnable) {
+        try {
+            mExecutor.execute(runnable);
+        } catch (RejectedExecutionException e) {
+            AppLog.w(T.EDITOR, "The theme cache is shut down");
+        }
+    }
+
+    private @Nullable String read(long themeHash) {
+        File file = getFile(themeHash);
+        if (!file.exists()) {
+            return null;
+        }
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] bytes = new byte[(int) file.length()];
+            int offset = 0;
+            int count;
+            while (offset < bytes.length && (count = in.read(bytes, offset, bytes.length - offset)) != -1) {
+                offset += count;
+            }
+            // Marks the theme as recently used
+            if (!file.setLastModified(System.currentTimeMillis())) {
+                AppLog.w(T.EDITOR, "Unable to update the last use of " + file.getName());
+            }
+            return new String(bytes, 0, offset, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            AppLog.e(T.EDITOR, "Unable to read the theme styles: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(long themeHash, String styles) {
+        if (!mDir.exists() && !mDir.mkdirs()) {
+            AppLog.e(T.EDITOR, "Unable to create " + mDir);
+            return;
+        }
+        File file = getFile(themeHash);
+        File tempFile = new File(file.getPath() + TEMPORARY_EXTENSION);
+        try {
+            try (OutputStream out = new FileOutputStream(tempFile)) {
+                out.write(styles.getBytes(StandardCharsets.UTF_8));
+            }
+            if (!tempFile.renameTo(file)) {
+                throw new IOException("Unable to rename " + tempFile.getName());
+            }
+        } catch (IOException e) {
+            AppLog.e(T.EDITOR, "Unable to write the theme styles: " + e.getMessage());
+            if (tempFile.exists() && !tempFile.delete()) {
+                AppLog.w(T.EDITOR, "Unable to delete " + tempFile.getName());
+            }
+            return;
+        }
+        removeLeastRecentlyUsed();
+    }
+
+    private void removeLeastRecentlyUsed() {
+        File[] files = mDir.listFiles((dir, name) -> name.endsWith(STYLES_EXTENSION));
+        if (files == null || files.length <= MAX_THEMES) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i < files.length - MAX_THEMES; i++) {
+            if (!files[i].delete()) {
+                AppLog.w(T.EDITOR, "Unable to delete " + files[i].getName());
+            }
+        }
+    }
+
+    private File getFile(long themeHash) {
+        return new File(mDir, Long.toHexString(themeHash) + STYLES_EXTENSION);
+    }
+
+    public long getHits() {
+        return mHits.get();
+    }
+
+    public long getMisses() {
+        return mMisses.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%d theme styles found, %d missing", getHits(), getMisses());
+    }
+}
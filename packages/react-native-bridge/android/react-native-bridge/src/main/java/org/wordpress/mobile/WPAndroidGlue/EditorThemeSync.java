@@ -0,0 +1,164 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of the editor theme JS has, so that theme updates only send what changed.
+ * <p>
+ * A theme is identified by a hash of its colors, gradients, raw styles and raw features, which JS caches the parsed
+ * global styles by. An update of the theme JS already has is sent as its hash only, and an update of some of its
+ * fields as a diff, i.e. the changed fields along with the hash of the theme they apply to. Fields removed from the
+ * theme are sent as null.
+ */
+public class EditorThemeSync {
+    public static final String KEY_THEME_HASH = "themeHash";
+    public static final String KEY_BASE_THEME_HASH = "baseThemeHash";
+    public static final String KEY_COLORS = "colors";
+    public static final String KEY_GRADIENTS = "gradients";
+    public static final String KEY_RAW_STYLES = "rawStyles";
+    public static final String KEY_RAW_FEATURES = "rawFeatures";
+
+    private static final String[] KEYS = {KEY_COLORS, KEY_GRADIENTS, KEY_RAW_STYLES, KEY_RAW_FEATURES};
+
+    /**
+     * The fields of a theme update to send, see {@link #update(Bundle)}.
+     */
+    public static class Update {
+        private final long mThemeHash;
+        private final long mBaseThemeHash;
+        private final boolean[] mChangedFields;
+
+        Update(long themeHash, long baseThemeHash, boolean[] changedFields) {
+            mThemeHash = themeHash;
+            mBaseThemeHash = baseThemeHash;
+            mChangedFields = changedFields;
+        }
+
+        public long getThemeHash() {
+            return mThemeHash;
+        }
+
+        /**
+         * @return the hash of the theme JS has, which the changed fields apply to, or {@link ContentFingerprint#NONE}
+         * when all fields are sent
+         */
+        public long getBaseThemeHash() {
+            return mBaseThemeHash;
+        }
+
+        /**
+         * @return whether the field with the given key is sent
+         */
+        public boolean isChanged(@NonNull String key) {
+            for (int i = 0; i < KEYS.length; i++) {
+                if (KEYS[i].equals(key)) {
+                    return mChangedFields[i];
+                }
+            }
+            return false;
+        }
+    }
+
+    // Guarded by this
+    private long mThemeHashInJs = ContentFingerprint.NONE;
+    private long[] mFieldHashesInJs = new long[KEYS.length];
+
+    private final AtomicLong mFullUpdates = new AtomicLong();
+    private final AtomicLong mDiffUpdates = new AtomicLong();
+    private final AtomicLong mUnchangedUpdates = new AtomicLong();
+
+    /**
+     * @return the hash of the theme, as sent along with it in the initial props
+     */
+    public static long getThemeHash(@Nullable Bundle theme) {
+        return getThemeHash(getFieldHashes(theme));
+    }
+
+    /**
+     * Called when JS got the whole theme, e.g. in the initial props.
+     */
+    public synchronized void onThemeSent(@Nullable Bundle theme) {
+        mFieldHashesInJs = getFieldHashes(theme);
+        mThemeHashInJs = getThemeHash(mFieldHashesInJs);
+    }
+
+    /**
+     * Called when the theme is sent to JS, which is assumed to have it from then on.
+     *
+     * @return the fields of the theme to send
+     */
+    public synchronized Update update(@Nullable Bundle theme) {
+        long[] fieldHashes = getFieldHashes(theme);
+        long themeHash = getThemeHash(fieldHashes);
+        boolean[] changedFields = new boolean[KEYS.length];
+        long baseThemeHash = mThemeHashInJs;
+        if (baseThemeHash == ContentFingerprint.NONE) {
+            mFullUpdates.incrementAndGet();
+            for (int i = 0; i < KEYS.length; i++) {
+                changedFields[i] = fieldHashes[i] != ContentFingerprint.NONE;
+            }
+        } else if (themeHash == baseThemeHash) {
+            mUnchangedUpdates.incrementAndGet();
+        } else {
+            mDiffUpdates.incrementAndGet();
+            for (int i = 0; i < KEYS.length; i++) {
+                changedFields[i] = fieldHashes[i] != mFieldHashesInJs[i];
+            }
+        }
+        mThemeHashInJs = themeHash;
+        mFieldHashesInJs = fieldHashes;
+        return new Update(themeHash, baseThemeHash, changedFields);
+    }
+
+    private static long[] getFieldHashes(@Nullable Bundle theme) {
+        long[] fieldHashes = new long[KEYS.length];
+        for (int i = 0; i < KEYS.length; i++) {
+            Object field = theme != null ? theme.getSerializable(KEYS[i]) : null;
+            // Raw styles and features are sent as their string, and colors and gradients as lists of maps, whose
+            // string has all their entries
+            fieldHashes[i] = field != null ? ContentFingerprint.of(field.toString()) : ContentFingerprint.NONE;
+        }
+        return fieldHashes;
+    }
+
+    private static long getThemeHash(long[] fieldHashes) {
+        StringBuilder hashes = new StringBuilder();
+        for (long fieldHash : fieldHashes) {
+            hashes.append(fieldHash).append(',');
+        }
+        return ContentFingerprint.of(hashes);
+    }
+
+    /**
+     * @return how many theme updates were sent in full
+     */
+    public long getFullUpdates() {
+        return mFullUpdates.get();
+    }
+
+    /**
+     * @return how many theme updates were sent as a diff
+     */
+    public long getDiffUpdates() {
+        return mDiffUpdates.get();
+    }
+
+    /**
+     * @return how many theme updates were sent as a hash only, since JS had the theme already
+     */
+    public long getUnchangedUpdates() {
+        return mUnchangedUpdates.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%d theme updates sent in full, %d as a diff, %d unchanged",
+                getFullUpdates(), getDiffUpdates(), getUnchangedUpdates());
+    }
+}
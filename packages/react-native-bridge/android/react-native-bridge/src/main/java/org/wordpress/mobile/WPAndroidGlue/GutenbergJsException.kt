@@ -21,19 +21,19 @@ class GutenbergJsException (
     companion object {
         @JvmStatic
         fun fromReadableMap(rawException: ReadableMap): GutenbergJsException {
-            val type: String = rawException.getString("type") ?: ""
-            val message: String = rawException.getString("message") ?: ""
+            val type: String = rawException.getStringOrNull("type") ?: ""
+            val message: String = rawException.getStringOrNull("message") ?: ""
 
-            val stackTrace: List<JsExceptionStackTraceElement> = rawException.getArray("stacktrace")?.let {
+            val stackTrace: List<JsExceptionStackTraceElement> = rawException.getArrayOrNull("stacktrace")?.let {
                 (0 until it.size()).mapNotNull { index ->
                     val stackTraceElement = it.getMap(index)
                     stackTraceElement?.let {
-                        val stackTraceFunction = stackTraceElement.getString("function")
+                        val stackTraceFunction = stackTraceElement.getStringOrNull("function")
                         stackTraceFunction?.let {
                             JsExceptionStackTraceElement(
-                                stackTraceElement.getString("filename"),
-                                if (stackTraceElement.hasKey("lineno")) stackTraceElement.getInt("lineno") else null,
-                                if (stackTraceElement.hasKey("colno")) stackTraceElement.getInt("colno") else null,
+                                stackTraceElement.getStringOrNull("filename"),
+                                stackTraceElement.getIntOrNull("lineno"),
+                                stackTraceElement.getIntOrNull("colno"),
                                 stackTraceFunction
                             )
                         }
@@ -41,10 +41,10 @@ class GutenbergJsException (
                 }
             } ?: emptyList()
 
-            val context: Map<String, Any> = rawException.getMap("context")?.toHashMap() ?: emptyMap()
-            val tags: Map<String, String> = rawException.getMap("tags")?.toHashMap()?.mapValues { it.value.toString() } ?: emptyMap()
-            val isHandled: Boolean = rawException.getBoolean("isHandled")
-            val handledBy: String = rawException.getString("handledBy") ?: ""
+            val context: Map<String, Any> = rawException.getMapOrNull("context")?.toHashMap() ?: emptyMap()
+            val tags: Map<String, String> = rawException.getMapOrNull("tags")?.toHashMap()?.mapValues { it.value.toString() } ?: emptyMap()
+            val isHandled: Boolean = rawException.hasKey("isHandled") && !rawException.isNull("isHandled") && rawException.getBoolean("isHandled")
+            val handledBy: String = rawException.getStringOrNull("handledBy") ?: ""
 
             return GutenbergJsException(
                 type,
@@ -56,6 +56,18 @@ class GutenbergJsException (
                 handledBy
             )
         }
+
+        private fun ReadableMap.getStringOrNull(name: String) =
+            if (hasKey(name) && !isNull(name)) getString(name) else null
+
+        private fun ReadableMap.getIntOrNull(name: String) =
+            if (hasKey(name) && !isNull(name)) getInt(name) else null
+
+        private fun ReadableMap.getArrayOrNull(name: String) =
+            if (hasKey(name) && !isNull(name)) getArray(name) else null
+
+        private fun ReadableMap.getMapOrNull(name: String) =
+            if (hasKey(name) && !isNull(name)) getMap(name) else null
     }
 }
 
@@ -30,7 +30,9 @@ data class GutenbergProps @JvmOverloads constructor(
     val editorTheme: Bundle?,
     val translations: Bundle,
     val isDarkMode: Boolean,
-    val htmlModeEnabled: Boolean
+    val htmlModeEnabled: Boolean,
+    // When enabled, JS looks the translations up one by one, see [TranslationStore], instead of getting them all here
+    val lazyTranslations: Boolean = false
 ) {
 
     fun getInitialProps(bundle: Bundle?) = (bundle ?: Bundle()).apply {
@@ -40,12 +42,20 @@ data class GutenbergProps @JvmOverloads constructor(
         putString(PROP_POST_TYPE, postType)
         putString(PROP_HOST_APP_NAMESPACE, hostAppNamespace)
         putInt(PROP_INITIAL_FEATURED_IMAGE_ID, featuredImageId)
-        putBundle(PROP_TRANSLATIONS, translations)
+        if (lazyTranslations) {
+            remove(PROP_TRANSLATIONS)
+            putBoolean(PROP_LAZY_TRANSLATIONS, true)
+        } else {
+            remove(PROP_LAZY_TRANSLATIONS)
+            putBundle(PROP_TRANSLATIONS, translations)
+        }
         putBoolean(PROP_INITIAL_HTML_MODE_ENABLED, htmlModeEnabled)
 
         putBundle(PROP_CAPABILITIES, getUpdatedCapabilitiesProps())
 
         editorTheme?.also { theme ->
+            // JS caches the parsed theme by its hash
+            putDouble(PROP_THEME_HASH, EditorThemeSync.getThemeHash(theme).toDouble())
             theme.getSerializable(PROP_COLORS)?.let { putSerializable(PROP_COLORS, it) }
             theme.getSerializable(PROP_GRADIENTS)?.let { putSerializable(PROP_GRADIENTS, it) }
             theme.getSerializable(PROP_STYLES)
@@ -78,25 +88,61 @@ data class GutenbergProps @JvmOverloads constructor(
         putBoolean(PROP_CAPABILITIES_ONLY_CORE_BLOCKS, enableOnlyCoreBlocks)
     }
 
+    /**
+     * The capabilities as a bitset, with the bit of each capability at its index in [CAPABILITY_KEYS].
+     */
+    fun getCapabilityFlags(): Long {
+        val capabilities = getUpdatedCapabilitiesProps()
+        return CAPABILITY_KEYS.foldIndexed(0L) { index, flags, key ->
+            if (capabilities.getBoolean(key)) flags or (1L shl index) else flags
+        }
+    }
+
     companion object {
 
-        fun initContent(bundle: Bundle?, title: String?, content: String?) =
-                (bundle ?: Bundle()).apply {
-                    title?.let { putString(PROP_INITIAL_TITLE, it) }
-                    content?.let { putString(PROP_INITIAL_DATA, it) }
-                }
+        /**
+         * When the content was handed off, see [InitialContentHandoff], only its handle is put in the props. When the
+         * content is loaded progressively, see [ProgressiveContentLoader], the content is only its first blocks and
+         * the rest of it is handed off.
+         */
+        @JvmOverloads
+        fun initContent(
+            bundle: Bundle?,
+            title: String?,
+            content: String?,
+            contentHandle: String? = null,
+            remainderHandle: String? = null
+        ) = (bundle ?: Bundle()).apply {
+            title?.let { putString(PROP_INITIAL_TITLE, it) }
+            if (contentHandle != null) {
+                remove(PROP_INITIAL_DATA)
+                putString(PROP_INITIAL_DATA_HANDLE, contentHandle)
+            } else {
+                remove(PROP_INITIAL_DATA_HANDLE)
+                content?.let { putString(PROP_INITIAL_DATA, it) }
+            }
+            if (remainderHandle != null) {
+                putString(PROP_INITIAL_DATA_REMAINDER_HANDLE, remainderHandle)
+            } else {
+                remove(PROP_INITIAL_DATA_REMAINDER_HANDLE)
+            }
+        }
 
         private const val PROP_INITIAL_HTML_MODE_ENABLED = "initialHtmlModeEnabled"
         private const val PROP_POST_TYPE = "postType"
         private const val PROP_HOST_APP_NAMESPACE = "hostAppNamespace"
         private const val PROP_INITIAL_FEATURED_IMAGE_ID = "featuredImageId"
         private const val PROP_TRANSLATIONS = "translations"
+        private const val PROP_LAZY_TRANSLATIONS = "lazyTranslations"
+        private const val PROP_THEME_HASH = "themeHash"
         private const val PROP_COLORS = "colors"
         private const val PROP_GRADIENTS = "gradients"
         private const val PROP_IS_FSE_THEME = "isFSETheme"
 
         const val PROP_INITIAL_TITLE = "initialTitle"
         const val PROP_INITIAL_DATA = "initialData"
+        const val PROP_INITIAL_DATA_HANDLE = "initialDataHandle"
+        const val PROP_INITIAL_DATA_REMAINDER_HANDLE = "initialDataRemainderHandle"
         const val PROP_STYLES = "rawStyles"
         const val PROP_FEATURES = "rawFeatures"
         const val PROP_LOCALE = "locale"
@@ -120,6 +166,31 @@ data class GutenbergProps @JvmOverloads constructor(
         const val PROP_CAPABILITIES_SUPPORT_SECTION = "supportSection"
         const val PROP_CAPABILITIES_ONLY_CORE_BLOCKS = "onlyCoreBlocks"
 
+        /**
+         * The keys of the capabilities, in the order of their bits in [getCapabilityFlags]. There can be up to 64.
+         */
+        @JvmField
+        val CAPABILITY_KEYS = arrayOf(
+                PROP_CAPABILITIES_MENTIONS,
+                PROP_CAPABILITIES_XPOSTS,
+                PROP_CAPABILITIES_CONTACT_INFO_BLOCK,
+                PROP_CAPABILITIES_LAYOUT_GRID_BLOCK,
+                PROP_CAPABILITIES_TILED_GALLERY_BLOCK,
+                PROP_CAPABILITIES_VIDEOPRESS_BLOCK,
+                PROP_CAPABILITIES_VIDEOPRESS_V5_SUPPORT,
+                PROP_CAPABILITIES_UNSUPPORTED_BLOCK_EDITOR,
+                PROP_CAPABILITIES_CAN_ENABLE_UNSUPPORTED_BLOCK_EDITOR,
+                PROP_CAPABILITIES_IS_AUDIO_BLOCK_MEDIA_UPLOAD_ENABLED,
+                PROP_CAPABILITIES_SHOULD_USE_FASTIMAGE,
+                PROP_CAPABILITIES_REUSABLE_BLOCK,
+                PROP_CAPABILITIES_FACEBOOK_EMBED_BLOCK,
+                PROP_CAPABILITIES_INSTAGRAM_EMBED_BLOCK,
+                PROP_CAPABILITIES_LOOM_EMBED_BLOCK,
+                PROP_CAPABILITIES_SMARTFRAME_EMBED_BLOCK,
+                PROP_CAPABILITIES_SUPPORT_SECTION,
+                PROP_CAPABILITIES_ONLY_CORE_BLOCKS
+        )
+
         /**
          * Android converts some new language codes to older, deprecated ones, to preserve
          * backward compatibility. Gutenberg, however, uses the new language codes, so this
@@ -0,0 +1,157 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+
+import com.facebook.common.memory.MemoryTrimType;
+import com.facebook.common.memory.MemoryTrimmable;
+import com.facebook.common.memory.MemoryTrimmableRegistry;
+import com.facebook.imagepipeline.backends.okhttp3.OkHttpImagePipelineConfigFactory;
+import com.facebook.imagepipeline.cache.MemoryCacheParams;
+import com.facebook.imagepipeline.core.ImagePipelineConfig;
+
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import okhttp3.OkHttpClient;
+
+/**
+ * Configuration of the Fresco image pipeline used by the editor. Hosts can tune the memory caches for posts with
+ * large galleries, and the caches are trimmed when the system reports memory pressure through
+ * {@link #onTrimMemory(int)}.
+ */
+public class ImagePipelineProfile {
+    private static final int DEFAULT_MAX_CACHE_ENTRIES = 256;
+    private static final int DEFAULT_MAX_EVICTION_QUEUE_ENTRIES = Integer.MAX_VALUE;
+    private static final int MAX_ENCODED_CACHE_ENTRIES = 128;
+
+    private final int mBitmapMemoryCacheSize;
+    private final int mEncodedMemoryCacheSize;
+    private final boolean mDownsampleEnabled;
+    private final boolean mResizeOnDecodeEnabled;
+    private final ImagePipelineStats mStats = new ImagePipelineStats();
+    private final TrimmableRegistry mTrimmableRegistry = new TrimmableRegistry();
+
+    private ImagePipelineProfile(Builder builder) {
+        mBitmapMemoryCacheSize = builder.mBitmapMemoryCacheSize;
+        mEncodedMemoryCacheSize = builder.mEncodedMemoryCacheSize;
+        mDownsampleEnabled = builder.mDownsampleEnabled;
+        mResizeOnDecodeEnabled = builder.mResizeOnDecodeEnabled;
+    }
+
+    public ImagePipelineStats getStats() {
+        return mStats;
+    }
+
+    ImagePipelineConfig buildConfig(Context context, OkHttpClient client) {
+        ImagePipelineConfig.Builder builder = OkHttpImagePipelineConfigFactory.newBuilder(context, client)
+                .setDownsampleEnabled(mDownsampleEnabled)
+                .setResizeAndRotateEnabledForNetwork(mResizeOnDecodeEnabled)
+                .setImageCacheStatsTracker(mStats)
+                .setMemoryTrimmableRegistry(mTrimmableRegistry);
+
+        if (mBitmapMemoryCacheSize > 0) {
+            final MemoryCacheParams bitmapCacheParams = new MemoryCacheParams(
+                    mBitmapMemoryCacheSize,
+                    DEFAULT_MAX_CACHE_ENTRIES,
+                    mBitmapMemoryCacheSize / 4,
+                    DEFAULT_MAX_EVICTION_QUEUE_ENTRIES,
+                    mBitmapMemoryCacheSize / 4);
+            builder.setBitmapMemoryCacheParamsSupplier(() -> bitmapCacheParams);
+        }
+
+        if (mEncodedMemoryCacheSize > 0) {
+            final MemoryCacheParams encodedCacheParams = new MemoryCacheParams(
+                    mEncodedMemoryCacheSize,
+                    MAX_ENCODED_CACHE_ENTRIES,
+                    mEncodedMemoryCacheSize,
+                    DEFAULT_MAX_EVICTION_QUEUE_ENTRIES,
+                    mEncodedMemoryCacheSize / 8);
+            builder.setEncodedMemoryCacheParamsSupplier(() -> encodedCacheParams);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Trims the image caches according to the level reported by {@link ComponentCallbacks2#onTrimMemory(int)}.
+     */
+    public void onTrimMemory(int level) {
+        MemoryTrimType trimType;
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_COMPLETE) {
+            trimType = MemoryTrimType.OnSystemLowMemoryWhileAppInBackground;
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            trimType = MemoryTrimType.OnAppBackgrounded;
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            trimType = MemoryTrimType.OnSystemLowMemoryWhileAppInForeground;
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE) {
+            trimType = MemoryTrimType.OnCloseToDalvikHeapLimit;
+        } else {
+            return;
+        }
+
+        AppLog.d(T.EDITOR, "Trimming image caches: " + trimType);
+        mTrimmableRegistry.trim(trimType);
+        mStats.onTrim();
+    }
+
+    private static class TrimmableRegistry implements MemoryTrimmableRegistry {
+        private final List<MemoryTrimmable> mTrimmables = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void registerMemoryTrimmable(MemoryTrimmable trimmable) {
+            mTrimmables.add(trimmable);
+        }
+
+        @Override
+        public void unregisterMemoryTrimmable(MemoryTrimmable trimmable) {
+            mTrimmables.remove(trimmable);
+        }
+
+        void trim(MemoryTrimType trimType) {
+            for (MemoryTrimmable trimmable : mTrimmables) {
+                trimmable.trim(trimType);
+            }
+        }
+    }
+
+    public static class Builder {
+        private int mBitmapMemoryCacheSize;
+        private int mEncodedMemoryCacheSize;
+        private boolean mDownsampleEnabled = true;
+        private boolean mResizeOnDecodeEnabled = true;
+
+        /**
+         * @param bytes the maximum size of the decoded bitmaps cache, or 0 to use Fresco's default
+         */
+        public Builder setBitmapMemoryCacheSize(int bytes) {
+            mBitmapMemoryCacheSize = bytes;
+            return this;
+        }
+
+        /**
+         * @param bytes the maximum size of the encoded images cache, or 0 to use Fresco's default
+         */
+        public Builder setEncodedMemoryCacheSize(int bytes) {
+            mEncodedMemoryCacheSize = bytes;
+            return this;
+        }
+
+        public Builder setDownsampleEnabled(boolean downsampleEnabled) {
+            mDownsampleEnabled = downsampleEnabled;
+            return this;
+        }
+
+        public Builder setResizeOnDecodeEnabled(boolean resizeOnDecodeEnabled) {
+            mResizeOnDecodeEnabled = resizeOnDecodeEnabled;
+            return this;
+        }
+
+        public ImagePipelineProfile build() {
+            return new ImagePipelineProfile(this);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import com.facebook.cache.common.CacheKey;
+import com.facebook.imagepipeline.cache.ImageCacheStatsTracker;
+import com.facebook.imagepipeline.cache.MemoryCache;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts hits, misses and writes of the editor's image caches, so hosts can tell how well the configured
+ * {@link ImagePipelineProfile} fits their content.
+ */
+public class ImagePipelineStats implements ImageCacheStatsTracker {
+    private final AtomicLong mBitmapCacheHits = new AtomicLong();
+    private final AtomicLong mBitmapCacheMisses = new AtomicLong();
+    private final AtomicLong mBitmapCachePuts = new AtomicLong();
+    private final AtomicLong mEncodedCacheHits = new AtomicLong();
+    private final AtomicLong mEncodedCacheMisses = new AtomicLong();
+    private final AtomicLong mDiskCacheHits = new AtomicLong();
+    private final AtomicLong mDiskCacheMisses = new AtomicLong();
+    private final AtomicLong mTrims = new AtomicLong();
+
+    public long getBitmapCacheHits() {
+        return mBitmapCacheHits.get();
+    }
+
+    public long getBitmapCacheMisses() {
+        return mBitmapCacheMisses.get();
+    }
+
+    public long getBitmapCachePuts() {
+        return mBitmapCachePuts.get();
+    }
+
+    public long getEncodedCacheHits() {
+        return mEncodedCacheHits.get();
+    }
+
+    public long getEncodedCacheMisses() {
+        return mEncodedCacheMisses.get();
+    }
+
+    public long getDiskCacheHits() {
+        return mDiskCacheHits.get();
+    }
+
+    public long getDiskCacheMisses() {
+        return mDiskCacheMisses.get();
+    }
+
+    /**
+     * @return how many times the memory caches have been trimmed because of memory pressure
+     */
+    public long getTrims() {
+        return mTrims.get();
+    }
+
+    public float getBitmapCacheHitRate() {
+        return getHitRate(mBitmapCacheHits.get(), mBitmapCacheMisses.get());
+    }
+
+    public float getEncodedCacheHitRate() {
+        return getHitRate(mEncodedCacheHits.get(), mEncodedCacheMisses.get());
+    }
+
+    void onTrim() {
+        mTrims.incrementAndGet();
+    }
+
+    private static float getHitRate(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0f : (float) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US,
+                "bitmap cache hit rate %.2f (%d puts), encoded cache hit rate %.2f, disk cache %d hits / %d misses, "
+                + "%d trims", getBitmapCacheHitRate(), getBitmapCachePuts(), getEncodedCacheHitRate(),
+                getDiskCacheHits(), getDiskCacheMisses(), getTrims());
+    }
+
+    @Override
+    public void onBitmapCachePut(CacheKey cacheKey) {
+        mBitmapCachePuts.incrementAndGet();
+    }
+
+    @Override
+    public void onBitmapCacheHit(CacheKey cacheKey) {
+        mBitmapCacheHits.incrementAndGet();
+    }
+
+    @Override
+    public void onBitmapCacheMiss(CacheKey cacheKey) {
+        mBitmapCacheMisses.incrementAndGet();
+    }
+
+    @Override
+    public void onMemoryCachePut(CacheKey cacheKey) {
+    }
+
+    @Override
+    public void onMemoryCacheHit(CacheKey cacheKey) {
+        mEncodedCacheHits.incrementAndGet();
+    }
+
+    @Override
+    public void onMemoryCacheMiss(CacheKey cacheKey) {
+        mEncodedCacheMisses.incrementAndGet();
+    }
+
+    @Override
+    public void onStagingAreaHit(CacheKey cacheKey) {
+    }
+
+    @Override
+    public void onStagingAreaMiss(CacheKey cacheKey) {
+    }
+
+    @Override
+    public void onDiskCacheHit(CacheKey cacheKey) {
+        mDiskCacheHits.incrementAndGet();
+    }
+
+    @Override
+    public void onDiskCacheMiss(CacheKey cacheKey) {
+        mDiskCacheMisses.incrementAndGet();
+    }
+
+    @Override
+    public void onDiskCacheGetFail(CacheKey cacheKey) {
+    }
+
+    @Override
+    public void onDiskCachePut(CacheKey cacheKey) {
+    }
+
+    @Override
+    public void registerBitmapMemoryCache(MemoryCache<?, ?> bitmapMemoryCache) {
+    }
+
+    @Override
+    public void registerEncodedMemoryCache(MemoryCache<?, ?> encodedMemoryCache) {
+    }
+}
@@ -0,0 +1,108 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Hands the initial content of the editor off to JS by handle, instead of putting it in the app properties, when it's
+ * larger than a threshold.
+ * <p>
+ * Content in the app properties is copied from the {@link android.os.Bundle} to a map and then to JS all at once, and
+ * the bundle can be kept around, e.g. when the view state is saved. A handed off content is only referenced here,
+ * since the host keeps it anyway, and JS reads it in chunks when it starts the editor, see
+ * {@link #readChunk(String, int)}. Chunks never split surrogate pairs, which couldn't cross the bridge on their own.
+ */
+public class InitialContentHandoff {
+    public static final int DEFAULT_THRESHOLD = 128 * 1024;
+    private static final int DEFAULT_CHUNK_SIZE = 256 * 1024;
+
+    private final int mChunkSize;
+    private volatile int mThreshold = DEFAULT_THRESHOLD;
+
+    // Guarded by this. Kept until released, so that JS can read the content again when it's reloaded.
+    private final Map<String, HandedOffContent> mContents = new HashMap<>();
+
+    public InitialContentHandoff() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    InitialContentHandoff(int chunkSize) {
+        mChunkSize = chunkSize;
+    }
+
+    /**
+     * @param threshold the length, in chars, above which the initial content is handed off
+     */
+    public void setThreshold(int threshold) {
+        mThreshold = threshold;
+    }
+
+    /**
+     * @return the handle JS reads the content with, or null when the content is small enough for the app properties
+     */
+    public @Nullable String handOff(@NonNull String content) {
+        return content.length() > mThreshold ? put(content) : null;
+    }
+
+    public String put(@NonNull String content) {
+        return put(content, 0);
+    }
+
+    /**
+     * Hands the content from the given offset off, whatever its length, without copying it.
+     *
+     * @return the handle JS reads the content with
+     */
+    public synchronized String put(@NonNull String content, int start) {
+        String handle = UUID.randomUUID().toString();
+        mContents.put(handle, new HandedOffContent(content, start));
+        return handle;
+    }
+
+    /**
+     * @param offset the offset, in chars, of the chunk, i.e. the length of the chunks read so far
+     * @return the chunk of the content at the offset, an empty string after the end of the content, or null when
+     * there's no content with this handle, e.g. it was released
+     */
+    public @Nullable String readChunk(@NonNull String handle, int offset) {
+        HandedOffContent handedOffContent;
+        synchronized (this) {
+            handedOffContent = mContents.get(handle);
+        }
+        if (handedOffContent == null) {
+            return null;
+        }
+        String content = handedOffContent.mContent;
+        int start = handedOffContent.mStart + Math.max(0, offset);
+        if (start >= content.length()) {
+            return "";
+        }
+
+        int end = Math.min(content.length(), start + mChunkSize);
+        if (end < content.length() && Character.isHighSurrogate(content.charAt(end - 1)) && end - 1 > start) {
+            end--;
+        }
+        return content.substring(start, end);
+    }
+
+    /**
+     * Forgets the contents handed off, e.g. when the editor is started again or destroyed.
+     */
+    public synchronized void release() {
+        mContents.clear();
+    }
+
+    private static class HandedOffContent {
+        private final String mContent;
+        private final int mStart;
+
+        HandedOffContent(String content, int start) {
+            mContent = content;
+            mStart = start;
+        }
+    }
+}
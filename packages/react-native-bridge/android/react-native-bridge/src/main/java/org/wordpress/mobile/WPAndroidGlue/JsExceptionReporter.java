@@ -0,0 +1,226 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import android.os.SystemClock;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.LogExceptionCallback;
+import org.wordpress.mobile.WPAndroidGlue.WPAndroidGlueCode.OnLogExceptionListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reports the exceptions logged by JS to the {@link OnLogExceptionListener}, off the bridge thread.
+ * <p>
+ * Exceptions are fingerprinted by their type, message and top stack frames. Once an exception is reported, the ones
+ * with the same fingerprint are only counted until the deduplication window ends, and the next one reported carries
+ * that count in its {@link #TAG_OCCURRENCES} tag. Reports are also limited per minute. JS is told they were logged
+ * either way, since they're accounted for.
+ * <p>
+ * The {@link ReadableMap} JS sent is only meant to be read on the calling thread, so the fingerprint is read there,
+ * and only the exceptions that are reported are converted to {@link GutenbergJsException} there too. JS is told
+ * exceptions that can't be read, or that are logged after {@link #shutdown()}, weren't logged.
+ */
+public class JsExceptionReporter {
+    public static final String TAG_OCCURRENCES = "occurrences";
+
+    private static final int FINGERPRINT_FRAMES = 3;
+    private static final int MAX_FINGERPRINTS = 100;
+    private static final long RATE_LIMIT_WINDOW_MS = 60_000;
+
+    private final Executor mExecutor;
+    private volatile @Nullable OnLogExceptionListener mListener;
+    private volatile long mDedupeWindowMs = 60_000;
+    private volatile int mMaxReportsPerMinute = 10;
+
+    // Guarded by this. Least recently seen fingerprints are evicted first.
+    private final Map<String, Occurrences> mOccurrences = new LinkedHashMap<String, Occurrences>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Occurrences> eldest) {
+            return size() > MAX_FINGERPRINTS;
+        }
+    };
+    private long mRateLimitWindowStart = -RATE_LIMIT_WINDOW_MS;
+    private int mReportsInWindow;
+
+    private final AtomicLong mReceived = new AtomicLong();
+    private final AtomicLong mReported = new AtomicLong();
+    private final AtomicLong mDeduplicated = new AtomicLong();
+    private final AtomicLong mRateLimited = new AtomicLong();
+
+    public JsExceptionReporter() {
+        this(Executors.newSingleThreadExecutor());
+    }
+
+    JsExceptionReporter(Executor executor) {
+        mExecutor = executor;
+    }
+
+    void setListener(@Nullable OnLogExceptionListener listener) {
+        mListener = listener;
+    }
+
+    public void setDedupeWindowMs(long dedupeWindowMs) {
+        mDedupeWindowMs = dedupeWindowMs;
+    }
+
+    public void setMaxReportsPerMinute(int maxReportsPerMinute) {
+        mMaxReportsPerMinute = maxReportsPerMinute;
+    }
+
+    void report(ReadableMap rawException, LogExceptionCallback logExceptionCallback) {
+        mReceived.incrementAndGet();
+        OnLogExceptionListener listener = mListener;
+        if (listener == null) {
+            logExceptionCallback.onLogException(false);
+            return;
+        }
+
+        GutenbergJsException exception;
+        int occurrences;
+        try {
+            occurrences = countOccurrence(fingerprint(rawException));
+            if (occurrences == 0) {
+                logExceptionCallback.onLogException(true);
+                return;
+            }
+            exception = GutenbergJsException.fromReadableMap(rawException);
+        } catch (RuntimeException e) {
+            AppLog.e(T.EDITOR, "Unable to read the JS exception: " + e.getMessage());
+            logExceptionCallback.onLogException(false);
+            return;
+        }
+
+        try {
+            mExecutor.execute(() -> {
+                mReported.incrementAndGet();
+                listener.onLogException(occurrences > 1 ? withOccurrences(exception, occurrences) : exception,
+                        logExceptionCallback);
+            });
+        } catch (RejectedExecutionException e) {
+            logExceptionCallback.onLogException(false);
+        }
+    }
+
+    /**
+     * Stops the thread exceptions are reported on once the pending ones are reported, i.e. when the editor is
+     * destroyed.
+     */
+    public void shutdown() {
+        if (mExecutor instanceof ExecutorService) {
+            ((ExecutorService) mExecutor).shutdown();
+        }
+    }
+
+    /**
+     * @return how many times the exception with this fingerprint occurred, counting the ones deduplicated since it was
+     * last reported, or 0 when it's deduplicated or rate limited rather than reported
+     */
+    private synchronized int countOccurrence(String fingerprint) {
+        long now = SystemClock.elapsedRealtime();
+        Occurrences previous = mOccurrences.get(fingerprint);
+        if (previous != null && now - previous.mWindowStart < mDedupeWindowMs) {
+            previous.mCount++;
+            mDeduplicated.incrementAndGet();
+            return 0;
+        }
+        mOccurrences.put(fingerprint, new Occurrences(now));
+
+        if (now - mRateLimitWindowStart >= RATE_LIMIT_WINDOW_MS) {
+            mRateLimitWindowStart = now;
+            mReportsInWindow = 0;
+        }
+        if (++mReportsInWindow > mMaxReportsPerMinute) {
+            mRateLimited.incrementAndGet();
+            return 0;
+        }
+        return previous == null ? 1 : previous.mCount + 1;
+    }
+
+    /**
+     * Reads the type, message and top stack frames of the exception, the same way
+     * {@link GutenbergJsException#fromReadableMap(ReadableMap)} does, without reading the rest of it.
+     */
+    private static String fingerprint(ReadableMap rawException) {
+        StringBuilder fingerprint = new StringBuilder()
+                .append(getStringOrEmpty(rawException, "type")).append('|')
+                .append(getStringOrEmpty(rawException, "message"));
+        ReadableArray stackTrace = has(rawException, "stacktrace") ? rawException.getArray("stacktrace") : null;
+        int frames = 0;
+        for (int i = 0; stackTrace != null && i < stackTrace.size() && frames < FINGERPRINT_FRAMES; i++) {
+            ReadableMap frame = stackTrace.getMap(i);
+            // Frames without a function are left out of the exception
+            if (frame == null || !has(frame, "function")) {
+                continue;
+            }
+            frames++;
+            fingerprint.append('|').append(frame.getString("function"))
+                       .append('@').append(has(frame, "filename") ? frame.getString("filename") : null)
+                       .append(':').append(has(frame, "lineno") ? Integer.valueOf(frame.getInt("lineno")) : null);
+        }
+        return fingerprint.toString();
+    }
+
+    private static boolean has(ReadableMap map, String name) {
+        return map.hasKey(name) && !map.isNull(name);
+    }
+
+    private static String getStringOrEmpty(ReadableMap map, String name) {
+        String value = has(map, name) ? map.getString(name) : null;
+        return value != null ? value : "";
+    }
+
+    private static GutenbergJsException withOccurrences(GutenbergJsException exception, int occurrences) {
+        Map<String, String> tags = new HashMap<>(exception.getTags());
+        tags.put(TAG_OCCURRENCES, String.valueOf(occurrences));
+        return new GutenbergJsException(exception.getType(), exception.getMessage(), exception.getStackTrace(),
+                exception.getContext(), tags, exception.isHandled(), exception.getHandledBy());
+    }
+
+    public long getReceived() {
+        return mReceived.get();
+    }
+
+    public long getReported() {
+        return mReported.get();
+    }
+
+    /**
+     * @return how many exceptions were only counted, because one with the same fingerprint was reported recently
+     */
+    public long getDeduplicated() {
+        return mDeduplicated.get();
+    }
+
+    public long getRateLimited() {
+        return mRateLimited.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%d JS exceptions received, %d reported, %d deduplicated, %d rate limited",
+                getReceived(), getReported(), getDeduplicated(), getRateLimited());
+    }
+
+    private static class Occurrences {
+        private final long mWindowStart;
+        private int mCount;
+
+        Occurrences(long windowStart) {
+            mWindowStart = windowStart;
+        }
+    }
+}
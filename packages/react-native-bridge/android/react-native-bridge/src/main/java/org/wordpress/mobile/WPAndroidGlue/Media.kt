@@ -18,7 +18,9 @@ data class Media(
     override val alt: String = "",
     override val metadata: WritableMap = WritableNativeMap()
 ) : RNMedia {
-    override fun toMap(): WritableMap = WritableNativeMap().apply {
+    override fun toMap(): WritableMap = toMap(WritableMapFactory.NATIVE)
+
+    fun toMap(mapFactory: WritableMapFactory): WritableMap = mapFactory.createMap().apply {
         putInt("id", id)
         putString("url", url)
         putString("type", type)
@@ -0,0 +1,436 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Matrix;
+import android.media.ExifInterface;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.text.TextUtils;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static android.graphics.Bitmap.CompressFormat.JPEG;
+import static android.graphics.Bitmap.CompressFormat.PNG;
+
+/**
+ * Generates downscaled previews of local images selected by the user, so that the editor doesn't need to decode
+ * full-resolution camera pictures just to show them in a block. Thumbnails are decoded on a background executor,
+ * rotated as their EXIF orientation says, written to the cache dir, and cached by source URI and target size. Images
+ * with transparency are written as PNG, the others as JPEG. The executor's threads stop when idle, and
+ * {@link WPAndroidGlueCode} shuts it down when the editor is destroyed.
+ */
+public class MediaThumbnailGenerator {
+    public static final String METADATA_KEY_THUMBNAIL_URL = "thumbnailUrl";
+
+    private static final String THUMBNAILS_DIR = "gutenberg-media-thumbnails";
+    // Changes the names of the cached thumbnails, e.g. to leave out the ones written before a fix
+    private static final int THUMBNAILS_VERSION = 2;
+    // Only applies to JPEG, PNG is lossless
+    private static final int THUMBNAIL_QUALITY = 85;
+    private static final int BYTES_PER_PIXEL = 4;
+    private static final int MAX_THREADS = 2;
+    private static final long THREAD_KEEP_ALIVE_SECONDS = 30;
+
+    public interface OnThumbnailGeneratedListener {
+        void onThumbnailGenerated(String sourceUrl, String thumbnailUrl, long decodeTimeMs, long bytesSaved);
+    }
+
+    public interface OnThumbnailsAttachedListener {
+        void onThumbnailsAttached(List<Media> mediaList);
+    }
+
+    /**
+     * A list of media whose thumbnails are being generated. Batches complete in the order they were started.
+     */
+    private static class Batch {
+        private final List<Media> mMediaList;
+        private final String[] mThumbnailUrls;
+        private final OnThumbnailsAttachedListener mListener;
+        private final AtomicInteger mRemaining;
+        // Only accessed on the main thread
+        private boolean mIsDone;
+
+        Batch(List<Media> mediaList, OnThumbnailsAttachedListener listener) {
+            mMediaList = mediaList;
+            mThumbnailUrls = new String[mediaList.size()];
+            mListener = listener;
+            mRemaining = new AtomicInteger(mediaList.size());
+        }
+    }
+
+    private final Context mContext;
+    private final int mTargetSize;
+    private final ThreadPoolExecutor mExecutor;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    // Only accessed on the main thread
+    private final ArrayDeque<Batch> mPendingBatches = new ArrayDeque<>();
+    private final Map<String, String> mThumbnailCache = new ConcurrentHashMap<>();
+
+    private final AtomicInteger mThumbnailCount = new AtomicInteger();
+    private final AtomicInteger mCacheHitCount = new AtomicInteger();
+    private final AtomicLong mTotalDecodeTimeMs = new AtomicLong();
+    private final AtomicLong mTotalBytesSaved = new AtomicLong();
+
+    private @Nullable OnThumbnailGeneratedListener mOnThumbnailGeneratedListener;
+
+    /**
+     * @param context any context, only the application context is retained
+     * @param targetSize the minimum size, in pixels, of the shortest side of the thumbnails
+     */
+    public MediaThumbnailGenerator(Context context, int targetSize) {
+        mContext = context.getApplicationContext();
+        mTargetSize = targetSize;
+        int threadCount = Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors());
+        mExecutor = new ThreadPoolExecutor(threadCount, threadCount, THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>());
+        mExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    public void setOnThumbnailGeneratedListener(@Nullable OnThumbnailGeneratedListener listener) {
+        mOnThumbnailGeneratedListener = listener;
+    }
+
+    /**
+     * Generates thumbnails for the local images in the list and returns copies of the media with their URLs added to
+     * the metadata under {@link #METADATA_KEY_THUMBNAIL_URL}. Items that are not local images are returned as they
+     * are. Must be called on the main thread.
+     *
+     * @param mediaList the media to generate thumbnails for
+     * @param listener invoked on the main thread once every item has been processed, after the listeners of the
+     *                 lists passed before
+     */
+    public void attachThumbnails(final List<Media> mediaList, final OnThumbnailsAttachedListener listener) {
+        final Batch batch = new Batch(mediaList, listener);
+        mPendingBatches.add(batch);
+        if (mediaList.isEmpty() || mExecutor.isShutdown()) {
+            onBatchDone(batch);
+            return;
+        }
+
+        for (int i = 0; i < mediaList.size(); i++) {
+            final int index = i;
+            mExecutor.execute(() -> {
+                // Each slot is only written by one task, before the batch is handed back to the main thread
+                batch.mThumbnailUrls[index] = getThumbnailUrl(mediaList.get(index));
+                if (batch.mRemaining.decrementAndGet() == 0) {
+                    mMainHandler.post(() -> onBatchDone(batch));
+                }
+            });
+        }
+    }
+
+    private void onBatchDone(Batch batch) {
+        batch.mIsDone = true;
+        while (!mPendingBatches.isEmpty() && mPendingBatches.peek().mIsDone) {
+            Batch doneBatch = mPendingBatches.poll();
+            doneBatch.mListener.onThumbnailsAttached(withThumbnailUrls(doneBatch));
+        }
+    }
+
+    private static List<Media> withThumbnailUrls(Batch batch) {
+        List<Media> mediaList = new ArrayList<>(batch.mMediaList.size());
+        for (int i = 0; i < batch.mMediaList.size(); i++) {
+            Media media = batch.mMediaList.get(i);
+            String thumbnailUrl = batch.mThumbnailUrls[i];
+            if (thumbnailUrl == null) {
+                mediaList.add(media);
+                continue;
+            }
+            WritableMap metadata = new WritableNativeMap();
+            metadata.merge(media.getMetadata());
+            metadata.putString(METADATA_KEY_THUMBNAIL_URL, thumbnailUrl);
+            mediaList.add(media.copy(media.getId(), media.getUrl(), media.getType(), media.getCaption(),
+                    media.getTitle(), media.getAlt(), metadata));
+        }
+        return mediaList;
+    }
+
+    public int getThumbnailCount() {
+        return mThumbnailCount.get();
+    }
+
+    public int getCacheHitCount() {
+        return mCacheHitCount.get();
+    }
+
+    public long getTotalDecodeTimeMs() {
+        return mTotalDecodeTimeMs.get();
+    }
+
+    public long getTotalBytesSaved() {
+        return mTotalBytesSaved.get();
+    }
+
+    /**
+     * Stops generating thumbnails. The lists still being processed are dropped, and the ones passed afterwards are
+     * returned as they are. Must be called on the main thread.
+     */
+    public void shutdown() {
+        mExecutor.shutdownNow();
+        mPendingBatches.clear();
+    }
+
+    private @Nullable String getThumbnailUrl(Media media) {
+        Uri sourceUri = getLocalUri(media);
+        if (sourceUri == null) {
+            return null;
+        }
+
+        String cacheKey = sourceUri + "@" + mTargetSize;
+        String cachedUrl = mThumbnailCache.get(cacheKey);
+        if (cachedUrl != null) {
+            mCacheHitCount.incrementAndGet();
+            return cachedUrl;
+        }
+
+        // Thumbnails are only renamed to their cache file name once they're written in full
+        File thumbnailsDir = getThumbnailsDir();
+        String cacheFileName = getCacheFileName(cacheKey);
+        for (Bitmap.CompressFormat format : new Bitmap.CompressFormat[]{JPEG, PNG}) {
+            File thumbnailFile = new File(thumbnailsDir, cacheFileName + getExtension(format));
+            if (thumbnailFile.exists()) {
+                String thumbnailUrl = Uri.fromFile(thumbnailFile).toString();
+                mThumbnailCache.put(cacheKey, thumbnailUrl);
+                mCacheHitCount.incrementAndGet();
+                return thumbnailUrl;
+            }
+        }
+
+        try {
+            String thumbnailUrl = generateThumbnail(media.getUrl(), sourceUri, thumbnailsDir, cacheFileName);
+            if (thumbnailUrl != null) {
+                mThumbnailCache.put(cacheKey, thumbnailUrl);
+            }
+            return thumbnailUrl;
+        } catch (IOException | OutOfMemoryError e) {
+            AppLog.e(T.EDITOR, "Unable to generate a thumbnail for " + sourceUri + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private @Nullable String generateThumbnail(String sourceUrl, Uri sourceUri, File thumbnailsDir,
+                                               String cacheFileName) throws IOException {
+        long startTime = SystemClock.elapsedRealtime();
+
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        try (InputStream in = openInputStream(sourceUri)) {
+            BitmapFactory.decodeStream(in, null, options);
+        }
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return null;
+        }
+
+        int sampleSize = getSampleSize(options.outWidth, options.outHeight);
+        if (sampleSize <= 1) {
+            // The image is already small enough, no need for a thumbnail
+            return null;
+        }
+
+        long originalBytes = (long) options.outWidth * options.outHeight * BYTES_PER_PIXEL;
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sampleSize;
+        Bitmap bitmap;
+        try (InputStream in = openInputStream(sourceUri)) {
+            bitmap = BitmapFactory.decodeStream(in, null, options);
+        }
+        if (bitmap == null) {
+            return null;
+        }
+
+        long thumbnailBytes = bitmap.getByteCount();
+        File thumbnailFile;
+        try {
+            bitmap = rotate(bitmap, getExifOrientation(sourceUri));
+            // JPEG would turn the transparent pixels black
+            Bitmap.CompressFormat format = bitmap.hasAlpha() ? PNG : JPEG;
+            thumbnailFile = new File(thumbnailsDir, cacheFileName + getExtension(format));
+            writeThumbnail(bitmap, format, thumbnailFile);
+        } finally {
+            bitmap.recycle();
+        }
+
+        long decodeTimeMs = SystemClock.elapsedRealtime() - startTime;
+        long bytesSaved = originalBytes - thumbnailBytes;
+        mThumbnailCount.incrementAndGet();
+        mTotalDecodeTimeMs.addAndGet(decodeTimeMs);
+        mTotalBytesSaved.addAndGet(bytesSaved);
+        AppLog.d(T.EDITOR, String.format(Locale.US, "Generated %dpx thumbnail in %d ms, saving %d bytes per decode",
+                mTargetSize, decodeTimeMs, bytesSaved));
+
+        String thumbnailUrl = Uri.fromFile(thumbnailFile).toString();
+        OnThumbnailGeneratedListener listener = mOnThumbnailGeneratedListener;
+        if (listener != null) {
+            listener.onThumbnailGenerated(sourceUrl, thumbnailUrl, decodeTimeMs, bytesSaved);
+        }
+        return thumbnailUrl;
+    }
+
+    /**
+     * Writes the thumbnail to a temporary file first, so that a thumbnail that couldn't be written in full is never
+     * found in the cache.
+     */
+    private static void writeThumbnail(Bitmap bitmap, Bitmap.CompressFormat format, File thumbnailFile)
+            throws IOException {
+        File tempFile = new File(thumbnailFile.getPath() + ".tmp");
+        try {
+            boolean isCompressed;
+            try (OutputStream out = new FileOutputStream(tempFile)) {
+                isCompressed = bitmap.compress(format, THUMBNAIL_QUALITY, out);
+            }
+            if (!isCompressed) {
+                throw new IOException("Unable to compress the thumbnail");
+            }
+            if (!tempFile.renameTo(thumbnailFile)) {
+                throw new IOException("Unable to rename the thumbnail to " + thumbnailFile.getName());
+            }
+        } finally {
+            if (tempFile.exists() && !tempFile.delete()) {
+                AppLog.w(T.EDITOR, "Unable to delete " + tempFile.getName());
+            }
+        }
+    }
+
+    private int getExifOrientation(Uri sourceUri) {
+        try (InputStream in = openInputStream(sourceUri)) {
+            return new ExifInterface(in).getAttributeInt(ExifInterface.TAG_ORIENTATION,
+                    ExifInterface.ORIENTATION_NORMAL);
+        } catch (IOException e) {
+            // Not every image format has EXIF data
+            return ExifInterface.ORIENTATION_NORMAL;
+        }
+    }
+
+    /**
+     * Returns the bitmap rotated and flipped as the EXIF orientation says, recycling the original one if it's not
+     * returned.
+     */
+    static Bitmap rotate(Bitmap bitmap, int exifOrientation) {
+        Matrix matrix = new Matrix();
+        switch (exifOrientation) {
+            case ExifInterface.ORIENTATION_FLIP_HORIZONTAL:
+                matrix.setScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_180:
+                matrix.setRotate(180);
+                break;
+            case ExifInterface.ORIENTATION_FLIP_VERTICAL:
+                matrix.setScale(1, -1);
+                break;
+            case ExifInterface.ORIENTATION_TRANSPOSE:
+                matrix.setRotate(90);
+                matrix.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_90:
+                matrix.setRotate(90);
+                break;
+            case ExifInterface.ORIENTATION_TRANSVERSE:
+                matrix.setRotate(-90);
+                matrix.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_270:
+                matrix.setRotate(-90);
+                break;
+            default:
+                return bitmap;
+        }
+        Bitmap rotated = Bitmap.createBitmap(bitmap, 0, 0, bitmap.getWidth(), bitmap.getHeight(), matrix, true);
+        if (rotated != bitmap) {
+            bitmap.recycle();
+        }
+        return rotated;
+    }
+
+    /**
+     * Returns the largest power of two sample size that keeps the shortest side at or above the target size.
+     */
+    private int getSampleSize(int width, int height) {
+        int shortestSide = Math.min(width, height);
+        int sampleSize = 1;
+        while (shortestSide / (sampleSize * 2) >= mTargetSize) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    private @Nullable Uri getLocalUri(Media media) {
+        if (TextUtils.isEmpty(media.getUrl()) || !"image".equals(media.getType())) {
+            return null;
+        }
+        Uri uri = Uri.parse(media.getUrl());
+        String scheme = uri.getScheme();
+        if (scheme == null) {
+            return Uri.fromFile(new File(media.getUrl()));
+        }
+        if ("file".equals(scheme) || "content".equals(scheme)) {
+            return uri;
+        }
+        return null;
+    }
+
+    private InputStream openInputStream(Uri uri) throws IOException {
+        if ("file".equals(uri.getScheme())) {
+            return new FileInputStream(uri.getPath());
+        }
+        InputStream in = mContext.getContentResolver().openInputStream(uri);
+        if (in == null) {
+            throw new IOException("Unable to open " + uri);
+        }
+        return in;
+    }
+
+    private File getThumbnailsDir() {
+        File dir = new File(mContext.getCacheDir(), THUMBNAILS_DIR);
+        if (!dir.exists() && !dir.mkdirs()) {
+            AppLog.w(T.EDITOR, "Unable to create the thumbnails dir");
+        }
+        return dir;
+    }
+
+    private static String getCacheFileName(String cacheKey) {
+        String versionedKey = THUMBNAILS_VERSION + ":" + cacheKey;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            byte[] hash = digest.digest(versionedKey.getBytes(StandardCharsets.UTF_8));
+            return String.format("%032x", new BigInteger(1, hash));
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(versionedKey.hashCode());
+        }
+    }
+
+    private static String getExtension(Bitmap.CompressFormat format) {
+        return format == PNG ? ".png" : ".jpg";
+    }
+}
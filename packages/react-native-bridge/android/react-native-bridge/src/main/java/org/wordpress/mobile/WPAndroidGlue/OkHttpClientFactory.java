@@ -0,0 +1,59 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+/**
+ * Builds the HTTP client used by the editor's image pipeline. Fresco keeps the images it loads in its own disk cache,
+ * so the client doesn't have an HTTP cache, which would store the same responses a second time.
+ */
+class OkHttpClientFactory {
+    private static final int MAX_REQUESTS = 64;
+    // Most requests (i.e. images of a post) go to the same host, and are multiplexed when using HTTP/2
+    private static final int MAX_REQUESTS_PER_HOST = 16;
+    private static final int MAX_IDLE_CONNECTIONS = 8;
+    private static final long KEEP_ALIVE_DURATION_MINUTES = 5;
+    private static final long CONNECT_TIMEOUT_SECONDS = 15;
+    private static final long READ_TIMEOUT_SECONDS = 30;
+
+    private OkHttpClientFactory() {
+    }
+
+    /**
+     * Builds the default client, with a dispatcher and connection pool tuned for loading many images from the same
+     * host, and the given metrics listener.
+     */
+    static OkHttpClient createDefaultClient(OkHttpHeaderInterceptor headerInterceptor,
+                                            OkHttpRequestMetrics requestMetrics) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_DURATION_MINUTES, TimeUnit.MINUTES))
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .eventListenerFactory(requestMetrics)
+                .addInterceptor(headerInterceptor)
+                .build();
+    }
+
+    /**
+     * Derives the editor's client from the one provided by the host. The derived client shares the host's
+     * connection pool, dispatcher and event listener, adds the auth headers interceptor, and doesn't use the host's
+     * HTTP cache.
+     */
+    static OkHttpClient createFromHostClient(OkHttpClient hostClient, OkHttpHeaderInterceptor headerInterceptor) {
+        return hostClient.newBuilder()
+                .cache(null)
+                .addInterceptor(headerInterceptor)
+                .build();
+    }
+}
@@ -1,34 +1,135 @@
 package org.wordpress.mobile.WPAndroidGlue;
 
+import android.os.SystemClock;
+
 import org.wordpress.mobile.WPAndroidGlue.WPAndroidGlueCode.OnAuthHeaderRequestedListener;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
 import okhttp3.Request;
 import okhttp3.Response;
 
 public class OkHttpHeaderInterceptor implements Interceptor {
+    private static final long DEFAULT_AUTH_HEADERS_TTL_MS = TimeUnit.MINUTES.toMillis(5);
+    private static final int MAX_CACHED_AUTH_HEADERS = 256;
+
     private OnAuthHeaderRequestedListener mOnAuthHeaderRequestedListener;
 
+    /**
+     * Auth headers resolved by the listener, keyed by URL, or by scheme, host and port when the listener says they're
+     * the same for the whole host, so that the many requests made to the same site (i.e. the images of a post) don't
+     * each need a lookup.
+     */
+    private final Map<String, CachedHeaders> mAuthHeadersCache = new ConcurrentHashMap<>();
+    private volatile long mAuthHeadersTtlMs = DEFAULT_AUTH_HEADERS_TTL_MS;
+
+    private final AtomicLong mListenerCalls = new AtomicLong();
+    private final AtomicLong mCacheHits = new AtomicLong();
+
+    private static class CachedHeaders {
+        final Headers mHeaders;
+        final long mExpiresAt;
+
+        CachedHeaders(Headers headers, long expiresAt) {
+            mHeaders = headers;
+            mExpiresAt = expiresAt;
+        }
+    }
+
     void setOnAuthHeaderRequestedListener(OnAuthHeaderRequestedListener onAuthHeaderRequestedListener) {
         mOnAuthHeaderRequestedListener = onAuthHeaderRequestedListener;
+        invalidateAuthHeaders();
+    }
+
+    /**
+     * Sets how long the headers returned by the listener are reused for requests to the same URL, or host, see
+     * {@link OnAuthHeaderRequestedListener#areAuthHeadersPerHost()}.
+     */
+    public void setAuthHeadersTtl(long ttl, TimeUnit unit) {
+        mAuthHeadersTtlMs = unit.toMillis(ttl);
+    }
+
+    /**
+     * Clears the cached headers, i.e. when the user logs out or an auth token changes.
+     */
+    public void invalidateAuthHeaders() {
+        mAuthHeadersCache.clear();
+    }
+
+    /**
+     * Clears the cached headers of the given host.
+     */
+    public void invalidateAuthHeaders(String host) {
+        String hostPart = "://" + host + ":";
+        mAuthHeadersCache.keySet().removeIf(key -> key.contains(hostPart));
+    }
+
+    /**
+     * @return how many times the listener was asked for auth headers
+     */
+    public long getListenerCalls() {
+        return mListenerCalls.get();
+    }
+
+    /**
+     * @return how many requests used cached auth headers instead of asking the listener
+     */
+    public long getCacheHits() {
+        return mCacheHits.get();
     }
 
     @Override
     public Response intercept(Chain chain) throws IOException {
-        Request.Builder builder = chain.request().newBuilder();
-
-        Map<String, String> authHeaders = mOnAuthHeaderRequestedListener != null
-                ? mOnAuthHeaderRequestedListener.onAuthHeaderRequested(chain.request().url().toString()) : null;
+        Request request = chain.request();
+        Headers authHeaders = getAuthHeaders(request.url());
+        if (authHeaders.size() == 0) {
+            return chain.proceed(request);
+        }
 
-        if (authHeaders != null) {
-            for (Map.Entry<String, String> entry : authHeaders.entrySet()) {
-                builder.addHeader(entry.getKey(), entry.getValue());
-            }
+        Request.Builder builder = request.newBuilder();
+        for (int i = 0; i < authHeaders.size(); i++) {
+            builder.addHeader(authHeaders.name(i), authHeaders.value(i));
         }
 
         return chain.proceed(builder.build());
     }
+
+    Headers getAuthHeaders(HttpUrl url) {
+        OnAuthHeaderRequestedListener listener = mOnAuthHeaderRequestedListener;
+        if (listener == null) {
+            return Headers.of();
+        }
+
+        // Starts with the scheme, host and port either way, see invalidateAuthHeaders(host)
+        String cacheKey = url.scheme() + "://" + url.host() + ":" + url.port();
+        if (!listener.areAuthHeadersPerHost()) {
+            String query = url.encodedQuery();
+            cacheKey += url.encodedPath() + (query != null ? "?" + query : "");
+        }
+        long now = SystemClock.elapsedRealtime();
+        CachedHeaders cachedHeaders = mAuthHeadersCache.get(cacheKey);
+        if (cachedHeaders != null && cachedHeaders.mExpiresAt > now) {
+            mCacheHits.incrementAndGet();
+            return cachedHeaders.mHeaders;
+        }
+
+        mListenerCalls.incrementAndGet();
+        Map<String, String> authHeadersMap = listener.onAuthHeaderRequested(url.toString());
+        Headers authHeaders = authHeadersMap != null ? Headers.of(authHeadersMap) : Headers.of();
+        if (mAuthHeadersCache.size() >= MAX_CACHED_AUTH_HEADERS) {
+            mAuthHeadersCache.values().removeIf(headers -> headers.mExpiresAt <= now);
+            if (mAuthHeadersCache.size() >= MAX_CACHED_AUTH_HEADERS) {
+                mAuthHeadersCache.clear();
+            }
+        }
+        mAuthHeadersCache.put(cacheKey, new CachedHeaders(authHeaders, now + mAuthHeadersTtlMs));
+        return authHeaders;
+    }
 }
@@ -0,0 +1,124 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import android.os.SystemClock;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+/**
+ * Collects per-request timings of the editor's HTTP client. A new listener is created for each call, and its
+ * timings are added to the totals exposed by this class once the call ends.
+ */
+public class OkHttpRequestMetrics implements EventListener.Factory {
+    private final AtomicLong mCalls = new AtomicLong();
+    private final AtomicLong mFailedCalls = new AtomicLong();
+    private final AtomicLong mNewConnections = new AtomicLong();
+    private final AtomicLong mHttp2Connections = new AtomicLong();
+    private final AtomicLong mTotalCallTimeMs = new AtomicLong();
+    private final AtomicLong mTotalTimeToFirstByteMs = new AtomicLong();
+    private final AtomicLong mTotalConnectTimeMs = new AtomicLong();
+
+    @Override
+    public EventListener create(Call call) {
+        return new CallTimingListener();
+    }
+
+    public long getCalls() {
+        return mCalls.get();
+    }
+
+    public long getFailedCalls() {
+        return mFailedCalls.get();
+    }
+
+    /**
+     * @return how many calls had to open a new connection, instead of reusing one from the pool
+     */
+    public long getNewConnections() {
+        return mNewConnections.get();
+    }
+
+    public long getHttp2Connections() {
+        return mHttp2Connections.get();
+    }
+
+    public long getAverageCallTimeMs() {
+        return average(mTotalCallTimeMs.get(), mCalls.get());
+    }
+
+    public long getAverageTimeToFirstByteMs() {
+        return average(mTotalTimeToFirstByteMs.get(), mCalls.get());
+    }
+
+    public long getAverageConnectTimeMs() {
+        return average(mTotalConnectTimeMs.get(), mNewConnections.get());
+    }
+
+    private static long average(long total, long count) {
+        return count == 0 ? 0 : total / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US,
+                "%d calls (%d failed), %d new connections (%d HTTP/2), average call %d ms, "
+                + "average time to first byte %d ms, average connect %d ms", getCalls(), getFailedCalls(),
+                getNewConnections(), getHttp2Connections(), getAverageCallTimeMs(), getAverageTimeToFirstByteMs(),
+                getAverageConnectTimeMs());
+    }
+
+    private class CallTimingListener extends EventListener {
+        private long mCallStart;
+        private long mConnectStart;
+        private long mTimeToFirstByte;
+
+        @Override
+        public void callStart(Call call) {
+            mCallStart = SystemClock.elapsedRealtime();
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            mConnectStart = SystemClock.elapsedRealtime();
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+            mNewConnections.incrementAndGet();
+            mTotalConnectTimeMs.addAndGet(SystemClock.elapsedRealtime() - mConnectStart);
+            if (protocol == Protocol.HTTP_2) {
+                mHttp2Connections.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void responseHeadersEnd(Call call, Response response) {
+            mTimeToFirstByte = SystemClock.elapsedRealtime() - mCallStart;
+        }
+
+        @Override
+        public void callEnd(Call call) {
+            onCallFinished();
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            mFailedCalls.incrementAndGet();
+            onCallFinished();
+        }
+
+        private void onCallFinished() {
+            mCalls.incrementAndGet();
+            mTotalCallTimeMs.addAndGet(SystemClock.elapsedRealtime() - mCallStart);
+            mTotalTimeToFirstByteMs.addAndGet(mTimeToFirstByte);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import android.os.SystemClock;
+import android.text.TextUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the media added before the editor is mounted, in the order it was added, so that it can be appended to the
+ * editor in a single batch once it's mounted. Also counts how long the media waited for the editor to be mounted.
+ */
+public class PendingMediaBuffer {
+    private final ConcurrentLinkedQueue<PendingMedia> mPendingMedia = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong mDrainedMedia = new AtomicLong();
+    private final AtomicLong mTotalWaitTimeMs = new AtomicLong();
+    private final AtomicLong mMaxWaitTimeMs = new AtomicLong();
+
+    void add(Media media) {
+        mPendingMedia.add(new PendingMedia(media, SystemClock.elapsedRealtime()));
+    }
+
+    boolean isEmpty() {
+        return mPendingMedia.isEmpty();
+    }
+
+    /**
+     * Removes all the pending media that can be appended to the editor, i.e. having a URL and an id.
+     *
+     * @return the media in the order it was added. If the same media was added more than once, it keeps the position
+     * it was first added at, with the values it was last added with.
+     */
+    List<Media> drain() {
+        long now = SystemClock.elapsedRealtime();
+        Map<Integer, Media> mediaById = new LinkedHashMap<>();
+        PendingMedia pendingMedia;
+        while ((pendingMedia = mPendingMedia.poll()) != null) {
+            Media media = pendingMedia.mMedia;
+            if (TextUtils.isEmpty(media.getUrl()) || media.getId() <= 0) {
+                continue;
+            }
+            mediaById.put(media.getId(), media);
+            onDrained(now - pendingMedia.mEnqueuedAt);
+        }
+        return new ArrayList<>(mediaById.values());
+    }
+
+    public long getDrainedMedia() {
+        return mDrainedMedia.get();
+    }
+
+    /**
+     * @return the average time media waited for the editor to be mounted, in milliseconds
+     */
+    public long getAverageWaitTimeMs() {
+        long drainedMedia = mDrainedMedia.get();
+        return drainedMedia == 0 ? 0 : mTotalWaitTimeMs.get() / drainedMedia;
+    }
+
+    public long getMaxWaitTimeMs() {
+        return mMaxWaitTimeMs.get();
+    }
+
+    private void onDrained(long waitTimeMs) {
+        mDrainedMedia.incrementAndGet();
+        mTotalWaitTimeMs.addAndGet(waitTimeMs);
+        mMaxWaitTimeMs.accumulateAndGet(waitTimeMs, Math::max);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%d media waited for the editor to be mounted (average %d ms, max %d ms)",
+                getDrainedMedia(), getAverageWaitTimeMs(), getMaxWaitTimeMs());
+    }
+
+    private static class PendingMedia {
+        private final Media mMedia;
+        private final long mEnqueuedAt;
+
+        PendingMedia(Media media, long enqueuedAt) {
+            mMedia = media;
+            mEnqueuedAt = enqueuedAt;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads large posts progressively: the editor starts with the first screen of top-level blocks only, so it renders
+ * them without parsing the whole post, and JS appends the rest of the blocks right after. The rest of the content is
+ * handed off to JS by handle, see {@link InitialContentHandoff}.
+ * <p>
+ * Also measures how long the editor takes to render its first blocks, and to have the whole post, whether the post
+ * was loaded progressively or not.
+ */
+public class ProgressiveContentLoader {
+    public static final int DEFAULT_FIRST_SCREEN_BLOCKS = 20;
+
+    private volatile boolean mIsEnabled;
+    private volatile int mFirstScreenBlocks = DEFAULT_FIRST_SCREEN_BLOCKS;
+
+    // Guarded by this
+    private long mStartTime;
+    private boolean mIsWaitingForFirstBlocks;
+    private boolean mIsLoading;
+
+    private final AtomicLong mLoads = new AtomicLong();
+    private final AtomicLong mProgressiveLoads = new AtomicLong();
+    private final AtomicLong mLastTimeToFirstBlocksMs = new AtomicLong();
+    private final AtomicLong mLastTimeToFullContentMs = new AtomicLong();
+
+    /**
+     * Enables loading large posts progressively. Takes effect the next time the editor is started with content.
+     */
+    public void setEnabled(boolean isEnabled) {
+        mIsEnabled = isEnabled;
+    }
+
+    /**
+     * @param firstScreenBlocks the number of top-level blocks the editor starts with, when the post has more
+     */
+    public void setFirstScreenBlocks(int firstScreenBlocks) {
+        mFirstScreenBlocks = firstScreenBlocks;
+    }
+
+    /**
+     * Called when the editor is started with the given content.
+     *
+     * @return the offset where the content the editor starts with ends, i.e. the length of the content when it's not
+     * loaded progressively
+     */
+    public int start(@NonNull String content) {
+        int end = mIsEnabled ? findFirstScreenEnd(content, mFirstScreenBlocks) : content.length();
+        synchronized (this) {
+            mStartTime = SystemClock.elapsedRealtime();
+            mIsWaitingForFirstBlocks = true;
+            mIsLoading = end < content.length();
+        }
+        mLoads.incrementAndGet();
+        if (end < content.length()) {
+            mProgressiveLoads.incrementAndGet();
+        }
+        return end;
+    }
+
+    /**
+     * Called when the editor is mounted, i.e. rendered its first blocks.
+     */
+    public synchronized void onFirstBlocksRendered() {
+        if (!mIsWaitingForFirstBlocks) {
+            return;
+        }
+        mIsWaitingForFirstBlocks = false;
+        mLastTimeToFirstBlocksMs.set(SystemClock.elapsedRealtime() - mStartTime);
+        if (!mIsLoading) {
+            mLastTimeToFullContentMs.set(mLastTimeToFirstBlocksMs.get());
+        }
+    }
+
+    /**
+     * Called when JS appended the rest of the blocks, or replaced the content before.
+     */
+    public synchronized void onLoaded() {
+        if (!mIsLoading) {
+            return;
+        }
+        mIsLoading = false;
+        mLastTimeToFullContentMs.set(SystemClock.elapsedRealtime() - mStartTime);
+    }
+
+    /**
+     * @return whether the editor only has the first blocks of the post, so the content it sends is partial
+     */
+    public synchronized boolean isLoading() {
+        return mIsLoading;
+    }
+
+    /**
+     * @return the offset after the given number of top-level blocks, freeform HTML included, or the length of the
+     * content when it doesn't have more blocks
+     */
+    static int findFirstScreenEnd(CharSequence content, int blocks) {
+        if (blocks <= 0) {
+            return content.length();
+        }
+        FirstScreenFinder finder = new FirstScreenFinder(content, blocks);
+        BlockGrammarParser.parse(content, finder);
+        return finder.mHasMoreBlocks ? finder.mFirstScreenEnd : content.length();
+    }
+
+    public long getLoads() {
+        return mLoads.get();
+    }
+
+    public long getProgressiveLoads() {
+        return mProgressiveLoads.get();
+    }
+
+    /**
+     * @return the time from starting the editor to it rendering its first blocks, the last time it was started
+     */
+    public long getLastTimeToFirstBlocksMs() {
+        return mLastTimeToFirstBlocksMs.get();
+    }
+
+    /**
+     * @return the time from starting the editor to it having all the blocks of the post, the last time it was started
+     */
+    public long getLastTimeToFullContentMs() {
+        return mLastTimeToFullContentMs.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%d loads (%d progressive), last time to first blocks %d ms, to full content "
+                                        + "%d ms", getLoads(), getProgressiveLoads(), getLastTimeToFirstBlocksMs(),
+                getLastTimeToFullContentMs());
+    }
+
+    private static class FirstScreenFinder implements BlockGrammarParser.Handler {
+        private final CharSequence mContent;
+        private final int mBlocks;
+        private int mCount;
+        private int mFirstScreenEnd;
+        private boolean mHasMoreBlocks;
+
+        FirstScreenFinder(CharSequence content, int blocks) {
+            mContent = content;
+            mBlocks = blocks;
+        }
+
+        @Override
+        public void onBlockStart(int depth, int start, int end, int nameStart, int nameEnd, int attrsStart,
+                                 int attrsEnd, boolean isVoid) {
+            if (depth == 0 && isVoid) {
+                onTopLevelBlockEnd(end);
+            }
+        }
+
+        @Override
+        public void onBlockEnd(int depth, int start, int end, int nameStart, int nameEnd) {
+            if (depth == 0) {
+                onTopLevelBlockEnd(end);
+            }
+        }
+
+        @Override
+        public void onHtml(int depth, int start, int end) {
+            if (depth == 0 && !isWhitespace(start, end)) {
+                onTopLevelBlockEnd(end);
+            }
+        }
+
+        private void onTopLevelBlockEnd(int end) {
+            mCount++;
+            if (mCount == mBlocks) {
+                mFirstScreenEnd = end;
+            } else if (mCount > mBlocks) {
+                mHasMoreBlocks = true;
+            }
+        }
+
+        private boolean isWhitespace(int start, int end) {
+            for (int i = start; i < end; i++) {
+                if (!Character.isWhitespace(mContent.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
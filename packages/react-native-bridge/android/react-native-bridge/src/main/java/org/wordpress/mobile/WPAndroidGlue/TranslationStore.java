@@ -0,0 +1,357 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import android.content.Context;
+import android.os.Bundle;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The translations of the host, looked up by JS one key at a time instead of being sent in the initial props.
+ * <p>
+ * The translations are written once per locale to an index in the app's cache dir, sorted by the hash of their key,
+ * and the index is memory-mapped, so that a lookup is a binary search that only reads the pages it touches. The index
+ * is named after a fingerprint of the translations, so it's written again when they change, e.g. when the app is
+ * updated. It's opened, or written, in the background, and lookups wait for it.
+ * <p>
+ * A key is the original string, prefixed with its context and {@code \u0004} when it has one, and a translation is
+ * the array of its plural forms, like in the locale data of {@code @wordpress/i18n}.
+ */
+public class TranslationStore {
+    private static final String TRANSLATIONS_DIR = "gutenberg-translations";
+    private static final String INDEX_EXTENSION = ".index";
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+
+    private static final int INDEX_MAGIC = 0x47425431; // "GBT1"
+    // The magic and the number of entries, then the hash of the key and the offset of each entry
+    private static final int HEADER_SIZE = 8;
+    private static final int SLOT_SIZE = 8;
+    // The hex digits of a key hash
+    private static final int KEY_HASH_LENGTH = 8;
+
+    private final File mDir;
+    private final String mLocale;
+    private final Future<ByteBuffer> mIndex;
+
+    private final AtomicLong mHits = new AtomicLong();
+    private final AtomicLong mMisses = new AtomicLong();
+    private volatile long mOpenTimeMs;
+    private volatile boolean mWasWritten;
+    private volatile @Nullable String mKeyHashes;
+
+    /**
+     * @param context any context, only used to find the app's cache dir
+     * @param locale the locale of the translations, which names their index
+     * @param translations the translations, as String arrays, or Strings when they have no plural forms
+     */
+    public TranslationStore(Context context, String locale, Bundle translations) {
+        this(new File(context.getCacheDir(), TRANSLATIONS_DIR), locale, translations);
+    }
+
+    @VisibleForTesting
+    TranslationStore(File dir, String locale, Bundle translations) {
+        mDir = dir;
+        mLocale = locale.replaceAll("[^A-Za-z0-9_-]", "_");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        mIndex = executor.submit(() -> open(translations));
+        executor.shutdown();
+    }
+
+    /**
+     * Looks the translation of the key up, waiting for the index to be opened the first time.
+     *
+     * @return the plural forms of the translation, or null when there is none
+     */
+    public @Nullable String[] getTranslation(@NonNull String key) {
+        ByteBuffer index = waitForIndex();
+        if (index == null) {
+            return null;
+        }
+
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int hash = key.hashCode();
+        int count = index.getInt(4);
+        // The first slot with the hash, if any
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (index.getInt(HEADER_SIZE + mid * SLOT_SIZE) < hash) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int slot = low; slot < count && index.getInt(HEADER_SIZE + slot * SLOT_SIZE) == hash; slot++) {
+            int offset = index.getInt(HEADER_SIZE + slot * SLOT_SIZE + 4);
+            if (Arrays.equals(readBytes(index, offset), keyBytes)) {
+                mHits.incrementAndGet();
+                return readTranslation(index, offset + 4 + keyBytes.length);
+            }
+        }
+        mMisses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Lists the hashes of the keys that have a translation, see {@link String#hashCode()}, in ascending order, as 8 hex
+     * digits each. JS searches them before looking a key up, so that the keys without a translation, which are most of
+     * them, don't take a synchronous call. Waits for the index to be opened the first time.
+     *
+     * @return the hashes, or null when the index couldn't be opened
+     */
+    public @Nullable String getKeyHashes() {
+        String keyHashes = mKeyHashes;
+        if (keyHashes != null) {
+            return keyHashes;
+        }
+        ByteBuffer index = waitForIndex();
+        if (index == null) {
+            return null;
+        }
+
+        int count = index.getInt(4);
+        StringBuilder builder = new StringBuilder(count * KEY_HASH_LENGTH);
+        for (int slot = 0; slot < count; slot++) {
+            String hash = Integer.toHexString(index.getInt(HEADER_SIZE + slot * SLOT_SIZE));
+            for (int i = hash.length(); i < KEY_HASH_LENGTH; i++) {
+                builder.append('0');
+            }
+            builder.append(hash);
+        }
+        keyHashes = builder.toString();
+        mKeyHashes = keyHashes;
+        return keyHashes;
+    }
+
+    private @Nullable ByteBuffer waitForIndex() {
+        try {
+            return mIndex.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            AppLog.e(T.EDITOR, "Error opening the translations: " + e.getCause());
+        }
+        return null;
+    }
+
+    private ByteBuffer open(Bundle translations) throws IOException {
+        long startTime = SystemClock.elapsedRealtime();
+        List<Entry> entries = new ArrayList<>(translations.size());
+        long fingerprint = 0;
+        for (String key : translations.keySet()) {
+            String[] translation = toTranslation(translations.get(key));
+            if (translation != null) {
+                Entry entry = new Entry(key, translation);
+                entries.add(entry);
+                // Summed, since the order of the keys of a Bundle isn't defined
+                fingerprint += entry.fingerprint();
+            }
+        }
+
+        File indexFile = new File(mDir, mLocale + "." + Long.toHexString(fingerprint) + INDEX_EXTENSION);
+        ByteBuffer index = indexFile.exists() ? map(indexFile) : null;
+        if (index == null) {
+            write(indexFile, entries);
+            index = map(indexFile);
+            mWasWritten = true;
+            if (index == null) {
+                throw new IOException("Invalid translations index " + indexFile);
+            }
+        }
+        mOpenTimeMs = SystemClock.elapsedRealtime() - startTime;
+        return index;
+    }
+
+    private void write(File indexFile, List<Entry> entries) throws IOException {
+        if (!mDir.exists() && !mDir.mkdirs()) {
+            throw new IOException("Unable to create " + mDir);
+        }
+        // The previous indexes of the locale are outdated
+        File[] files = mDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.getName().startsWith(mLocale + ".") && !file.delete()) {
+                    AppLog.w(T.EDITOR, "Unable to delete " + file);
+                }
+            }
+        }
+
+        entries.sort((entry, other) -> Integer.compare(entry.mHash, other.mHash));
+        byte[][] encodedEntries = new byte[entries.size()][];
+        for (int i = 0; i < encodedEntries.length; i++) {
+            encodedEntries[i] = entries.get(i).encode();
+        }
+
+        File temporaryFile = new File(indexFile.getPath() + TEMPORARY_EXTENSION);
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+            output.writeInt(INDEX_MAGIC);
+            output.writeInt(entries.size());
+            int offset = HEADER_SIZE + entries.size() * SLOT_SIZE;
+            for (int i = 0; i < encodedEntries.length; i++) {
+                output.writeInt(entries.get(i).mHash);
+                output.writeInt(offset);
+                offset += encodedEntries[i].length;
+            }
+            for (byte[] encodedEntry : encodedEntries) {
+                output.write(encodedEntry);
+            }
+        }
+        if (!temporaryFile.renameTo(indexFile)) {
+            throw new IOException("Unable to replace " + indexFile);
+        }
+    }
+
+    /**
+     * @return the index, or null when it isn't one
+     */
+    private static @Nullable ByteBuffer map(File indexFile) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(indexFile, "r");
+             FileChannel channel = file.getChannel()) {
+            if (channel.size() < HEADER_SIZE) {
+                return null;
+            }
+            ByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return index.getInt(0) == INDEX_MAGIC ? index : null;
+        }
+    }
+
+    private static byte[] readBytes(ByteBuffer index, int offset) {
+        byte[] bytes = new byte[index.getInt(offset)];
+        // A duplicate, since the position of the index is shared by the threads reading it
+        ByteBuffer buffer = index.duplicate();
+        buffer.position(offset + 4);
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static String[] readTranslation(ByteBuffer index, int offset) {
+        String[] translation = new String[index.getInt(offset)];
+        offset += 4;
+        for (int i = 0; i < translation.length; i++) {
+            byte[] form = readBytes(index, offset);
+            translation[i] = new String(form, StandardCharsets.UTF_8);
+            offset += 4 + form.length;
+        }
+        return translation;
+    }
+
+    private static @Nullable String[] toTranslation(@Nullable Object value) {
+        if (value instanceof String[]) {
+            return (String[]) value;
+        } else if (value instanceof Collection) {
+            Collection<?> forms = (Collection<?>) value;
+            String[] translation = new String[forms.size()];
+            int i = 0;
+            for (Object form : forms) {
+                translation[i++] = String.valueOf(form);
+            }
+            return translation;
+        } else if (value instanceof String) {
+            return new String[]{(String) value};
+        }
+        return null;
+    }
+
+    /**
+     * @return how many translations were found
+     */
+    public long getHits() {
+        return mHits.get();
+    }
+
+    /**
+     * @return how many keys looked up had no translation, not counting the ones JS ruled out with the key hashes
+     */
+    public long getMisses() {
+        return mMisses.get();
+    }
+
+    /**
+     * @return the time it took to open the index, and write it when it had to be
+     */
+    public long getOpenTimeMs() {
+        return mOpenTimeMs;
+    }
+
+    /**
+     * @return whether the index was written, rather than found on disk
+     */
+    public boolean wasWritten() {
+        return mWasWritten;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%d translations found, %d missing, index %s in %d ms", getHits(),
+                getMisses(), wasWritten() ? "written" : "opened", getOpenTimeMs());
+    }
+
+    private static class Entry {
+        private final String mKey;
+        private final String[] mTranslation;
+        private final int mHash;
+
+        Entry(String key, String[] translation) {
+            mKey = key;
+            mTranslation = translation;
+            mHash = key.hashCode();
+        }
+
+        long fingerprint() {
+            long fingerprint = ContentFingerprint.of(mKey);
+            for (String form : mTranslation) {
+                fingerprint = fingerprint * 31 + (form == null ? 0 : ContentFingerprint.of(form));
+            }
+            return fingerprint;
+        }
+
+        /**
+         * @return the length and UTF-8 bytes of the key, then the number of plural forms and the length and UTF-8
+         * bytes of each
+         */
+        byte[] encode() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(bytes);
+            writeString(output, mKey);
+            output.writeInt(mTranslation.length);
+            for (String form : mTranslation) {
+                writeString(output, form == null ? "" : form);
+            }
+            return bytes.toByteArray();
+        }
+
+        private static void writeString(DataOutputStream output, String string) throws IOException {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+}
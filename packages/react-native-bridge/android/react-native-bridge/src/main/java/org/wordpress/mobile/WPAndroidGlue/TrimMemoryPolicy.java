@@ -0,0 +1,41 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import android.content.ComponentCallbacks2;
+
+/**
+ * Decides how much of the editor is released for each level reported by
+ * {@link ComponentCallbacks2#onTrimMemory(int)}. The image caches are always trimmed according to the
+ * {@link ImagePipelineProfile}. From {@link Builder#setReleaseReactInstanceLevel(int)}, and only while the editor is
+ * paused, the content is saved and the React instance is destroyed, to be recreated with that content when the
+ * editor is resumed.
+ */
+public class TrimMemoryPolicy {
+    public static final int LEVEL_NEVER = Integer.MAX_VALUE;
+
+    private final int mReleaseReactInstanceLevel;
+
+    private TrimMemoryPolicy(Builder builder) {
+        mReleaseReactInstanceLevel = builder.mReleaseReactInstanceLevel;
+    }
+
+    boolean shouldReleaseReactInstance(int level) {
+        return level >= mReleaseReactInstanceLevel;
+    }
+
+    public static class Builder {
+        private int mReleaseReactInstanceLevel = ComponentCallbacks2.TRIM_MEMORY_MODERATE;
+
+        /**
+         * @param level the lowest level at which the React instance of a paused editor is released, or
+         *              {@link #LEVEL_NEVER}
+         */
+        public Builder setReleaseReactInstanceLevel(int level) {
+            mReleaseReactInstanceLevel = level;
+            return this;
+        }
+
+        public TrimMemoryPolicy build() {
+            return new TrimMemoryPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts what the editor released following the {@link TrimMemoryPolicy}, and how long it took to restore a released
+ * React instance.
+ */
+public class TrimMemoryStats {
+    private final AtomicLong mTrimRequests = new AtomicLong();
+    private final AtomicLong mReactInstanceReleases = new AtomicLong();
+    private final AtomicLong mReleasedBytes = new AtomicLong();
+    private final AtomicLong mRestores = new AtomicLong();
+    private final AtomicLong mTotalRestoreTimeMs = new AtomicLong();
+    private final AtomicLong mLastRestoreTimeMs = new AtomicLong();
+
+    public long getTrimRequests() {
+        return mTrimRequests.get();
+    }
+
+    public long getReactInstanceReleases() {
+        return mReactInstanceReleases.get();
+    }
+
+    /**
+     * @return an estimate of the Java and native heap released by destroying React instances, in bytes
+     */
+    public long getReleasedBytes() {
+        return mReleasedBytes.get();
+    }
+
+    public long getRestores() {
+        return mRestores.get();
+    }
+
+    /**
+     * @return the average time from resuming a released editor to the editor being mounted again, in milliseconds
+     */
+    public long getAverageRestoreTimeMs() {
+        long restores = mRestores.get();
+        return restores == 0 ? 0 : mTotalRestoreTimeMs.get() / restores;
+    }
+
+    public long getLastRestoreTimeMs() {
+        return mLastRestoreTimeMs.get();
+    }
+
+    void onTrimRequested() {
+        mTrimRequests.incrementAndGet();
+    }
+
+    void onReactInstanceReleased(long releasedBytes) {
+        mReactInstanceReleases.incrementAndGet();
+        mReleasedBytes.addAndGet(Math.max(0, releasedBytes));
+    }
+
+    void onRestored(long restoreTimeMs) {
+        mRestores.incrementAndGet();
+        mTotalRestoreTimeMs.addAndGet(restoreTimeMs);
+        mLastRestoreTimeMs.set(restoreTimeMs);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US,
+                "%d trim requests, %d React instance releases (%d KB released), %d restores "
+                + "(average %d ms, last %d ms)", getTrimRequests(), getReactInstanceReleases(),
+                getReleasedBytes() / 1024, getRestores(), getAverageRestoreTimeMs(), getLastRestoreTimeMs());
+    }
+}
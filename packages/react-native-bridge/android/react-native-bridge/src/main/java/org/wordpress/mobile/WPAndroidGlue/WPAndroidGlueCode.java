@@ -6,8 +6,10 @@ import android.content.Context;
 import android.content.MutableContextWrapper;
 import android.os.Build;
 import android.os.Bundle;
+import android.os.Debug;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.text.TextUtils;
 import android.view.View;
 import android.view.ViewGroup;
@@ -22,7 +24,6 @@ import com.BV.LinearGradient.LinearGradientPackage;
 import com.brentvatne.react.ReactVideoPackage;
 import com.dylanvann.fastimage.FastImageViewPackage;
 import com.facebook.hermes.reactexecutor.HermesExecutorFactory;
-import com.facebook.imagepipeline.backends.okhttp3.OkHttpImagePipelineConfigFactory;
 import com.facebook.imagepipeline.core.ImagePipelineConfig;
 import com.facebook.react.ReactInstanceManager;
 import com.facebook.react.ReactInstanceManagerBuilder;
@@ -55,6 +56,7 @@ import org.reactnative.maskedview.RNCMaskedViewPackage;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 import org.wordpress.mobile.ReactNativeAztec.ReactAztecPackage;
+import org.wordpress.mobile.ReactNativeGutenbergBridge.BridgeArchitecture;
 import org.wordpress.mobile.ReactNativeGutenbergBridge.BuildConfig;
 import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent;
 import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.LogExceptionCallback;
@@ -62,15 +64,14 @@ import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.
 import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.ReplaceUnsupportedBlockCallback;
 import org.wordpress.mobile.ReactNativeGutenbergBridge.RNMedia;
 import org.wordpress.mobile.ReactNativeGutenbergBridge.RNReactNativeGutenbergBridgePackage;
+import org.wordpress.mobile.WPAndroidGlue.EditorEventBus.Delivery;
 
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -78,6 +79,8 @@ import okhttp3.OkHttpClient;
 
 
 public class WPAndroidGlueCode {
+    private static final long RELEASED_MEMORY_MEASURE_DELAY_MS = 2000;
+
     private ReactRootView mReactRootView;
     private ReactInstanceManager mReactInstanceManager;
     private ReactContext mReactContext;
@@ -93,36 +96,38 @@ public class WPAndroidGlueCode {
 
     private OnMediaLibraryButtonListener mOnMediaLibraryButtonListener;
     private OnReattachMediaUploadQueryListener mOnReattachMediaUploadQueryListener;
-    private OnSetFeaturedImageListener mOnSetFeaturedImageListener;
-    private OnEditorMountListener mOnEditorMountListener;
-    private OnEditorAutosaveListener mOnEditorAutosaveListener;
-    private OnImageFullscreenPreviewListener mOnImageFullscreenPreviewListener;
     private OnMediaEditorListener mOnMediaEditorListener;
     private OnGutenbergDidRequestUnsupportedBlockFallbackListener mOnGutenbergDidRequestUnsupportedBlockFallbackListener;
     private OnGutenbergDidRequestEmbedFullscreenPreviewListener mOnGutenbergDidRequestEmbedFullscreenPreviewListener;
-    private OnGutenbergDidSendButtonPressedActionListener mOnGutenbergDidSendButtonPressedActionListener;
     private ReplaceUnsupportedBlockCallback mReplaceUnsupportedBlockCallback;
     private OnFocalPointPickerTooltipShownEventListener mOnFocalPointPickerTooltipShownListener;
-    private OnGutenbergDidRequestPreviewListener mOnGutenbergDidRequestPreviewListener;
     private OnBlockTypeImpressionsEventListener mOnBlockTypeImpressionsEventListener;
     private OnCustomerSupportOptionsListener mOnCustomerSupportOptionsListener;
-    private OnSendEventToHostListener mOnSendEventToHostListener;
-
-    private OnToggleUndoButtonListener mOnToggleUndoButtonListener;
+    private final EditorEventBus mEditorEventBus = new EditorEventBus();
+    private final EditorLogPipeline mEditorLogPipeline = new EditorLogPipeline();
+    private final JsExceptionReporter mJsExceptionReporter = new JsExceptionReporter();
+    private final ContentInfoCache mContentInfoCache = new ContentInfoCache();
+    private final InitialContentHandoff mInitialContentHandoff = new InitialContentHandoff();
+    private final ProgressiveContentLoader mProgressiveContentLoader = new ProgressiveContentLoader();
+    private @Nullable TranslationStore mTranslationStore;
+    private final List<EditorEventBus.Subscription<?>> mListenerSubscriptions = new ArrayList<>();
 
-    private OnToggleRedoButtonListener mOnToggleRedoButtonListener;
     private OnConnectionStatusEventListener mOnConnectionStatusEventListener;
     private OnBackHandlerEventListener mOnBackHandlerEventListener;
 
     private OnLogExceptionListener mOnLogExceptionListener;
     private boolean mIsEditorMounted;
+    private boolean mIsHtmlModeEnabled;
 
-    private String mContentHtml = "";
+    private final EditorContent mEditorContent = new EditorContent();
     private boolean mContentInitialized;
-    private HashMap<Integer, Media> mMediaToAddAfterMounting = new HashMap<>();
-    private String mTitle = "";
+    private final PendingMediaBuffer mMediaToAddAfterMounting = new PendingMediaBuffer();
     private boolean mTitleInitialized;
-    private boolean mContentChanged;
+    // The fingerprint and title of the post the host set or autosaved, which JS doesn't send again on autosave
+    private volatile long mHostPostContentFingerprint = ContentFingerprint.NONE;
+    private volatile @Nullable String mHostPostTitle;
+    private long mAutosavedContentFingerprint = ContentFingerprint.NONE;
+    private @Nullable String mAutosavedTitle;
     private ReadableMap mContentInfo;
     private boolean mShouldUpdateContent;
     private CountDownLatch mGetContentCountDownLatch;
@@ -130,9 +135,24 @@ public class WPAndroidGlueCode {
     private RequestExecutor mRequestExecutor;
     private ShowSuggestionsUtil mShowSuggestionsUtil;
     private @Nullable Bundle mEditorTheme = null;
+    private @Nullable Bundle mInitialEditorTheme = null;
+    private @Nullable EditorThemeCache mEditorThemeCache;
+    private @Nullable MediaThumbnailGenerator mMediaThumbnailGenerator;
+    private @Nullable EditorSnapshotStore mEditorSnapshotStore;
+    private ImagePipelineProfile mImagePipelineProfile = new ImagePipelineProfile.Builder().build();
+    private TrimMemoryPolicy mTrimMemoryPolicy = new TrimMemoryPolicy.Builder().build();
+    private final TrimMemoryStats mTrimMemoryStats = new TrimMemoryStats();
+    private Application mApplication;
+    private boolean mIsDebug;
+    private boolean mIsPaused;
+    private volatile boolean mIsReleasingReactInstance;
+    private volatile boolean mIsReactInstanceReleased;
+    private volatile long mRestoreStartTime;
 
     private static OkHttpHeaderInterceptor sAddCookiesInterceptor = new OkHttpHeaderInterceptor();
-    private static OkHttpClient sOkHttpClient = new OkHttpClient.Builder().addInterceptor(sAddCookiesInterceptor).build();
+    private static final OkHttpRequestMetrics sOkHttpRequestMetrics = new OkHttpRequestMetrics();
+    private static @Nullable OkHttpClient sOkHttpClient;
+    private @Nullable OkHttpClient mHostOkHttpClient;
     private boolean mIsDarkMode;
     private Consumer<Exception> mExceptionLogger;
     private Consumer<String> mBreadcrumbLogger;
@@ -155,7 +175,7 @@ public class WPAndroidGlueCode {
     }
 
     public boolean isContentChanged() {
-        return mContentChanged;
+        return mEditorContent.isChanged();
     }
 
     public interface OnMediaLibraryButtonListener {
@@ -196,6 +216,14 @@ public class WPAndroidGlueCode {
 
     public interface OnAuthHeaderRequestedListener {
         Map<String, String> onAuthHeaderRequested(String url);
+
+        /**
+         * Returns whether the headers returned for a URL apply to every URL with the same scheme, host and port, so
+         * that they're reused for them. Otherwise they're only reused for the same URL.
+         */
+        default boolean areAuthHeadersPerHost() {
+            return false;
+        }
     }
 
     public interface OnEditorAutosaveListener {
@@ -275,13 +303,12 @@ public class WPAndroidGlueCode {
         mRnReactNativeGutenbergBridgePackage = new RNReactNativeGutenbergBridgePackage(new GutenbergBridgeJS2Parent() {
             @Override
             public void responseHtml(String title, String html, boolean changed, ReadableMap contentInfo) {
-                mContentHtml = html;
-                mTitle = title;
-                // This code is called twice. When getTitle and getContent are called.
-                // Make sure mContentChanged has the correct value (true) if one of the call returned with changes.
-                mContentChanged = mContentChanged || changed;
+                mEditorContent.setFromEditor(title, html);
 
                 mContentInfo = contentInfo;
+                if (html != null) {
+                    onContentSynced(html);
+                }
 
                 // Gutenberg mobile sends us html response even without we asking for it so, check if the latch is there.
                 //  This is probably an indication of a bug on the RN side of things though.
@@ -289,6 +316,10 @@ public class WPAndroidGlueCode {
                 if (mGetContentCountDownLatch != null) {
                     mGetContentCountDownLatch.countDown();
                 }
+
+                if (mIsReleasingReactInstance) {
+                    new Handler(Looper.getMainLooper()).post(WPAndroidGlueCode.this::destroyReleasedReactInstance);
+                }
             }
 
             @Override
@@ -373,49 +404,127 @@ public class WPAndroidGlueCode {
 
             @Override
             public void setFeaturedImage(int mediaId) {
-                mOnSetFeaturedImageListener.onSetFeaturedImageButtonClicked(mediaId);
+                mEditorEventBus.post(new EditorEvents.FeaturedImageSet(mediaId));
             }
 
             @Override
             public void editorDidMount(ReadableArray unsupportedBlockNames) {
-                mOnEditorMountListener.onEditorDidMount(unsupportedBlockNames.toArrayList());
+                mEditorEventBus.post(new EditorEvents.EditorMounted(unsupportedBlockNames.toArrayList()));
                 mDeferredEventEmitter.setEmitter(mRnReactNativeGutenbergBridgePackage
                         .getRNReactNativeGutenbergBridgeModule());
                 mIsEditorMounted = true;
-                if (TextUtils.isEmpty(mTitle) && TextUtils.isEmpty(mContentHtml)) {
+                mProgressiveContentLoader.onFirstBlocksRendered();
+                if (mRestoreStartTime != 0) {
+                    mTrimMemoryStats.onRestored(SystemClock.elapsedRealtime() - mRestoreStartTime);
+                    mRestoreStartTime = 0;
+                }
+                if (TextUtils.isEmpty(mEditorContent.getTitle()) && TextUtils.isEmpty(mEditorContent.getContent())) {
                     setFocusOnTitle();
-                    // send signal to Editor to create a new image block and pass the media URL, start uploading, etc
-                    // use mMediaUrlToAddAfterMounting
-                    dispatchOneMediaToAddAtATimeIfAvailable();
+                    // send signal to Editor to create new media blocks and pass the media URLs, start uploading, etc
+                    // use mMediaToAddAfterMounting
+                    dispatchMediaToAddAfterMountingIfAvailable();
                 }
+                // JS got the initial theme along with the initial props
+                mRnReactNativeGutenbergBridgePackage.getRNReactNativeGutenbergBridgeModule().getEditorThemeSync()
+                                                    .onThemeSent(mInitialEditorTheme);
                 refreshEditorTheme();
             }
 
             @Override
             public void editorDidAutosave() {
-                if (mOnEditorAutosaveListener != null) {
-                    mOnEditorAutosaveListener.onEditorAutosave();
+                mEditorEventBus.post(new EditorEvents.EditorAutosaved());
+            }
+
+            @Override
+            public void editorDidAutosave(String title, String content) {
+                // Until the rest of the blocks are appended, the content is only the first blocks of the post
+                if (content != null && !mProgressiveContentLoader.isLoading()) {
+                    long fingerprint = ContentFingerprint.of(content);
+                    if (fingerprint != mAutosavedContentFingerprint || !TextUtils.equals(title, mAutosavedTitle)) {
+                        mAutosavedContentFingerprint = fingerprint;
+                        mAutosavedTitle = title;
+                        if (mEditorSnapshotStore != null) {
+                            mEditorSnapshotStore.saveSnapshot(title, content);
+                        }
+                    }
+                    mHostPostContentFingerprint = fingerprint;
+                    mHostPostTitle = title;
+                    onContentSynced(content);
+                }
+                editorDidAutosave();
+            }
+
+            @Override
+            public String readInitialContentChunk(String handle, int offset) {
+                return mInitialContentHandoff.readChunk(handle, offset);
+            }
+
+            @Override
+            public String[] getHostTranslation(String key) {
+                return mTranslationStore != null ? mTranslationStore.getTranslation(key) : null;
+            }
+
+            @Override
+            public String getHostTranslationKeyHashes() {
+                return mTranslationStore != null ? mTranslationStore.getKeyHashes() : null;
+            }
+
+            @Override
+            public long getHostContentFingerprint() {
+                return mHostPostContentFingerprint;
+            }
+
+            @Override
+            public String getHostTitle() {
+                return mHostPostTitle;
+            }
+
+            @Override
+            public Bundle getHostCapabilities() {
+                return mDeferredEventEmitter.getCapabilities();
+            }
+
+            @Override
+            public String getHostThemeStyles(long themeHash) {
+                return mEditorThemeCache != null ? mEditorThemeCache.get(themeHash) : null;
+            }
+
+            @Override
+            public void saveThemeStyles(long themeHash, String styles) {
+                if (mEditorThemeCache != null) {
+                    mEditorThemeCache.put(themeHash, styles);
                 }
             }
 
+            @Override
+            public void editorDidLoadInitialContent() {
+                mProgressiveContentLoader.onLoaded();
+                AppLog.i(T.EDITOR, "Initial content loaded: " + mProgressiveContentLoader);
+            }
+
+            @Override
+            public void editorDidChangeContent() {
+                mContentInfoCache.markStale();
+            }
+
             @Override
             public void editorDidEmitLog(String message, LogLevel logLevel) {
-                switch (logLevel) {
-                    case TRACE:
-                        AppLog.d(AppLog.T.EDITOR, message);
-                        break;
-                    case INFO:
-                        AppLog.i(AppLog.T.EDITOR, message);
-                        break;
-                    case WARN:
-                        AppLog.w(AppLog.T.EDITOR, message);
-                        break;
-                    case ERROR:
-                        AppLog.e(AppLog.T.EDITOR, message);
-                        break;
+                mEditorLogPipeline.log(message, logLevel);
+                if (mEditorEventBus.hasSubscribers(EditorEvents.LogEmitted.class)) {
+                    mEditorEventBus.post(new EditorEvents.LogEmitted(message, logLevel));
                 }
             }
 
+            @Override
+            public LogLevel getMinLogLevel() {
+                return mEditorLogPipeline.getMinLogLevel();
+            }
+
+            @Override
+            public boolean shouldSendContentOnAutosave() {
+                return mEditorSnapshotStore != null;
+            }
+
             @Override
             public void getOtherMediaPickerOptions(OtherMediaOptionsReceivedCallback otherMediaOptionsReceivedCallback,
                                                    MediaType mediaType) {
@@ -459,7 +568,7 @@ public class WPAndroidGlueCode {
 
             @Override
             public void requestImageFullscreenPreview(String mediaUrl) {
-                mOnImageFullscreenPreviewListener.onImageFullscreenPreviewClicked(mediaUrl);
+                mEditorEventBus.post(new EditorEvents.ImageFullscreenPreviewRequested(mediaUrl));
             }
 
             @Override
@@ -487,7 +596,7 @@ public class WPAndroidGlueCode {
 
             @Override
             public void gutenbergDidSendButtonPressedAction(String buttonType) {
-                mOnGutenbergDidSendButtonPressedActionListener.gutenbergDidSendButtonPressedAction(buttonType);
+                mEditorEventBus.post(new EditorEvents.ButtonPressed(buttonType));
             }
 
             @Override
@@ -512,7 +621,7 @@ public class WPAndroidGlueCode {
 
             @Override
             public void requestPreview() {
-                mOnGutenbergDidRequestPreviewListener.gutenbergDidRequestPreview();
+                mEditorEventBus.post(new EditorEvents.PreviewRequested());
             }
 
             @Override
@@ -550,17 +659,17 @@ public class WPAndroidGlueCode {
 
             @Override
             public void sendEventToHost(String eventName, ReadableMap properties) {
-                mOnSendEventToHostListener.onSendEventToHost(eventName, properties.toHashMap());
+                mEditorEventBus.post(new EditorEvents.EventSentToHost(eventName, properties.toHashMap()));
             }
 
             @Override
             public void toggleUndoButton(boolean isDisabled) {
-                mOnToggleUndoButtonListener.onToggleUndoButton(isDisabled);
+                mEditorEventBus.post(new EditorEvents.UndoButtonToggled(isDisabled));
             }
 
             @Override
             public void toggleRedoButton(boolean isDisabled) {
-                mOnToggleRedoButtonListener.onToggleRedoButton(isDisabled);
+                mEditorEventBus.post(new EditorEvents.RedoButtonToggled(isDisabled));
             }
 
             @Override
@@ -573,10 +682,15 @@ public class WPAndroidGlueCode {
             public void logException(GutenbergJsException exception, LogExceptionCallback logExceptionCallback) {
                 mOnLogExceptionListener.onLogException(exception, logExceptionCallback);
             }
+
+            @Override
+            public void logException(ReadableMap rawException, LogExceptionCallback logExceptionCallback) {
+                mJsExceptionReporter.report(rawException, logExceptionCallback);
+            }
         }, mIsDarkMode);
 
         return Arrays.asList(
-                new MainReactPackage(getMainPackageConfig(getImagePipelineConfig(sOkHttpClient))),
+                new MainReactPackage(getMainPackageConfig(getImagePipelineConfig(getOkHttpClient()))),
                 new SvgPackage(),
                 new LinearGradientPackage(),
                 new ReactAztecPackage(mExceptionLogger, mBreadcrumbLogger),
@@ -607,8 +721,135 @@ public class WPAndroidGlueCode {
     }
 
     private ImagePipelineConfig getImagePipelineConfig(OkHttpClient client) {
-        return OkHttpImagePipelineConfigFactory
-                .newBuilder(mReactRootView.getContext(), client).build();
+        return mImagePipelineProfile.buildConfig(mReactRootView.getContext(), client);
+    }
+
+    private OkHttpClient getOkHttpClient() {
+        if (mHostOkHttpClient != null) {
+            return OkHttpClientFactory.createFromHostClient(mHostOkHttpClient, sAddCookiesInterceptor);
+        }
+
+        // The default client (and its connection pool) is shared by all editor instances
+        synchronized (WPAndroidGlueCode.class) {
+            if (sOkHttpClient == null) {
+                sOkHttpClient = OkHttpClientFactory.createDefaultClient(sAddCookiesInterceptor, sOkHttpRequestMetrics);
+            }
+            return sOkHttpClient;
+        }
+    }
+
+    /**
+     * Sets the HTTP client the editor should derive its own client from, so that it shares the host's connection
+     * pool, dispatcher and event listener. The derived client doesn't use the host's HTTP cache, as images are cached
+     * by Fresco. Needs to be called before {@link #onCreateView} to take effect. When not set, a default client is
+     * used.
+     */
+    public void setOkHttpClient(@Nullable OkHttpClient hostOkHttpClient) {
+        mHostOkHttpClient = hostOkHttpClient;
+    }
+
+    /**
+     * @return the interceptor adding the auth headers to the editor's requests, which allows hosts to configure and
+     * invalidate the cached headers, and to read its counters
+     */
+    public static OkHttpHeaderInterceptor getAuthHeaderInterceptor() {
+        return sAddCookiesInterceptor;
+    }
+
+    /**
+     * @return the request timings collected by the default HTTP client. Requests made through a client provided with
+     * {@link #setOkHttpClient} are reported to the host's own event listener instead.
+     */
+    public static OkHttpRequestMetrics getOkHttpRequestMetrics() {
+        return sOkHttpRequestMetrics;
+    }
+
+    /**
+     * Sets the image pipeline configuration. Needs to be called before {@link #onCreateView} to take effect.
+     */
+    public void setImagePipelineProfile(ImagePipelineProfile imagePipelineProfile) {
+        mImagePipelineProfile = imagePipelineProfile;
+    }
+
+    public ImagePipelineStats getImagePipelineStats() {
+        return mImagePipelineProfile.getStats();
+    }
+
+    /**
+     * Should be called from the host's {@link android.content.ComponentCallbacks2#onTrimMemory(int)}, so the editor
+     * can release memory when the system is running low.
+     */
+    public void onTrimMemory(int level) {
+        mTrimMemoryStats.onTrimRequested();
+        mImagePipelineProfile.onTrimMemory(level);
+
+        if (!mIsEditorMounted || mIsReleasingReactInstance) {
+            return;
+        }
+
+        if (mIsPaused && mTrimMemoryPolicy.shouldReleaseReactInstance(level)) {
+            // Get the latest content first, the instance is destroyed once JS sends it back in responseHtml
+            AppLog.d(T.EDITOR, "Releasing the React instance of the paused editor, trim level " + level);
+            mIsReleasingReactInstance = true;
+            mRnReactNativeGutenbergBridgePackage.getRNReactNativeGutenbergBridgeModule().getHtmlFromJS();
+        }
+    }
+
+    public void setTrimMemoryPolicy(TrimMemoryPolicy trimMemoryPolicy) {
+        mTrimMemoryPolicy = trimMemoryPolicy;
+    }
+
+    public TrimMemoryStats getTrimMemoryStats() {
+        return mTrimMemoryStats;
+    }
+
+    private void destroyReleasedReactInstance() {
+        if (!mIsReleasingReactInstance) {
+            return;
+        }
+        mIsReleasingReactInstance = false;
+
+        // The editor may have been resumed, or closed, while waiting for the content
+        if (!mIsPaused || mReactRootView == null) {
+            return;
+        }
+
+        if (mEditorSnapshotStore != null) {
+            mEditorSnapshotStore.saveSnapshot(mEditorContent.getTitle(), mEditorContent.getContent());
+        }
+
+        final long usedMemoryBefore = getUsedMemory();
+        mReactRootView.unmountReactApplication();
+        mReactInstanceManager.destroy();
+        mReactContext = null;
+        mIsEditorMounted = false;
+        mDeferredEventEmitter.setEmitter(null);
+        mIsReactInstanceReleased = true;
+
+        // The new instance doesn't load JS until the application is started again, when the editor is resumed
+        mReactInstanceManager = createReactInstanceManager();
+
+        // The JS heap is freed asynchronously, so give it some time before measuring
+        new Handler(Looper.getMainLooper()).postDelayed(
+                () -> mTrimMemoryStats.onReactInstanceReleased(usedMemoryBefore - getUsedMemory()),
+                RELEASED_MEMORY_MEASURE_DELAY_MS);
+    }
+
+    private void restoreReleasedReactInstance() {
+        AppLog.d(T.EDITOR, "Restoring the released React instance");
+        mIsReactInstanceReleased = false;
+        mRestoreStartTime = SystemClock.elapsedRealtime();
+        // JS starts with the edits, while the host's content stays the one the edits are compared with
+        startEditor(mEditorContent.getTitle(), mEditorContent.getContent());
+    }
+
+    private boolean isReactInstanceReleasedOrRestoring() {
+        return mIsReactInstanceReleased || mRestoreStartTime != 0;
+    }
+
+    private static long getUsedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory() + Debug.getNativeHeapAllocatedSize();
     }
 
     public void onCreateView(Context initContext,
@@ -619,8 +860,22 @@ public class WPAndroidGlueCode {
                              Consumer<String> breadcrumbLogger,
                              GutenbergProps gutenbergProps) {
         mIsDarkMode = gutenbergProps.isDarkMode();
+        mIsHtmlModeEnabled = gutenbergProps.getHtmlModeEnabled();
+        mInitialEditorTheme = gutenbergProps.getEditorTheme();
+        mEditorThemeCache = new EditorThemeCache(application);
+        if (mInitialEditorTheme != null) {
+            // Read in the background while React Native starts
+            mEditorThemeCache.preload(EditorThemeSync.getThemeHash(mInitialEditorTheme));
+        }
+        if (gutenbergProps.getLazyTranslations()) {
+            // Opened in the background while React Native starts
+            mTranslationStore = new TranslationStore(application, gutenbergProps.getLocaleSlug(),
+                    gutenbergProps.getTranslations());
+        }
         mExceptionLogger = exceptionLogger;
         mBreadcrumbLogger = breadcrumbLogger;
+        mApplication = application;
+        mIsDebug = isDebug;
         mReactRootView = new ReactRootView(new MutableContextWrapper(initContext));
         mReactRootView.setBackgroundColor(colorBackground);
 
@@ -628,24 +883,31 @@ public class WPAndroidGlueCode {
         // Ref: https://github.com/wordpress-mobile/WordPress-Android/issues/9685#issuecomment-1908452392
         mReactRootView.setSaveFromParentEnabled(false);
 
+        mReactInstanceManager = createReactInstanceManager();
+
+        Bundle initialProps = gutenbergProps.getInitialProps(mReactRootView.getAppProperties());
+        mReactRootView.setAppProperties(initialProps);
+        mDeferredEventEmitter.setInitialCapabilities(gutenbergProps);
+    }
+
+    private ReactInstanceManager createReactInstanceManager() {
         ReactInstanceManagerBuilder builder =
                 ReactInstanceManager.builder()
-                                    .setApplication(application)
+                                    .setApplication(mApplication)
                                     .setJSMainModulePath("index")
                                     .addPackages(getPackages())
-                                    .setUseDeveloperSupport(isDebug)
+                                    .setUseDeveloperSupport(mIsDebug)
                                     .setJavaScriptExecutorFactory(new HermesExecutorFactory())
                                     .setInitialLifecycleState(LifecycleState.BEFORE_CREATE);
         if (BuildConfig.SHOULD_ATTACH_JS_BUNDLE) {
             builder.setBundleAssetName("index.android.bundle");
         }
-        mReactInstanceManager = builder.build();
-        mReactInstanceManager.addReactInstanceEventListener(context -> {
+        BridgeArchitecture.configure(builder);
+        ReactInstanceManager reactInstanceManager = builder.build();
+        reactInstanceManager.addReactInstanceEventListener(context -> {
             mReactContext = context;
         });
-
-        Bundle initialProps = gutenbergProps.getInitialProps(mReactRootView.getAppProperties());
-        mReactRootView.setAppProperties(initialProps);
+        return reactInstanceManager;
     }
 
     public void attachToContainer(ViewGroup viewGroup,
@@ -678,26 +940,45 @@ public class WPAndroidGlueCode {
 
         mOnMediaLibraryButtonListener = onMediaLibraryButtonListener;
         mOnReattachMediaUploadQueryListener = onReattachMediaUploadQueryListener;
-        mOnSetFeaturedImageListener = onSetFeaturedImageListener;
-        mOnEditorMountListener = onEditorMountListener;
-        mOnEditorAutosaveListener = onEditorAutosaveListener;
         mRequestExecutor = fetchExecutor;
-        mOnImageFullscreenPreviewListener = onImageFullscreenPreviewListener;
         mOnMediaEditorListener = onMediaEditorListener;
         mOnGutenbergDidRequestUnsupportedBlockFallbackListener = onGutenbergDidRequestUnsupportedBlockFallbackListener;
         mOnGutenbergDidRequestEmbedFullscreenPreviewListener = onGutenbergDidRequestEmbedFullscreenPreviewListener;
-        mOnGutenbergDidSendButtonPressedActionListener = onGutenbergDidSendButtonPressedActionListener;
         mShowSuggestionsUtil = showSuggestionsUtil;
         mOnFocalPointPickerTooltipShownListener = onFocalPointPickerTooltipListener;
-        mOnGutenbergDidRequestPreviewListener = onGutenbergDidRequestPreviewListener;
         mOnBlockTypeImpressionsEventListener = onBlockTypeImpressionsEventListener;
         mOnCustomerSupportOptionsListener = onCustomerSupportOptionsListener;
-        mOnSendEventToHostListener = onSendEventToHostListener;
-        mOnToggleUndoButtonListener = onToggleUndoButtonListener;
-        mOnToggleRedoButtonListener = onToggleRedoButtonListener;
         mOnConnectionStatusEventListener = onConnectionStatusEventListener;
         mOnBackHandlerEventListener = onBackHandlerEventListener;
         mOnLogExceptionListener = onLogExceptionListener;
+        mJsExceptionReporter.setListener(onLogExceptionListener);
+
+        for (EditorEventBus.Subscription<?> subscription : mListenerSubscriptions) {
+            subscription.unsubscribe();
+        }
+        mListenerSubscriptions.clear();
+        subscribeListener(onEditorMountListener, EditorEvents.EditorMounted.class, Delivery.IMMEDIATE,
+                event -> onEditorMountListener.onEditorDidMount(event.getUnsupportedBlockNames()));
+        subscribeListener(onEditorAutosaveListener, EditorEvents.EditorAutosaved.class, Delivery.IMMEDIATE,
+                event -> onEditorAutosaveListener.onEditorAutosave());
+        subscribeListener(onSetFeaturedImageListener, EditorEvents.FeaturedImageSet.class, Delivery.IMMEDIATE,
+                event -> onSetFeaturedImageListener.onSetFeaturedImageButtonClicked(event.getMediaId()));
+        subscribeListener(onImageFullscreenPreviewListener, EditorEvents.ImageFullscreenPreviewRequested.class,
+                Delivery.IMMEDIATE,
+                event -> onImageFullscreenPreviewListener.onImageFullscreenPreviewClicked(event.getMediaUrl()));
+        subscribeListener(onGutenbergDidSendButtonPressedActionListener, EditorEvents.ButtonPressed.class,
+                Delivery.IMMEDIATE, event -> onGutenbergDidSendButtonPressedActionListener
+                        .gutenbergDidSendButtonPressedAction(event.getButtonType()));
+        subscribeListener(onGutenbergDidRequestPreviewListener, EditorEvents.PreviewRequested.class,
+                Delivery.IMMEDIATE, event -> onGutenbergDidRequestPreviewListener.gutenbergDidRequestPreview());
+        subscribeListener(onToggleUndoButtonListener, EditorEvents.UndoButtonToggled.class, Delivery.IMMEDIATE,
+                event -> onToggleUndoButtonListener.onToggleUndoButton(event.isDisabled()));
+        subscribeListener(onToggleRedoButtonListener, EditorEvents.RedoButtonToggled.class, Delivery.IMMEDIATE,
+                event -> onToggleRedoButtonListener.onToggleRedoButton(event.isDisabled()));
+        // Events sent to the host can be frequent, so they are handled in the background. When the host can't keep
+        // up, the oldest ones are dropped.
+        subscribeListener(onSendEventToHostListener, EditorEvents.EventSentToHost.class, Delivery.BACKGROUND,
+                event -> onSendEventToHostListener.onSendEventToHost(event.getEventName(), event.getProperties()));
 
         sAddCookiesInterceptor.setOnAuthHeaderRequestedListener(onAuthHeaderRequestedListener);
 
@@ -715,6 +996,67 @@ public class WPAndroidGlueCode {
         refocus();
     }
 
+    private <E> void subscribeListener(@Nullable Object listener, Class<E> eventType, Delivery delivery,
+                                       Consumer<? super E> subscriber) {
+        if (listener != null) {
+            mListenerSubscriptions.add(mEditorEventBus.subscribe(eventType, delivery, subscriber));
+        }
+    }
+
+    /**
+     * @return the bus the editor events are posted to. Subscribe to it to get the events the listeners passed to
+     * {@link #attachToContainer} get, and to read the delivery metrics of each event type.
+     */
+    public EditorEventBus getEditorEventBus() {
+        return mEditorEventBus;
+    }
+
+    /**
+     * @return the pipeline writing the editor's JS logs to {@link AppLog}. Use it to set the minimum log level, or to
+     * dump the last lines when the editor crashes.
+     */
+    public EditorLogPipeline getEditorLogPipeline() {
+        return mEditorLogPipeline;
+    }
+
+    /**
+     * @return the reporter passing the JS exceptions to the {@link OnLogExceptionListener}. Use it to tune the
+     * deduplication and rate limiting, or to read how many exceptions were reported.
+     */
+    public JsExceptionReporter getJsExceptionReporter() {
+        return mJsExceptionReporter;
+    }
+
+    /**
+     * @return the content info computed natively, which {@link #triggerGetContentInfo} answers with when it's up to
+     * date. Use it to read how often JS still had to be asked.
+     */
+    public ContentInfoCache getContentInfoCache() {
+        return mContentInfoCache;
+    }
+
+    /**
+     * @return the handoff of large initial content to JS. Use it to set the length above which content is handed off.
+     */
+    public InitialContentHandoff getInitialContentHandoff() {
+        return mInitialContentHandoff;
+    }
+
+    /**
+     * @return the progressive loading of large posts, which is off by default, and the time the editor takes to
+     * render the first blocks of the post and to have all of them
+     */
+    public ProgressiveContentLoader getProgressiveContentLoader() {
+        return mProgressiveContentLoader;
+    }
+
+    /**
+     * @return the translations JS looks up lazily, or null unless {@link GutenbergProps#getLazyTranslations()}
+     */
+    public @Nullable TranslationStore getTranslationStore() {
+        return mTranslationStore;
+    }
+
     private void refocus() {
         if (mLastFocusedView != null) {
             // schedule a request for focus
@@ -734,6 +1076,7 @@ public class WPAndroidGlueCode {
 
     public void onPause(Activity activity) {
         mShouldHandleBackPress = false;
+        mIsPaused = true;
         if (mReactInstanceManager != null) {
             // get the focused view so we re-focus it later if needed. WeakReference so we don't leak it.
             mLastFocusedView = new WeakReference<>(mReactRootView.findFocus());
@@ -744,6 +1087,12 @@ public class WPAndroidGlueCode {
 
     public void onResume(final Fragment fragment, final Activity activity) {
         mShouldHandleBackPress = true;
+        mIsPaused = false;
+        // Keep the instance if it was still waiting for the content to be released
+        mIsReleasingReactInstance = false;
+        if (mIsReactInstanceReleased) {
+            restoreReleasedReactInstance();
+        }
         if (mReactInstanceManager != null) {
             mReactInstanceManager.onHostResume(activity,
                     new DefaultHardwareBackBtnHandler() {
@@ -765,6 +1114,20 @@ public class WPAndroidGlueCode {
 
     public void onDestroy(Activity activity) {
         mShouldHandleBackPress = false;
+        mInitialContentHandoff.release();
+        if (mMediaThumbnailGenerator != null) {
+            mMediaThumbnailGenerator.shutdown();
+        }
+        if (mEditorSnapshotStore != null) {
+            mEditorSnapshotStore.shutdown();
+        }
+        if (mEditorThemeCache != null) {
+            mEditorThemeCache.shutdown();
+        }
+        mEditorEventBus.shutdown();
+        mEditorLogPipeline.shutdown();
+        mJsExceptionReporter.shutdown();
+        mContentInfoCache.shutdown();
         if (mReactRootView != null) {
             mReactRootView.unmountReactApplication();
             mReactRootView = null;
@@ -799,6 +1162,11 @@ public class WPAndroidGlueCode {
                                             .appendNewMediaBlock(mediaId, mediaUri, mediaType);
     }
 
+    public void appendNewMediaBlocks(List<? extends RNMedia> mediaList) {
+        mRnReactNativeGutenbergBridgePackage.getRNReactNativeGutenbergBridgeModule()
+                                            .appendNewMediaBlocks(mediaList);
+    }
+
     public void setPreferredColorScheme(boolean isDarkMode) {
         if (mIsDarkMode != isDarkMode) {
             mIsDarkMode = isDarkMode;
@@ -852,14 +1220,14 @@ public class WPAndroidGlueCode {
 
     public void setTitle(String title) {
         mTitleInitialized = true;
-        mTitle = title;
-        setContent(mTitle, mContentHtml);
+        mEditorContent.setFromHost(title, null);
+        setContent(mEditorContent.getTitle(), mEditorContent.getContent());
     }
 
     public void setContent(String postContent) {
         mContentInitialized = true;
-        mContentHtml = postContent;
-        setContent(mTitle, mContentHtml);
+        mEditorContent.setFromHost(null, postContent);
+        setContent(mEditorContent.getTitle(), mEditorContent.getContent());
     }
 
     public boolean hasReceivedInitialTitleAndContent() {
@@ -889,34 +1257,63 @@ public class WPAndroidGlueCode {
     }
 
     private void initContent(String title, String content) {
+        mEditorContent.setFromHost(title, content);
+        mHostPostContentFingerprint = mEditorContent.getHostContentFingerprint();
+        mHostPostTitle = title;
+        startEditor(title, content);
+    }
+
+    /**
+     * Starts the editor with the title and content, the host's or, when the React instance is restored, the editor's.
+     */
+    private void startEditor(@Nullable String title, @Nullable String content) {
         if (content != null) {
-            mContentHtml = content;
+            onContentSynced(content);
         }
-        if (title != null) {
-            mTitle = title;
+
+        mInitialContentHandoff.release();
+        String remainderHandle = null;
+        if (content != null && !mIsHtmlModeEnabled) {
+            // The editor starts with the first blocks of a large post, JS reads and appends the rest once it's mounted
+            int firstScreenEnd = mProgressiveContentLoader.start(content);
+            if (firstScreenEnd < content.length()) {
+                remainderHandle = mInitialContentHandoff.put(content, firstScreenEnd);
+                content = content.substring(0, firstScreenEnd);
+            }
         }
 
-        Bundle appProps = GutenbergProps.Companion.initContent(mReactRootView.getAppProperties(), title, content);
+        // Large content is read by JS in chunks, rather than copied along with the app properties
+        String contentHandle = content != null ? mInitialContentHandoff.handOff(content) : null;
+        Bundle appProps = GutenbergProps.Companion.initContent(mReactRootView.getAppProperties(), title, content,
+                contentHandle, remainderHandle);
         mReactRootView.startReactApplication(mReactInstanceManager, "gutenberg", appProps);
     }
 
     private void updateContent(String title, String content) {
-        if (content != null) {
-            mContentHtml = content;
-        }
-        if (title != null) {
-            mTitle = title;
-        }
+        mEditorContent.setFromHost(title, content);
         if (hasReactContext()) {
+            // JS skips parsing the content when it's the one it has, from the fingerprint. It's always sent, since the
+            // content can change in JS before the host's notification of the change gets here.
             if (content != null) {
-                mRnReactNativeGutenbergBridgePackage.getRNReactNativeGutenbergBridgeModule().setHtmlInJS(content);
+                mRnReactNativeGutenbergBridgePackage.getRNReactNativeGutenbergBridgeModule()
+                                                    .setHtmlInJS(content, mEditorContent.getHostContentFingerprint());
+                mHostPostContentFingerprint = mEditorContent.getHostContentFingerprint();
+                onContentSynced(content);
             }
             if (title != null) {
                 mRnReactNativeGutenbergBridgePackage.getRNReactNativeGutenbergBridgeModule().setTitleInJS(title);
+                mHostPostTitle = title;
             }
         }
     }
 
+    /**
+     * Called when the content was sent to or received from JS, so both have it.
+     */
+    private void onContentSynced(String content) {
+        mContentInfoCache.update(content);
+    }
+
     public interface OnGetContentInterrupted {
         void onGetContentInterrupted(InterruptedException ie);
     }
@@ -937,12 +1334,13 @@ public class WPAndroidGlueCode {
                 onGetContentInterrupted.onGetContentInterrupted(ie);
             }
 
-            return mContentChanged ? (mContentHtml == null ? "" : mContentHtml) : originalContent;
-        } else {
+            return mEditorContent.getContentOr(originalContent);
+        } else if (!isReactInstanceReleasedOrRestoring()) {
             AppLog.e(T.EDITOR, "getContent was called when there was no React context.");
         }
 
-        return originalContent;
+        // The edits made before the React instance was released, if any
+        return mEditorContent.getContentOr(originalContent);
     }
 
     /** This method retrieves both the title and the content from the Gutenberg editor by the emission of a single
@@ -969,10 +1367,12 @@ public class WPAndroidGlueCode {
                 onGetContentInterrupted.onGetContentInterrupted(ie);
             }
 
-            return new Pair<>(
-                    mTitle == null ? "" : mTitle,
-                    mContentChanged ? (mContentHtml == null ? "" : mContentHtml) : originalContent
-            );
+            String title = mEditorContent.getTitle();
+            return new Pair<>(title == null ? "" : title, mEditorContent.getContentOr(originalContent));
+        } else if (isReactInstanceReleasedOrRestoring()) {
+            // The edits made before the React instance was released
+            String title = mEditorContent.getTitle();
+            return new Pair<>(title == null ? "" : title, mEditorContent.getContentOr(originalContent));
         } else {
             AppLog.e(T.EDITOR, "getTitleAndContent was called when there was no React context.");
         }
@@ -986,6 +1386,12 @@ public class WPAndroidGlueCode {
                 onContentInfoReceivedListener.onEditorNotReady();
                 return false;
             }
+            // Answer right away when the content didn't change since it was last counted
+            HashMap<String, Object> contentInfo = mContentInfoCache.getContentInfo();
+            if (contentInfo != null) {
+                onContentInfoReceivedListener.onContentInfoReceived(contentInfo);
+                return true;
+            }
             new Thread(new Runnable() {
                 @Override public void run() {
                     // We need to synchronize access to (and overwriting of) the latch to avoid race conditions
@@ -1022,6 +1428,7 @@ public class WPAndroidGlueCode {
     }
 
     public void toggleEditorMode(boolean htmlModeEnabled) {
+        mIsHtmlModeEnabled = htmlModeEnabled;
         // Turn off hardware acceleration for Oreo
         // see https://github.com/wordpress-mobile/gutenberg-mobile/issues/1268#issuecomment-535887390
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O
@@ -1039,14 +1446,42 @@ public class WPAndroidGlueCode {
         mRnReactNativeGutenbergBridgePackage.getRNReactNativeGutenbergBridgeModule().sendToJSPostSaveEvent();
     }
 
+    /**
+     * Sets the generator used to attach downscaled previews to the media passed to {@link #appendMediaFiles}.
+     * When no generator is set, media are passed to the editor as they are. The generator is shut down in
+     * {@link #onDestroy}.
+     */
+    public void setMediaThumbnailGenerator(@Nullable MediaThumbnailGenerator mediaThumbnailGenerator) {
+        mMediaThumbnailGenerator = mediaThumbnailGenerator;
+    }
+
+    /**
+     * Sets the store the content is saved to on every autosave, so that it can be restored with
+     * {@link EditorSnapshotStore#restoreLastSession()} if the app crashes before the post is saved. Needs to be called
+     * before {@link #onCreateView} for JS to send the content along with autosaves. The store is shut down in
+     * {@link #onDestroy}.
+     */
+    public void setEditorSnapshotStore(@Nullable EditorSnapshotStore editorSnapshotStore) {
+        mEditorSnapshotStore = editorSnapshotStore;
+    }
+
     public void appendMediaFiles(ArrayList<Media> mediaList) {
+        if (mMediaThumbnailGenerator != null) {
+            mMediaThumbnailGenerator.attachThumbnails(mediaList,
+                    mediaWithThumbnails -> dispatchMediaFiles(new ArrayList<>(mediaWithThumbnails)));
+        } else {
+            dispatchMediaFiles(mediaList);
+        }
+    }
+
+    private void dispatchMediaFiles(ArrayList<Media> mediaList) {
         if (isMediaSelectedCallbackRegistered() && mMediaPickedByUserOnBlock) {
             mMediaPickedByUserOnBlock = false;
             List<RNMedia> rnMediaList = new ArrayList<>();
 
             // We have special handling here for the image block when the user selects multiple items from the
             // WordPress Media Library: We pass the first image to the callback, and the remaining images will be
-            // appended as blocks via sendOrDeferAppendMediaSignal
+            // appended as blocks via sendOrDeferAppendMediaSignals
             //
             // All other media selection results should be passed to the callback at once (as a collection)
             //
@@ -1057,52 +1492,55 @@ public class WPAndroidGlueCode {
                 rnMediaList.add(mediaList.get(0));
                 mMediaSelectedCallback.onMediaFileSelected(rnMediaList);
 
-                for (Media mediaToAppend : mediaList.subList(1, mediaList.size())) {
-                    sendOrDeferAppendMediaSignal(mediaToAppend);
-                }
+                sendOrDeferAppendMediaSignals(mediaList.subList(1, mediaList.size()));
             } else {
                 rnMediaList.addAll(mediaList);
                 mMediaSelectedCallback.onMediaFileSelected(rnMediaList);
             }
         } else {
             // This case is for media that is shared from the device
-            for (Media mediaToAppend : mediaList) {
-                sendOrDeferAppendMediaSignal(mediaToAppend);
-            }
+            sendOrDeferAppendMediaSignals(mediaList);
         }
 
         mAppendsMultipleSelectedToSiblingBlocks = false;
     }
 
-    private void sendOrDeferAppendMediaSignal(Media media) {
-        // if editor is mounted, let's append the media file
+    private void sendOrDeferAppendMediaSignals(List<Media> mediaList) {
+        // if editor is mounted, let's append the media files, all in a single signal
         if (mIsEditorMounted) {
-            if (!TextUtils.isEmpty(media.getUrl()) && media.getId() > 0) {
+            List<Media> mediaToAppend = new ArrayList<>(mediaList.size());
+            for (Media media : mediaList) {
+                if (!TextUtils.isEmpty(media.getUrl()) && media.getId() > 0) {
+                    mediaToAppend.add(media);
+                }
+            }
+            if (!mediaToAppend.isEmpty()) {
                 // send signal to JS
-                appendNewMediaBlock(media.getId(), media.getUrl(), media.getType());
+                appendNewMediaBlocks(mediaToAppend);
             }
         } else {
-            // save the URL, we'll add it once Editor is mounted
-            synchronized (WPAndroidGlueCode.this) {
-                mMediaToAddAfterMounting.put(media.getId(), media);
+            // save the URLs, we'll add them once Editor is mounted
+            for (Media media : mediaList) {
+                mMediaToAddAfterMounting.add(media);
             }
         }
     }
 
-    private synchronized void dispatchOneMediaToAddAtATimeIfAvailable() {
-        Iterator<Entry<Integer, Media>> iter = mMediaToAddAfterMounting.entrySet().iterator();
-        while (iter.hasNext()) {
-            Map.Entry<Integer, Media> entry = iter.next();
-            Integer mediaId = entry.getKey();
-            Media media = entry.getValue();
-            if (!TextUtils.isEmpty(media.getUrl()) && mediaId > 0) {
-                // send signal to JS
-                appendNewMediaBlock(mediaId, media.getUrl(), media.getType());
-                iter.remove();
-            }
+    private void dispatchMediaToAddAfterMountingIfAvailable() {
+        List<Media> mediaList = mMediaToAddAfterMounting.drain();
+        if (!mediaList.isEmpty()) {
+            // send signal to JS
+            appendNewMediaBlocks(mediaList);
         }
     }
 
+    /**
+     * @return the media appended before the editor was mounted, with how long it waited for the editor
+     */
+    public PendingMediaBuffer getPendingMediaBuffer() {
+        return mMediaToAddAfterMounting;
+    }
+
     public void mediaFileUploadProgress(final int mediaId, final float progress) {
         mDeferredEventEmitter.onMediaFileUploadProgress(mediaId, progress);
     }
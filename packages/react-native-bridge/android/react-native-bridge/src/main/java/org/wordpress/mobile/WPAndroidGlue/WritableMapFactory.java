@@ -0,0 +1,29 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+
+/**
+ * Creates the maps and arrays sent to JS. {@link WritableNativeMap} needs the React Native native libraries, so the
+ * classes that build events take a factory, which tests and benchmarks running on the JVM replace with one creating
+ * Java-only maps.
+ */
+public interface WritableMapFactory {
+    WritableMapFactory NATIVE = new WritableMapFactory() {
+        @Override
+        public WritableMap createMap() {
+            return new WritableNativeMap();
+        }
+
+        @Override
+        public WritableArray createArray() {
+            return new WritableNativeArray();
+        }
+    };
+
+    WritableMap createMap();
+
+    WritableArray createArray();
+}
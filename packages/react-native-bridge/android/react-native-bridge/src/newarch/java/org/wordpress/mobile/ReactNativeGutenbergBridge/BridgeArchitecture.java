@@ -0,0 +1,34 @@
+package org.wordpress.mobile.ReactNativeGutenbergBridge;
+
+import com.facebook.react.ReactInstanceManagerBuilder;
+import com.facebook.react.bridge.NativeModule;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.defaults.DefaultNewArchitectureEntryPoint;
+import com.facebook.react.defaults.DefaultTurboModuleManagerDelegate;
+
+/**
+ * Sets the editor up for the new architecture, where the bridge module is a TurboModule, see
+ * {@link RNReactNativeGutenbergBridgeTurboModule}. Built when the `newArchEnabled` Gradle property is set.
+ * <p>
+ * Like any React Native app built with the new architecture, the host must include the `appmodules` native library.
+ */
+public final class BridgeArchitecture {
+    private static boolean sIsLoaded;
+
+    private BridgeArchitecture() {
+    }
+
+    public static NativeModule createNativeModule(ReactApplicationContext reactContext,
+                                                  RNReactNativeGutenbergBridgeModule module) {
+        return new RNReactNativeGutenbergBridgeTurboModule(reactContext, module);
+    }
+
+    public static synchronized void configure(ReactInstanceManagerBuilder builder) {
+        if (!sIsLoaded) {
+            // TurboModules only, the views are still rendered by the legacy renderer
+            DefaultNewArchitectureEntryPoint.load(true, false, false);
+            sIsLoaded = true;
+        }
+        builder.setReactPackageTurboModuleManagerDelegateBuilder(new DefaultTurboModuleManagerDelegate.Builder());
+    }
+}
@@ -0,0 +1,288 @@
+package org.wordpress.mobile.ReactNativeGutenbergBridge;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.Map;
+
+/**
+ * The bridge module as a TurboModule, implementing the spec generated from `NativeRNReactNativeGutenbergBridge.ts`.
+ * JS calls it through JSI rather than through the bridge's message queue, and the synchronous queries don't go
+ * through the bridge at all.
+ * <p>
+ * The calls are handled by {@link RNReactNativeGutenbergBridgeModule}, which the host keeps using to send events to
+ * JS, so both architectures behave the same.
+ */
+public class RNReactNativeGutenbergBridgeTurboModule extends NativeRNReactNativeGutenbergBridgeSpec {
+    private final RNReactNativeGutenbergBridgeModule mModule;
+
+    public RNReactNativeGutenbergBridgeTurboModule(ReactApplicationContext reactContext,
+                                                   RNReactNativeGutenbergBridgeModule module) {
+        super(reactContext);
+        mModule = module;
+    }
+
+    @Override
+    protected Map<String, Object> getTypedExportedConstants() {
+        return mModule.getConstants();
+    }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        mModule.invalidate();
+    }
+
+    @Override
+    public void addListener(String eventName) {
+        mModule.addListener(eventName);
+    }
+
+    @Override
+    public void removeListeners(double count) {
+        mModule.removeListeners((int) count);
+    }
+
+    @Override
+    public void provideToNative_Html(String html, String title, boolean changed, ReadableMap contentInfo) {
+        mModule.provideToNative_Html(html, title, changed, contentInfo);
+    }
+
+    @Override
+    public void editorDidMount(ReadableArray unsupportedBlockNames) {
+        mModule.editorDidMount(unsupportedBlockNames);
+    }
+
+    @Override
+    public void editorDidEmitLog(String message, double logLevel) {
+        mModule.editorDidEmitLog(message, (int) logLevel);
+    }
+
+    @Override
+    public void editorDidEmitLogs(ReadableArray messages, ReadableArray logLevels) {
+        mModule.editorDidEmitLogs(messages, logLevels);
+    }
+
+    @Override
+    public void editorDidAutosave(@Nullable String title, @Nullable String content) {
+        mModule.editorDidAutosave(title, content);
+    }
+
+    @Override
+    public void editorDidChangeContent() {
+        mModule.editorDidChangeContent();
+    }
+
+    @Override
+    public void editorDidLoadInitialContent() {
+        mModule.editorDidLoadInitialContent();
+    }
+
+    @Override
+    public @Nullable WritableArray getHostTranslation(String key) {
+        return mModule.getHostTranslation(key);
+    }
+
+    @Override
+    public @Nullable String getHostTranslationKeyHashes() {
+        return mModule.getHostTranslationKeyHashes();
+    }
+
+    @Override
+    public @Nullable String readInitialContentChunk(String handle, double offset) {
+        return mModule.readInitialContentChunk(handle, (int) offset);
+    }
+
+    @Override
+    public double getHostContentFingerprint() {
+        return mModule.getHostContentFingerprint();
+    }
+
+    @Override
+    public @Nullable String getHostTitle() {
+        return mModule.getHostTitle();
+    }
+
+    @Override
+    public @Nullable WritableMap getHostCapabilities() {
+        return mModule.getHostCapabilities();
+    }
+
+    @Override
+    public @Nullable String getHostThemeStyles(double themeHash) {
+        return mModule.getHostThemeStyles(themeHash);
+    }
+
+    @Override
+    public void saveThemeStyles(double themeHash, String styles) {
+        mModule.saveThemeStyles(themeHash, styles);
+    }
+
+    @Override
+    public void requestMediaPickFrom(String mediaSource, ReadableArray filter, boolean allowMultipleSelection,
+                                     Callback onMediaSelected) {
+        mModule.requestMediaPickFrom(mediaSource, filter, allowMultipleSelection, onMediaSelected);
+    }
+
+    @Override
+    public void requestMediaImport(String url, Callback onUploadMediaSelected) {
+        mModule.requestMediaImport(url, onUploadMediaSelected);
+    }
+
+    @Override
+    public void mediaUploadSync() {
+        mModule.mediaUploadSync();
+    }
+
+    @Override
+    public void requestImageFailedRetryDialog(double mediaId) {
+        mModule.requestImageFailedRetryDialog((int) mediaId);
+    }
+
+    @Override
+    public void requestImageUploadCancelDialog(double mediaId) {
+        mModule.requestImageUploadCancelDialog((int) mediaId);
+    }
+
+    @Override
+    public void requestImageUploadCancel(double mediaId) {
+        mModule.requestImageUploadCancel((int) mediaId);
+    }
+
+    @Override
+    public void setFeaturedImage(double mediaId) {
+        mModule.setFeaturedImage((int) mediaId);
+    }
+
+    @Override
+    public void requestImageFullscreenPreview(String mediaUrl) {
+        mModule.requestImageFullscreenPreview(mediaUrl);
+    }
+
+    @Override
+    public void requestMediaEditor(String mediaUrl, Callback onUploadMediaSelected) {
+        mModule.requestMediaEditor(mediaUrl, onUploadMediaSelected);
+    }
+
+    @Override
+    public void getOtherMediaOptions(ReadableArray filter, Callback onOtherMediaOptions) {
+        mModule.getOtherMediaOptions(filter, onOtherMediaOptions);
+    }
+
+    @Override
+    public void fetchRequest(String path, boolean enableCaching, Promise promise) {
+        mModule.fetchRequest(path, enableCaching, promise);
+    }
+
+    @Override
+    public void postRequest(String path, ReadableMap data, Promise promise) {
+        mModule.postRequest(path, data, promise);
+    }
+
+    @Override
+    public void requestUnsupportedBlockFallback(String content, String blockId, String blockName, String blockTitle) {
+        mModule.requestUnsupportedBlockFallback(content, blockId, blockName, blockTitle);
+    }
+
+    @Override
+    public void requestEmbedFullscreenPreview(String content, String title) {
+        mModule.requestEmbedFullscreenPreview(content, title);
+    }
+
+    @Override
+    public void actionButtonPressed(String buttonType) {
+        mModule.actionButtonPressed(buttonType);
+    }
+
+    @Override
+    public void showUserSuggestions(Promise promise) {
+        mModule.showUserSuggestions(promise);
+    }
+
+    @Override
+    public void showXpostSuggestions(Promise promise) {
+        mModule.showXpostSuggestions(promise);
+    }
+
+    @Override
+    public void setFocalPointPickerTooltipShown(boolean tooltipShown) {
+        mModule.setFocalPointPickerTooltipShown(tooltipShown);
+    }
+
+    @Override
+    public void requestFocalPointPickerTooltipShown(Callback onTooltipShown) {
+        mModule.requestFocalPointPickerTooltipShown(onTooltipShown);
+    }
+
+    @Override
+    public void requestPreview() {
+        mModule.requestPreview();
+    }
+
+    @Override
+    public void requestBlockTypeImpressions(Callback onImpressions) {
+        mModule.requestBlockTypeImpressions(onImpressions);
+    }
+
+    @Override
+    public void setBlockTypeImpressions(ReadableMap impressions) {
+        mModule.setBlockTypeImpressions(impressions);
+    }
+
+    @Override
+    public void requestContactCustomerSupport() {
+        mModule.requestContactCustomerSupport();
+    }
+
+    @Override
+    public void requestGotoCustomerSupportOptions() {
+        mModule.requestGotoCustomerSupportOptions();
+    }
+
+    @Override
+    public void sendEventToHost(String eventName, ReadableMap properties) {
+        mModule.sendEventToHost(eventName, properties);
+    }
+
+    @Override
+    public void toggleUndoButton(boolean isDisabled) {
+        mModule.toggleUndoButton(isDisabled);
+    }
+
+    @Override
+    public void toggleRedoButton(boolean isDisabled) {
+        mModule.toggleRedoButton(isDisabled);
+    }
+
+    @Override
+    public void generateHapticFeedback() {
+        mModule.generateHapticFeedback();
+    }
+
+    @Override
+    public void requestConnectionStatus(Callback onStatus) {
+        mModule.requestConnectionStatus(onStatus);
+    }
+
+    @Override
+    public void showAndroidSoftKeyboard() {
+        mModule.showAndroidSoftKeyboard();
+    }
+
+    @Override
+    public void hideAndroidSoftKeyboard() {
+        mModule.hideAndroidSoftKeyboard();
+    }
+
+    @Override
+    public void logException(ReadableMap rawException, Callback onLogged) {
+        mModule.logException(rawException, onLogged);
+    }
+}
@@ -0,0 +1,22 @@
+package org.wordpress.mobile.ReactNativeGutenbergBridge;
+
+import com.facebook.react.ReactInstanceManagerBuilder;
+import com.facebook.react.bridge.NativeModule;
+import com.facebook.react.bridge.ReactApplicationContext;
+
+/**
+ * Sets the editor up for the legacy architecture, where the bridge module is a legacy native module. Built unless
+ * the `newArchEnabled` Gradle property is set.
+ */
+public final class BridgeArchitecture {
+    private BridgeArchitecture() {
+    }
+
+    public static NativeModule createNativeModule(ReactApplicationContext reactContext,
+                                                  RNReactNativeGutenbergBridgeModule module) {
+        return module;
+    }
+
+    public static void configure(ReactInstanceManagerBuilder builder) {
+    }
+}
@@ -0,0 +1,107 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class BlockGrammarParserTest {
+    @Test
+    fun testReportsBlocksWithOffsets() {
+        val content = "<!-- wp:paragraph -->\n<p>Hello</p>\n<!-- /wp:paragraph -->" +
+            "<!-- wp:jetpack/contact-form {\"to\":\"a@b.c\"} -->" +
+            "<!-- wp:spacer {\"height\":\"{}\"} /-->" +
+            "<!-- /wp:jetpack/contact-form -->"
+
+        assertEquals(
+            listOf(
+                "start 0 core/paragraph",
+                "html 1 <p>Hello</p>",
+                "end 0 core/paragraph",
+                "start 0 jetpack/contact-form {\"to\":\"a@b.c\"}",
+                "void 1 core/spacer {\"height\":\"{}\"}",
+                "end 0 jetpack/contact-form"
+            ),
+            parse(content)
+        )
+    }
+
+    @Test
+    fun testTreatsInvalidDelimitersAsHtml() {
+        val content = "<!-- more --><!-- /wp:paragraph --><!--wp:paragraph --><!-- wp:Paragraph -->"
+
+        assertEquals(listOf("html 0 $content"), parse(content))
+    }
+
+    @Test
+    fun testTreatsRestOfContentAsHtmlAfterUnmatchedCloser() {
+        val content = "<!-- wp:paragraph --><p>Hi</p><!-- /wp:paragraph -->" +
+            "<p>Classic</p><!-- /wp:paragraph --><!-- wp:paragraph --><p>Hello</p><!-- /wp:paragraph -->"
+
+        assertEquals(
+            listOf("start 0 core/paragraph", "html 1 <p>Hi</p>", "end 0 core/paragraph",
+                "html 0 <p>Classic</p><!-- /wp:paragraph --><!-- wp:paragraph --><p>Hello</p><!-- /wp:paragraph -->"),
+            parse(content)
+        )
+    }
+
+    @Test
+    fun testClosesBlocksLeftOpen() {
+        assertEquals(
+            listOf("start 0 core/group", "start 1 core/paragraph", "html 2 <p>Hi</p>", "end 1 core/paragraph",
+                "end 0 core/group"),
+            parse("<!-- wp:group --><!-- wp:paragraph --><p>Hi</p>")
+        )
+    }
+
+    @Test
+    fun testComputesContentStats() {
+        val content = "<!-- wp:paragraph -->\n<p>Hello <strong>world</strong>&nbsp;&amp; friends!</p>\n" +
+            "<!-- /wp:paragraph -->\n\n" +
+            "<!-- wp:group --><div><!-- wp:paragraph --><p>Don't--stop</p><!-- /wp:paragraph -->" +
+            "<!-- wp:unknown/block /--></div><!-- /wp:group -->\n\n" +
+            "<p>Classic 👋</p>"
+
+        val stats = ContentStats.compute(content, setOf("core/paragraph", "core/group", "core/freeform"))
+
+        assertEquals(5, stats.blockCount)
+        assertEquals(2, stats.paragraphCount)
+        // Hello, world, friends, Dont, stop, Classic, 👋
+        assertEquals(7, stats.wordCount)
+        assertEquals(listOf("unknown/block"), stats.unsupportedBlockNames.toList())
+    }
+
+    private fun parse(content: String): List<String> {
+        val events = mutableListOf<String>()
+        BlockGrammarParser.parse(content, object : BlockGrammarParser.Handler {
+            override fun onBlockStart(
+                depth: Int,
+                start: Int,
+                end: Int,
+                nameStart: Int,
+                nameEnd: Int,
+                attrsStart: Int,
+                attrsEnd: Int,
+                isVoid: Boolean
+            ) {
+                val name = BlockGrammarParser.getBlockName(content, nameStart, nameEnd)
+                val attrs = if (attrsStart == BlockGrammarParser.NO_ATTRIBUTES) {
+                    ""
+                } else {
+                    " " + content.substring(attrsStart, attrsEnd)
+                }
+                events.add("${if (isVoid) "void" else "start"} $depth $name$attrs")
+            }
+
+            override fun onBlockEnd(depth: Int, start: Int, end: Int, nameStart: Int, nameEnd: Int) {
+                events.add("end $depth ${BlockGrammarParser.getBlockName(content, nameStart, nameEnd)}")
+            }
+
+            override fun onHtml(depth: Int, start: Int, end: Int) {
+                val html = content.substring(start, end).trim()
+                if (html.isNotEmpty()) {
+                    events.add("html $depth $html")
+                }
+            }
+        })
+        return events
+    }
+}
@@ -0,0 +1,14 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class ContentFingerprintTest {
+    @Test
+    fun testMatchesFingerprintsComputedByJs() {
+        // Same values as contentFingerprint.test.js
+        assertEquals(3338908027751811L, ContentFingerprint.of(""))
+        assertEquals(3494146707865688L, ContentFingerprint.of("Hello world"))
+        assertEquals(259480873809778L, ContentFingerprint.of("<!-- wp:paragraph --><p>👋</p><!-- /wp:paragraph -->"))
+    }
+}
@@ -0,0 +1,77 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+class ContentInfoCacheTest {
+    private val cache = ContentInfoCache { it.run() }
+
+    @Test
+    fun testIsStaleUntilContentIsCounted() {
+        assertNull(cache.contentInfo)
+
+        cache.update(PARAGRAPH + "\n\n" + PARAGRAPH)
+        assertEquals(contentInfo(PARAGRAPH + "\n\n" + PARAGRAPH), cache.contentInfo)
+
+        cache.markStale()
+        assertNull(cache.contentInfo)
+        assertEquals(1, cache.hits)
+        assertEquals(2, cache.misses)
+    }
+
+    @Test
+    fun testCountsOnlyChangedBlocks() {
+        val blocks = (1..10).map { "<!-- wp:paragraph --><p>Paragraph $it</p><!-- /wp:paragraph -->" }
+        cache.update(blocks.joinToString("\n\n"))
+
+        val edited = blocks.toMutableList().apply {
+            this[4] = "<!-- wp:group --><div><!-- wp:paragraph --><p>Two more words</p><!-- /wp:paragraph --></div>" +
+                "<!-- /wp:group -->"
+        }.joinToString("\n\n")
+        cache.update(edited)
+
+        assertEquals(contentInfo(edited), cache.contentInfo)
+        // 10 paragraphs and the whitespace between them, then the edited block and the whitespace around it
+        assertEquals(19L + 3L, cache.countedBlocks)
+        assertEquals(16L, cache.reusedBlocks)
+    }
+
+    @Test
+    fun testCountsAllWhenChangeLeavesBlocksOpen() {
+        cache.update("<!-- wp:group --><div>$PARAGRAPH</div><!-- /wp:group -->\n\n$PARAGRAPH")
+
+        val edited = "<!-- wp:group --><div>$PARAGRAPH</div>\n\n$PARAGRAPH"
+        cache.update(edited)
+
+        assertEquals(contentInfo(edited), cache.contentInfo)
+    }
+
+    @Test
+    fun testCountsAllWhenChangeAddsUnmatchedCloser() {
+        val blocks = (1..5).map { "<!-- wp:paragraph --><p>Paragraph $it</p><!-- /wp:paragraph -->" }
+        cache.update(blocks.joinToString("\n\n"))
+
+        // The rest of the content is freeform HTML from the closer without opener
+        val edited = blocks.toMutableList().apply {
+            this[1] = "<p>Paragraph 2</p><!-- /wp:paragraph -->"
+        }.joinToString("\n\n")
+        cache.update(edited)
+
+        assertEquals(contentInfo(edited), cache.contentInfo)
+    }
+
+    private fun contentInfo(content: String): HashMap<String, Any> {
+        val stats = ContentStats.compute(content)
+        return hashMapOf(
+            ContentInfoCache.KEY_CHARACTER_COUNT to stats.characterCount.toDouble(),
+            ContentInfoCache.KEY_WORD_COUNT to stats.wordCount.toDouble(),
+            ContentInfoCache.KEY_PARAGRAPH_COUNT to stats.paragraphCount.toDouble(),
+            ContentInfoCache.KEY_BLOCK_COUNT to stats.blockCount.toDouble()
+        )
+    }
+
+    private companion object {
+        const val PARAGRAPH = "<!-- wp:paragraph -->\n<p>Hello world</p>\n<!-- /wp:paragraph -->"
+    }
+}
@@ -0,0 +1,115 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import android.os.Bundle
+import com.facebook.react.bridge.WritableMap
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class DeferredEventEmitterTest {
+    private val emitter = DeferredEventEmitter(JavaOnlyMapFactory)
+    private val events = mutableListOf<Pair<String, WritableMap?>>()
+
+    private val props = GutenbergProps(
+        enableContactInfoBlock = false,
+        enableLayoutGridBlock = false,
+        enableTiledGalleryBlock = false,
+        enableVideoPressBlock = false,
+        enableVideoPressV5Support = false,
+        enableFacebookEmbed = false,
+        enableInstagramEmbed = false,
+        enableLoomEmbed = false,
+        enableSmartframeEmbed = false,
+        enableMentions = false,
+        enableXPosts = false,
+        enableUnsupportedBlockEditor = false,
+        enableSupportSection = false,
+        enableOnlyCoreBlocks = false,
+        canEnableUnsupportedBlockEditor = false,
+        isAudioBlockMediaUploadEnabled = false,
+        shouldUseFastImage = false,
+        enableReusableBlock = false,
+        localeSlug = "en-us",
+        postType = "post",
+        hostAppNamespace = "WordPress",
+        featuredImageId = 0,
+        editorTheme = null,
+        translations = Bundle(),
+        isDarkMode = false,
+        htmlModeEnabled = false
+    )
+
+    @Test
+    fun testCapabilityKeysMatchCapabilitiesProps() {
+        assertEquals(
+            GutenbergProps.CAPABILITY_KEYS.toSet(),
+            props.getUpdatedCapabilitiesProps().keySet()
+        )
+    }
+
+    @Test
+    fun testSendsChangedCapabilitiesOnly() {
+        emitter.setInitialCapabilities(props)
+        emitter.setEmitter { eventName, data -> events.add(eventName to data) }
+
+        emitter.updateCapabilities(props)
+        emitter.updateCapabilities(props.copy(enableMentions = true, enableXPosts = true))
+        emitter.updateCapabilities(props.copy(enableMentions = true))
+
+        assertEquals(
+            listOf(
+                mapOf("mentions" to true, "xposts" to true),
+                mapOf("xposts" to false)
+            ),
+            events.map { (_, data) -> data?.toHashMap() }
+        )
+        assertEquals(1, emitter.skippedCapabilityUpdates)
+    }
+
+    @Test
+    fun testSendsAllCapabilitiesWithoutInitialCapabilities() {
+        emitter.updateCapabilities(props.copy(enableMentions = true))
+        emitter.setEmitter { eventName, data -> events.add(eventName to data) }
+
+        assertEquals(1, events.size)
+        assertEquals(GutenbergProps.CAPABILITY_KEYS.toSet(), events[0].second?.toHashMap()?.keys)
+    }
+
+    @Test
+    fun testSendsUpdatedCapabilitiesAgainToNextJSContext() {
+        emitter.setInitialCapabilities(props)
+        emitter.setEmitter { _, _ -> }
+        emitter.updateCapabilities(props.copy(enableMentions = true))
+
+        emitter.setEmitter(null)
+        emitter.setEmitter { eventName, data -> events.add(eventName to data) }
+
+        assertEquals(listOf(mapOf("mentions" to true)), events.map { (_, data) -> data?.toHashMap() })
+    }
+
+    @Test
+    fun testReturnsCurrentCapabilities() {
+        assertNull(emitter.capabilities)
+
+        emitter.setInitialCapabilities(props)
+        emitter.updateCapabilities(props.copy(enableMentions = true))
+
+        val capabilities = emitter.capabilities
+        assertEquals(true, capabilities?.getBoolean("mentions"))
+        assertEquals(false, capabilities?.getBoolean("xposts"))
+    }
+
+    @Test
+    fun testFlushesQueuedEventsInOrder() {
+        for (mediaId in 1..1_000) {
+            emitter.onMediaFileUploadFailed(mediaId)
+        }
+
+        emitter.setEmitter { eventName, data -> events.add(eventName to data) }
+
+        assertEquals((1..1_000).toList(), events.map { (_, data) -> data?.getInt("mediaId") })
+    }
+}
@@ -0,0 +1,54 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class EditorContentTest {
+    private val editorContent = EditorContent()
+
+    @Test
+    fun testReturnsHostContentWhenUnchanged() {
+        editorContent.setFromHost(TITLE, CONTENT)
+        editorContent.setFromEditor(TITLE, CONTENT)
+
+        assertFalse(editorContent.isChanged)
+        assertEquals(CONTENT, editorContent.getContentOr(CONTENT))
+    }
+
+    @Test
+    fun testReturnsEditsAfterReleaseAndRestore() {
+        editorContent.setFromHost(TITLE, CONTENT)
+        // The edits returned when the React instance is released
+        editorContent.setFromEditor(TITLE, EDITED_CONTENT)
+        assertEquals(EDITED_CONTENT, editorContent.getContentOr(CONTENT))
+
+        // The restored editor starts with the edits, and returns them unchanged
+        assertEquals(EDITED_CONTENT, editorContent.content)
+        editorContent.setFromEditor(editorContent.title, editorContent.content)
+
+        assertTrue(editorContent.isChanged)
+        assertEquals(ContentFingerprint.of(CONTENT), editorContent.hostContentFingerprint)
+        assertEquals(EDITED_CONTENT, editorContent.getContentOr(CONTENT))
+    }
+
+    @Test
+    fun testTellsTitleChanges() {
+        editorContent.setFromHost(TITLE, CONTENT)
+        editorContent.setFromEditor("Edited title", CONTENT)
+        assertTrue(editorContent.isChanged)
+
+        editorContent.setFromHost("Edited title", null)
+        assertFalse(editorContent.isChanged)
+    }
+
+    private companion object {
+        const val TITLE = "Title"
+        const val CONTENT = "<!-- wp:paragraph --><p>Hello</p><!-- /wp:paragraph -->"
+        const val EDITED_CONTENT = "<!-- wp:paragraph --><p>Hello world</p><!-- /wp:paragraph -->"
+    }
+}
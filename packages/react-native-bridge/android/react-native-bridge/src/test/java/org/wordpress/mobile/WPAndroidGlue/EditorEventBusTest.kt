@@ -0,0 +1,89 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.mobile.WPAndroidGlue.EditorEventBus.Delivery
+import java.util.concurrent.Executor
+
+@RunWith(RobolectricTestRunner::class)
+class EditorEventBusTest {
+    private val pendingTasks = ArrayDeque<Runnable>()
+    private val queueingExecutor = Executor { pendingTasks.add(it) }
+    private val bus = EditorEventBus(queueingExecutor, queueingExecutor)
+
+    @Test
+    fun testDeliversImmediatelyOnPostingThread() {
+        val received = mutableListOf<String>()
+        bus.subscribe(EditorEvents.ButtonPressed::class.java, Delivery.IMMEDIATE) { received.add(it.buttonType) }
+
+        assertTrue(bus.post(EditorEvents.ButtonPressed("missing_block_alert_actionsheet")))
+        assertEquals(listOf("missing_block_alert_actionsheet"), received)
+        assertTrue(pendingTasks.isEmpty())
+    }
+
+    @Test
+    fun testDeliversInOrderOnExecutor() {
+        val received = mutableListOf<Boolean>()
+        bus.subscribe(EditorEvents.UndoButtonToggled::class.java, Delivery.BACKGROUND) { received.add(it.isDisabled) }
+
+        bus.post(EditorEvents.UndoButtonToggled(true))
+        bus.post(EditorEvents.UndoButtonToggled(false))
+        assertTrue(received.isEmpty())
+
+        runPendingTasks()
+        assertEquals(listOf(true, false), received)
+        assertEquals(2, bus.getMetrics(EditorEvents.UndoButtonToggled::class.java).delivered)
+    }
+
+    @Test
+    fun testDropsOldestEventsWhenSubscriberIsBehind() {
+        val received = mutableListOf<String>()
+        bus.subscribe(EditorEvents.EventSentToHost::class.java, Delivery.BACKGROUND, 2) { received.add(it.eventName) }
+
+        for (eventName in listOf("first", "second", "third")) {
+            bus.post(EditorEvents.EventSentToHost(eventName, emptyMap()))
+        }
+        runPendingTasks()
+
+        assertEquals(listOf("second", "third"), received)
+        val metrics = bus.getMetrics(EditorEvents.EventSentToHost::class.java)
+        assertEquals(3, metrics.posted)
+        assertEquals(1, metrics.dropped)
+    }
+
+    @Test
+    fun testStopsDeliveringAfterUnsubscribing() {
+        val received = mutableListOf<Int>()
+        val subscription = bus.subscribe(EditorEvents.FeaturedImageSet::class.java, Delivery.MAIN) {
+            received.add(it.mediaId)
+        }
+
+        bus.post(EditorEvents.FeaturedImageSet(1))
+        subscription.unsubscribe()
+        runPendingTasks()
+
+        assertTrue(received.isEmpty())
+        assertFalse(bus.post(EditorEvents.FeaturedImageSet(2)))
+    }
+
+    @Test
+    fun testIgnoresEventsAfterShutdown() {
+        val received = mutableListOf<String>()
+        bus.subscribe(EditorEvents.ButtonPressed::class.java, Delivery.IMMEDIATE) { received.add(it.buttonType) }
+
+        bus.shutdown()
+
+        assertFalse(bus.post(EditorEvents.ButtonPressed("missing_block_alert_actionsheet")))
+        assertTrue(received.isEmpty())
+    }
+
+    private fun runPendingTasks() {
+        while (pendingTasks.isNotEmpty()) {
+            pendingTasks.removeFirst().run()
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.LogLevel
+
+@RunWith(RobolectricTestRunner::class)
+class EditorLogPipelineTest {
+    private val pipeline = EditorLogPipeline(4) { it.run() }
+
+    @Test
+    fun testDumpsLastLinesInOrder() {
+        for (i in 1..6) {
+            pipeline.log("Line $i", LogLevel.INFO)
+        }
+
+        val lines = pipeline.dumpRecentLogs().lines().filter { it.isNotEmpty() }
+        assertEquals(4, lines.size)
+        assertTrue(lines.first().endsWith("INFO Line 3"))
+        assertTrue(lines.last().endsWith("INFO Line 6"))
+    }
+
+    @Test
+    fun testIgnoresLinesBelowMinLogLevel() {
+        pipeline.setMinLogLevel(LogLevel.WARN)
+        pipeline.log("Trace", LogLevel.TRACE)
+        pipeline.log("Warning", LogLevel.WARN)
+
+        val dump = pipeline.dumpRecentLogs()
+        assertFalse(dump.contains("Trace"))
+        assertTrue(dump.contains("Warning"))
+    }
+
+    @Test
+    fun testDropsLinesOverRateLimit() {
+        pipeline.setMaxLinesPerSecond(2)
+        for (i in 1..5) {
+            pipeline.log("Line $i", LogLevel.INFO)
+        }
+
+        assertEquals(3, pipeline.droppedLines)
+        assertFalse(pipeline.dumpRecentLogs().contains("Line 3"))
+    }
+
+    @Test
+    fun testKeepsLinesWithoutWritingThemAfterShutdown() {
+        var writes = 0
+        val pipeline = EditorLogPipeline(4) { writes++ }
+        pipeline.shutdown()
+        pipeline.log("Line", LogLevel.INFO)
+
+        assertEquals(0, writes)
+        assertTrue(pipeline.dumpRecentLogs().contains("INFO Line"))
+    }
+}
@@ -0,0 +1,127 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import java.io.File
+import java.io.RandomAccessFile
+
+@RunWith(RobolectricTestRunner::class)
+class EditorSnapshotStoreTest {
+    @get:Rule
+    val temporaryFolder = TemporaryFolder()
+
+    private lateinit var journalFile: File
+
+    @Before
+    fun setUp() {
+        journalFile = File(temporaryFolder.root, "post.journal")
+    }
+
+    @Test
+    fun testRestoresLatestSnapshotFromANewSession() {
+        val store = EditorSnapshotStore(journalFile)
+        store.saveSnapshot("Title", "<p>Hello</p>")
+        store.flush()
+        store.saveSnapshot("Title", "<p>Hello world</p>")
+        store.flush()
+        store.saveSnapshot("New title", "<p>Hi world 👋</p>")
+        store.flush()
+
+        val snapshot = EditorSnapshotStore(journalFile).restoreLastSession()
+        assertEquals("New title", snapshot?.title)
+        assertEquals("<p>Hi world 👋</p>", snapshot?.content)
+    }
+
+    @Test
+    fun testIgnoresTornRecord() {
+        val store = EditorSnapshotStore(journalFile)
+        store.saveSnapshot("Title", "<p>Hello</p>")
+        store.flush()
+        val validLength = journalFile.length()
+        store.saveSnapshot("Title", "<p>Hello world</p>")
+        store.flush()
+
+        // Simulate a crash while the last record was being written
+        RandomAccessFile(journalFile, "rw").use { it.setLength(journalFile.length() - 3) }
+        assertEquals("<p>Hello</p>", EditorSnapshotStore(journalFile).restoreLastSession()?.content)
+
+        RandomAccessFile(journalFile, "rw").use { it.setLength(validLength + 2) }
+        assertEquals("<p>Hello</p>", EditorSnapshotStore(journalFile).restoreLastSession()?.content)
+    }
+
+    @Test
+    fun testIgnoresCorruptedRecord() {
+        val store = EditorSnapshotStore(journalFile)
+        store.saveSnapshot("Title", "<p>Hello</p>")
+        store.flush()
+        store.saveSnapshot("Title", "<p>Hello world</p>")
+        store.flush()
+
+        RandomAccessFile(journalFile, "rw").use {
+            it.seek(journalFile.length() - 10)
+            it.write('X'.code)
+        }
+        assertEquals("<p>Hello</p>", EditorSnapshotStore(journalFile).restoreLastSession()?.content)
+    }
+
+    @Test
+    fun testCompactsJournal() {
+        val store = EditorSnapshotStore(journalFile)
+        store.setCompactionThresholdBytes(1024)
+        var content = ""
+        for (i in 0 until 200) {
+            content += "<p>Paragraph $i</p>"
+            store.saveSnapshot("Title", content)
+            store.flush()
+        }
+
+        assertTrue(journalFile.length() < content.length + 2 * 1024)
+        assertEquals(content, EditorSnapshotStore(journalFile).restoreLastSession()?.content)
+    }
+
+    @Test
+    fun testKeepsPreviousSessionJournal() {
+        val store = EditorSnapshotStore(journalFile)
+        store.saveSnapshot("Title", "<p>Hello</p>")
+        store.flush()
+
+        val newStore = EditorSnapshotStore(journalFile)
+        newStore.saveSnapshot("Title", "<p>Hello world</p>")
+        newStore.flush()
+
+        assertEquals("<p>Hello world</p>", newStore.restoreLastSession()?.content)
+        assertEquals("<p>Hello</p>", newStore.restorePreviousSession()?.content)
+    }
+
+    @Test
+    fun testClearDeletesSnapshots() {
+        val store = EditorSnapshotStore(journalFile)
+        store.saveSnapshot("Title", "<p>Hello</p>")
+        store.flush()
+        val newStore = EditorSnapshotStore(journalFile)
+        newStore.saveSnapshot("Title", "<p>Hello world</p>")
+        newStore.clear()
+        newStore.flush()
+
+        assertNull(newStore.restoreLastSession())
+        assertNull(newStore.restorePreviousSession())
+    }
+
+    @Test
+    fun testIgnoresSnapshotsAfterShutdown() {
+        val store = EditorSnapshotStore(journalFile)
+        store.saveSnapshot("Title", "<p>Hello</p>")
+        store.shutdown()
+        store.saveSnapshot("Title", "<p>Hello world</p>")
+        store.flush()
+
+        assertEquals("<p>Hello</p>", EditorSnapshotStore(journalFile).restoreLastSession()?.content)
+    }
+}
@@ -0,0 +1,53 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class EditorThemeCacheTest {
+    @get:Rule
+    val temporaryFolder = TemporaryFolder()
+
+    @Test
+    fun testKeepsStylesAcrossSessions() {
+        EditorThemeCache(temporaryFolder.root) { it.run() }.put(THEME_HASH, STYLES)
+
+        val cache = EditorThemeCache(temporaryFolder.root) { it.run() }
+
+        assertEquals(STYLES, cache.get(THEME_HASH))
+        assertNull(cache.get(THEME_HASH + 1))
+        assertEquals(1, cache.hits)
+        assertEquals(1, cache.misses)
+    }
+
+    @Test
+    fun testPreloadsStyles() {
+        EditorThemeCache(temporaryFolder.root) { it.run() }.put(THEME_HASH, STYLES)
+        val cache = EditorThemeCache(temporaryFolder.root) { it.run() }
+        cache.preload(THEME_HASH)
+
+        temporaryFolder.root.listFiles()?.forEach { it.delete() }
+
+        assertEquals(STYLES, cache.get(THEME_HASH))
+    }
+
+    @Test
+    fun testKeepsStylesOfLastThemesOnly() {
+        val cache = EditorThemeCache(temporaryFolder.root) { it.run() }
+        for (i in 0L until 6L) {
+            cache.put(THEME_HASH + i, STYLES)
+        }
+
+        assertEquals(4, temporaryFolder.root.listFiles()?.size)
+    }
+
+    private companion object {
+        const val THEME_HASH = 1234567890123L
+        const val STYLES = """{"colors":[{"name":"Primary","slug":"primary","color":"#3858e9"}]}"""
+    }
+}
@@ -0,0 +1,58 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import android.os.Bundle
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class EditorThemeSyncTest {
+    private val sync = EditorThemeSync()
+
+    @Test
+    fun testSendsThemeInFullFirst() {
+        val update = sync.update(theme("styles", "features"))
+
+        assertEquals(ContentFingerprint.NONE, update.baseThemeHash)
+        assertTrue(update.isChanged(EditorThemeSync.KEY_RAW_STYLES))
+        assertTrue(update.isChanged(EditorThemeSync.KEY_RAW_FEATURES))
+        assertFalse(update.isChanged(EditorThemeSync.KEY_COLORS))
+    }
+
+    @Test
+    fun testSendsHashOnlyOfThemeSentInProps() {
+        sync.onThemeSent(theme("styles", "features"))
+
+        val update = sync.update(theme("styles", "features"))
+
+        assertEquals(EditorThemeSync.getThemeHash(theme("styles", "features")), update.themeHash)
+        assertEquals(update.themeHash, update.baseThemeHash)
+        assertFalse(update.isChanged(EditorThemeSync.KEY_RAW_STYLES))
+        assertFalse(update.isChanged(EditorThemeSync.KEY_RAW_FEATURES))
+        assertEquals(1, sync.unchangedUpdates)
+    }
+
+    @Test
+    fun testSendsChangedFieldsOnly() {
+        val first = sync.update(theme("styles", "features"))
+
+        val update = sync.update(theme("new styles", null))
+
+        assertEquals(first.themeHash, update.baseThemeHash)
+        assertNotEquals(first.themeHash, update.themeHash)
+        assertTrue(update.isChanged(EditorThemeSync.KEY_RAW_STYLES))
+        // Removed
+        assertTrue(update.isChanged(EditorThemeSync.KEY_RAW_FEATURES))
+        assertFalse(update.isChanged(EditorThemeSync.KEY_COLORS))
+        assertEquals(1, sync.diffUpdates)
+    }
+
+    private fun theme(rawStyles: String?, rawFeatures: String?) = Bundle().apply {
+        rawStyles?.let { putSerializable(EditorThemeSync.KEY_RAW_STYLES, it) }
+        rawFeatures?.let { putSerializable(EditorThemeSync.KEY_RAW_FEATURES, it) }
+    }
+}
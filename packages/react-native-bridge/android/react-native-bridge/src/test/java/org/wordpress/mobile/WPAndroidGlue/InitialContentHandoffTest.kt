@@ -0,0 +1,48 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+class InitialContentHandoffTest {
+    private val handoff = InitialContentHandoff(4).apply { setThreshold(8) }
+
+    @Test
+    fun testKeepsSmallContentInProps() {
+        assertNull(handoff.handOff("<p>A</p>"))
+    }
+
+    @Test
+    fun testReadsContentInChunksWithoutSplittingSurrogatePairs() {
+        val content = "<p>Hi 👋 there</p>"
+        val handle = handoff.handOff(content)
+        assertNotNull(handle)
+
+        val chunks = readAll(handle!!)
+        assertEquals(content, chunks.joinToString(""))
+        assertEquals("", handoff.readChunk(handle, content.length))
+        chunks.forEach { chunk -> assertEquals(false, Character.isHighSurrogate(chunk.last())) }
+    }
+
+    @Test
+    fun testForgetsReleasedContent() {
+        val handle = handoff.handOff("<p>First post</p>")!!
+        handoff.release()
+
+        assertNull(handoff.readChunk(handle, 0))
+    }
+
+    private fun readAll(handle: String): List<String> {
+        val chunks = mutableListOf<String>()
+        var length = 0
+        while (true) {
+            val chunk = handoff.readChunk(handle, length)!!
+            if (chunk.isEmpty()) {
+                return chunks
+            }
+            chunks.add(chunk)
+            length += chunk.length
+        }
+    }
+}
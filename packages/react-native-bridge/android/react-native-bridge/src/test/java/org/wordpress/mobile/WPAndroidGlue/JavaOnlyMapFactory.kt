@@ -0,0 +1,15 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import com.facebook.react.bridge.JavaOnlyArray
+import com.facebook.react.bridge.JavaOnlyMap
+import com.facebook.react.bridge.WritableArray
+import com.facebook.react.bridge.WritableMap
+
+/**
+ * Creates [JavaOnlyMap]s and [JavaOnlyArray]s, which don't need the React Native native libraries.
+ */
+object JavaOnlyMapFactory : WritableMapFactory {
+    override fun createMap(): WritableMap = JavaOnlyMap()
+
+    override fun createArray(): WritableArray = JavaOnlyArray()
+}
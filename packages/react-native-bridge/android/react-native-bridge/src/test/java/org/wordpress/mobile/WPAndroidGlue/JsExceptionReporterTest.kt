@@ -0,0 +1,114 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import com.facebook.react.bridge.JavaOnlyArray
+import com.facebook.react.bridge.JavaOnlyMap
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.shadows.ShadowSystemClock
+import java.time.Duration
+
+@RunWith(RobolectricTestRunner::class)
+class JsExceptionReporterTest {
+    private val reporter = JsExceptionReporter { it.run() }
+    private val reported = mutableListOf<GutenbergJsException>()
+    private val callbackResults = mutableListOf<Boolean>()
+
+    @Before
+    fun setUp() {
+        reporter.setListener { exception, callback ->
+            reported.add(exception)
+            callback.onLogException(true)
+        }
+    }
+
+    @Test
+    fun testDeduplicatesWithinWindow() {
+        reporter.setDedupeWindowMs(1_000)
+        repeat(3) { report(createRawException("undefined is not an object")) }
+        report(createRawException("null is not an object"))
+
+        assertEquals(listOf("undefined is not an object", "null is not an object"), reported.map { it.message })
+        assertEquals(2, reporter.deduplicated)
+        assertEquals(listOf(true, true, true, true), callbackResults)
+    }
+
+    @Test
+    fun testOnlyReadsFingerprintOfDeduplicatedExceptions() {
+        reporter.setDedupeWindowMs(1_000)
+        report(createRawException("undefined is not an object"))
+        // The context can't be read, which only matters when the exception is reported
+        report(createRawException("undefined is not an object").apply { putString("context", "render") })
+
+        assertEquals(1, reported.size)
+        assertEquals(1, reporter.deduplicated)
+        assertEquals(listOf(true, true), callbackResults)
+    }
+
+    @Test
+    fun testReportsOccurrencesAfterWindow() {
+        reporter.setDedupeWindowMs(1_000)
+        repeat(3) { report(createRawException("undefined is not an object")) }
+        ShadowSystemClock.advanceBy(Duration.ofMillis(1_000))
+        report(createRawException("undefined is not an object"))
+
+        assertEquals(2, reported.size)
+        assertNull(reported[0].tags[JsExceptionReporter.TAG_OCCURRENCES])
+        assertEquals("3", reported[1].tags[JsExceptionReporter.TAG_OCCURRENCES])
+    }
+
+    @Test
+    fun testRateLimitsReports() {
+        reporter.setMaxReportsPerMinute(2)
+        for (i in 1..4) {
+            report(createRawException("Error $i"))
+        }
+
+        assertEquals(2, reported.size)
+        assertEquals(2, reporter.rateLimited)
+        assertEquals(4, reporter.received)
+    }
+
+    @Test
+    fun testReportsExceptionWithMissingKeys() {
+        report(JavaOnlyMap.of(
+            "type", "TypeError",
+            "stacktrace", JavaOnlyArray.of(JavaOnlyMap.of("filename", "index.android.bundle"))
+        ))
+
+        assertEquals("", reported.single().message)
+        assertTrue(reported.single().stackTrace.isEmpty())
+        assertEquals(listOf(true), callbackResults)
+    }
+
+    @Test
+    fun testTellsJsWhenExceptionCannotBeRead() {
+        report(JavaOnlyMap.of("type", "TypeError", "stacktrace", JavaOnlyArray.of("render")))
+
+        assertTrue(reported.isEmpty())
+        assertEquals(listOf(false), callbackResults)
+    }
+
+    private fun report(rawException: JavaOnlyMap) {
+        reporter.report(rawException) { callbackResults.add(it) }
+    }
+
+    private fun createRawException(message: String) = JavaOnlyMap.of(
+        "type", "TypeError",
+        "message", message,
+        "stacktrace", JavaOnlyArray.of(JavaOnlyMap.of(
+            "filename", "index.android.bundle",
+            "lineno", 1,
+            "colno", 2,
+            "function", "render"
+        )),
+        "context", JavaOnlyMap(),
+        "tags", JavaOnlyMap(),
+        "isHandled", false,
+        "handledBy", "Unknown"
+    )
+}
@@ -0,0 +1,84 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import android.graphics.Bitmap
+import android.graphics.Color
+import android.media.ExifInterface
+import android.os.Looper
+import com.facebook.react.bridge.JavaOnlyMap
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.Shadows.shadowOf
+import org.robolectric.annotation.GraphicsMode
+
+@RunWith(RobolectricTestRunner::class)
+class MediaThumbnailGeneratorTest {
+    private val generator = MediaThumbnailGenerator(RuntimeEnvironment.getApplication(), 100)
+    private val batches = mutableListOf<List<Media>>()
+
+    @After
+    fun tearDown() {
+        generator.shutdown()
+    }
+
+    @Test
+    fun testCompletesListsInOrder() {
+        val remoteMedia = createMedia(1)
+        generator.attachThumbnails(listOf(remoteMedia)) { batches.add(it) }
+        generator.attachThumbnails(emptyList()) { batches.add(it) }
+
+        // The empty list is done right away, but waits for the list passed before it
+        assertTrue(batches.isEmpty())
+
+        idleUntil { batches.size == 2 }
+        assertEquals(2, batches.size)
+        assertSame(remoteMedia, batches[0].single())
+        assertTrue(batches[1].isEmpty())
+    }
+
+    @Test
+    fun testReturnsListsAsTheyAreAfterShutdown() {
+        val media = createMedia(1)
+        generator.shutdown()
+
+        generator.attachThumbnails(listOf(media)) { batches.add(it) }
+
+        assertEquals(listOf(listOf(media)), batches)
+    }
+
+    @Test
+    @GraphicsMode(GraphicsMode.Mode.NATIVE)
+    fun testRotatesAsExifOrientationSays() {
+        val bitmap = Bitmap.createBitmap(4, 2, Bitmap.Config.ARGB_8888).apply { setPixel(0, 0, Color.RED) }
+
+        val rotated = MediaThumbnailGenerator.rotate(bitmap, ExifInterface.ORIENTATION_ROTATE_90)
+
+        assertEquals(2, rotated.width)
+        assertEquals(4, rotated.height)
+        // Turned clockwise, the top left corner is now the top right one
+        assertEquals(Color.RED, rotated.getPixel(1, 0))
+    }
+
+    @Test
+    fun testKeepsBitmapWithNormalOrientation() {
+        val bitmap = Bitmap.createBitmap(4, 2, Bitmap.Config.ARGB_8888)
+
+        assertSame(bitmap, MediaThumbnailGenerator.rotate(bitmap, ExifInterface.ORIENTATION_NORMAL))
+    }
+
+    private fun idleUntil(condition: () -> Boolean) {
+        val deadline = System.currentTimeMillis() + 5000
+        while (!condition() && System.currentTimeMillis() < deadline) {
+            shadowOf(Looper.getMainLooper()).idle()
+            Thread.sleep(10)
+        }
+    }
+
+    private fun createMedia(id: Int) =
+        Media(id, "https://example.com/$id.jpg", "image", metadata = JavaOnlyMap())
+}
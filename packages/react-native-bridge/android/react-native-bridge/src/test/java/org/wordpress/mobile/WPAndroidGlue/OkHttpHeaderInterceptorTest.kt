@@ -0,0 +1,63 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import okhttp3.HttpUrl.Companion.toHttpUrl
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.mobile.WPAndroidGlue.WPAndroidGlueCode.OnAuthHeaderRequestedListener
+
+@RunWith(RobolectricTestRunner::class)
+class OkHttpHeaderInterceptorTest {
+    private val interceptor = OkHttpHeaderInterceptor()
+    private val requestedUrls = mutableListOf<String>()
+
+    @Test
+    fun testAsksForHeadersOfEachUrl() {
+        interceptor.setOnAuthHeaderRequestedListener(createListener(perHost = false))
+
+        interceptor.getAuthHeaders(IMAGE_URL.toHttpUrl())
+        interceptor.getAuthHeaders(IMAGE_URL.toHttpUrl())
+        val headers = interceptor.getAuthHeaders(OTHER_IMAGE_URL.toHttpUrl())
+
+        assertEquals(listOf(IMAGE_URL, OTHER_IMAGE_URL), requestedUrls)
+        assertEquals("Bearer $OTHER_IMAGE_URL", headers["Authorization"])
+        assertEquals(1, interceptor.cacheHits)
+    }
+
+    @Test
+    fun testReusesHeadersForHostWhenListenerSaysSo() {
+        interceptor.setOnAuthHeaderRequestedListener(createListener(perHost = true))
+
+        interceptor.getAuthHeaders(IMAGE_URL.toHttpUrl())
+        val headers = interceptor.getAuthHeaders(OTHER_IMAGE_URL.toHttpUrl())
+
+        assertEquals(listOf(IMAGE_URL), requestedUrls)
+        assertEquals("Bearer $IMAGE_URL", headers["Authorization"])
+    }
+
+    @Test
+    fun testInvalidatesHeadersOfHost() {
+        interceptor.setOnAuthHeaderRequestedListener(createListener(perHost = false))
+
+        interceptor.getAuthHeaders(IMAGE_URL.toHttpUrl())
+        interceptor.invalidateAuthHeaders("example.com")
+        interceptor.getAuthHeaders(IMAGE_URL.toHttpUrl())
+
+        assertEquals(2, interceptor.listenerCalls)
+    }
+
+    private fun createListener(perHost: Boolean) = object : OnAuthHeaderRequestedListener {
+        override fun onAuthHeaderRequested(url: String): Map<String, String> {
+            requestedUrls.add(url)
+            return mapOf("Authorization" to "Bearer $url")
+        }
+
+        override fun areAuthHeadersPerHost() = perHost
+    }
+
+    private companion object {
+        const val IMAGE_URL = "https://example.com/wp-content/uploads/1.jpg"
+        const val OTHER_IMAGE_URL = "https://example.com/wp-content/uploads/2.jpg?w=300"
+    }
+}
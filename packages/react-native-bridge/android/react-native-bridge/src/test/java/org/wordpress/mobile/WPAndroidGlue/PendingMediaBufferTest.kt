@@ -0,0 +1,62 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import com.facebook.react.bridge.JavaOnlyMap
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.shadows.ShadowSystemClock
+import java.time.Duration
+
+@RunWith(RobolectricTestRunner::class)
+class PendingMediaBufferTest {
+    private val buffer = PendingMediaBuffer()
+
+    @Test
+    fun testDrainsMediaInInsertionOrder() {
+        buffer.add(createMedia(3))
+        buffer.add(createMedia(1))
+        buffer.add(createMedia(2))
+
+        assertEquals(listOf(3, 1, 2), buffer.drain().map { it.id })
+        assertTrue(buffer.isEmpty)
+    }
+
+    @Test
+    fun testKeepsFirstPositionAndLastValuesOfDuplicatedMedia() {
+        buffer.add(createMedia(1))
+        buffer.add(createMedia(2))
+        buffer.add(createMedia(1, "https://example.com/1-edited.jpg"))
+
+        val media = buffer.drain()
+        assertEquals(listOf(1, 2), media.map { it.id })
+        assertEquals("https://example.com/1-edited.jpg", media[0].url)
+    }
+
+    @Test
+    fun testSkipsMediaThatCannotBeAppended() {
+        buffer.add(createMedia(0))
+        buffer.add(createMedia(1, ""))
+        buffer.add(createMedia(2))
+
+        assertEquals(listOf(2), buffer.drain().map { it.id })
+        assertEquals(1, buffer.drainedMedia)
+    }
+
+    @Test
+    fun testCountsWaitTime() {
+        buffer.add(createMedia(1))
+        ShadowSystemClock.advanceBy(Duration.ofMillis(100))
+        buffer.add(createMedia(2))
+        ShadowSystemClock.advanceBy(Duration.ofMillis(100))
+        buffer.drain()
+
+        assertEquals(2, buffer.drainedMedia)
+        assertEquals(150, buffer.averageWaitTimeMs)
+        assertEquals(200, buffer.maxWaitTimeMs)
+    }
+
+    private fun createMedia(id: Int, url: String = "https://example.com/$id.jpg") =
+        Media(id, url, "image", metadata = JavaOnlyMap())
+}
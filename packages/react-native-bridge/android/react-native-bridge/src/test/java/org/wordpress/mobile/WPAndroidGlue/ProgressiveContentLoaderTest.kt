@@ -0,0 +1,39 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class ProgressiveContentLoaderTest {
+    @Test
+    fun testEndsAfterFirstScreenOfTopLevelBlocks() {
+        val content = listOf(PARAGRAPH, GROUP, SPACER, PARAGRAPH).joinToString("\n\n")
+
+        val end = ProgressiveContentLoader.findFirstScreenEnd(content, 2)
+
+        assertEquals(PARAGRAPH + "\n\n" + GROUP, content.substring(0, end))
+    }
+
+    @Test
+    fun testCountsFreeformHtmlAsBlocks() {
+        val content = "$PARAGRAPH\n\n<p>Freeform</p>\n\n$PARAGRAPH"
+
+        val end = ProgressiveContentLoader.findFirstScreenEnd(content, 2)
+
+        assertEquals("$PARAGRAPH\n\n<p>Freeform</p>\n\n", content.substring(0, end))
+    }
+
+    @Test
+    fun testKeepsWholeContentWithoutMoreBlocks() {
+        val content = listOf(PARAGRAPH, SPACER, PARAGRAPH).joinToString("\n\n") + "\n"
+
+        assertEquals(content.length, ProgressiveContentLoader.findFirstScreenEnd(content, 3))
+        assertEquals(content.length, ProgressiveContentLoader.findFirstScreenEnd(content, 10))
+        assertEquals(content.length, ProgressiveContentLoader.findFirstScreenEnd(content, 0))
+    }
+
+    private companion object {
+        const val PARAGRAPH = "<!-- wp:paragraph -->\n<p>Hello world</p>\n<!-- /wp:paragraph -->"
+        const val GROUP = "<!-- wp:group --><div>$PARAGRAPH\n\n$PARAGRAPH</div><!-- /wp:group -->"
+        const val SPACER = "<!-- wp:spacer /-->"
+    }
+}
@@ -0,0 +1,69 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import android.os.Bundle
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class TranslationStoreTest {
+    @get:Rule
+    val temporaryFolder = TemporaryFolder()
+
+    private val translations = Bundle().apply {
+        for (i in 0 until 1_000) {
+            putStringArray("Original string $i", arrayOf("Traduction $i"))
+        }
+        putString("post type\u0004Post", "Article")
+        putStringArray("%d block", arrayOf("%d bloc", "%d blocs"))
+        putStringArray("Emoji", arrayOf("👋"))
+    }
+
+    @Test
+    fun testLooksTranslationsUp() {
+        val store = TranslationStore(temporaryFolder.root, "fr", translations)
+
+        assertArrayEquals(arrayOf("Traduction 999"), store.getTranslation("Original string 999"))
+        assertArrayEquals(arrayOf("Article"), store.getTranslation("post type\u0004Post"))
+        assertArrayEquals(arrayOf("%d bloc", "%d blocs"), store.getTranslation("%d block"))
+        assertArrayEquals(arrayOf("👋"), store.getTranslation("Emoji"))
+        assertNull(store.getTranslation("Post"))
+        assertEquals(4, store.hits)
+        assertEquals(1, store.misses)
+    }
+
+    @Test
+    fun testListsKeyHashesInOrder() {
+        val store = TranslationStore(temporaryFolder.root, "fr", translations)
+
+        val keyHashes = store.keyHashes!!.chunked(8).map { it.toLong(16).toInt() }
+        assertEquals(translations.keySet().map { it.hashCode() }.sorted(), keyHashes)
+        // The lookups JS rules out aren't counted
+        assertEquals(0, store.misses)
+    }
+
+    @Test
+    fun testWritesIndexOncePerTranslations() {
+        val firstStore = TranslationStore(temporaryFolder.root, "fr", translations)
+        assertArrayEquals(arrayOf("Traduction 0"), firstStore.getTranslation("Original string 0"))
+        assertTrue(firstStore.wasWritten())
+
+        val store = TranslationStore(temporaryFolder.root, "fr", translations)
+        assertArrayEquals(arrayOf("Traduction 1"), store.getTranslation("Original string 1"))
+        assertFalse(store.wasWritten())
+
+        translations.putStringArray("Original string 1", arrayOf("Nouvelle traduction"))
+        val updatedStore = TranslationStore(temporaryFolder.root, "fr", translations)
+        assertArrayEquals(arrayOf("Nouvelle traduction"), updatedStore.getTranslation("Original string 1"))
+        assertTrue(updatedStore.wasWritten())
+        // The outdated index is deleted
+        assertEquals(1, temporaryFolder.root.listFiles()?.size)
+    }
+}
@@ -19,11 +19,76 @@ window.getHTMLPostContent = () => {
 	if ( window.webkit ) {
 		window.webkit.messageHandlers.htmlPostContent.postMessage( HTML );
 		// Otherwise it\'s Android
+	} else if ( window.wpwebkit.beginContent ) {
+		window.sendHTMLPostContentWithRetries( HTML );
 	} else {
 		window.wpwebkit.postMessage( HTML );
 	}
 };
 
+/**
+ * Computes the same 32-bit hash as Java's String.hashCode, so the native side
+ * can verify that the reassembled content is intact.
+ *
+ * @param {string} content Content to hash.
+ * @return {number} The content hash.
+ */
+window.getContentHash = ( content ) => {
+	let hash = 0;
+	for ( let i = 0; i < content.length; i++ ) {
+		hash = ( Math.imul( 31, hash ) + content.charCodeAt( i ) ) | 0;
+	}
+	return hash;
+};
+
+/**
+ * Sends the post content to the Android app in chunks, again when the app
+ * tells the content it received is corrupted, and tells the app when it never
+ * received it intact.
+ *
+ * @param {string} HTML The post content.
+ */
+window.sendHTMLPostContentWithRetries = ( HTML ) => {
+	const POST_CONTENT_ATTEMPTS = 3;
+
+	for ( let attempt = 0; attempt < POST_CONTENT_ATTEMPTS; attempt++ ) {
+		if ( window.sendHTMLPostContentInChunks( HTML ) ) {
+			return;
+		}
+	}
+	window.wpwebkit.failContent();
+};
+
+/**
+ * Sends the post content to the Android app in chunks.
+ *
+ * @param {string} HTML The post content.
+ * @return {boolean} Whether the app received the content intact.
+ */
+window.sendHTMLPostContentInChunks = ( HTML ) => {
+	// Chunk size used when sending the post content back to the Android app.
+	const POST_CONTENT_CHUNK_SIZE = 32 * 1024;
+
+	window.wpwebkit.beginContent( HTML.length, window.getContentHash( HTML ) );
+	let start = 0;
+	while ( start < HTML.length ) {
+		let end = Math.min( start + POST_CONTENT_CHUNK_SIZE, HTML.length );
+		// Don't split a surrogate pair between two chunks.
+		const lastCharCode = HTML.charCodeAt( end - 1 );
+		if (
+			end < HTML.length &&
+			lastCharCode >= 0xd800 &&
+			lastCharCode <= 0xdbff
+		) {
+			end--;
+		}
+		window.wpwebkit.appendContent( HTML.substring( start, end ) );
+		start = end;
+	}
+	// Older versions of the app don't tell whether the content was intact.
+	return window.wpwebkit.endContent() !== false;
+};
+
 window.insertBlock = ( blockHTML ) => {
 	// Setup the editor with the inserted block.
 	const post = window.wp.data.select( 'core/editor' ).getCurrentPost();
@@ -34,6 +99,27 @@ window.insertBlock = ( blockHTML ) => {
 	window.contentIncerted = true;
 };
 
+// Large block content is delivered by the native side in several chunks,
+// which are reassembled here before inserting the block.
+window.blockContentChunks = [];
+
+window.resetBlockContentChunks = () => {
+	window.blockContentChunks = [];
+};
+
+window.appendBlockContentChunk = ( chunk ) => {
+	window.blockContentChunks.push( chunk );
+};
+
+window.insertBlockFromChunks = () => {
+	const blockHTML = window.blockContentChunks.join( '' );
+	window.blockContentChunks = [];
+
+	if ( window.insertBlock && window.contentIncerted !== true ) {
+		window.insertBlock( blockHTML );
+	}
+};
+
 window.sendGutenbergReadyMessage = () => {
 	if ( window.webkit ) {
 		// iOS
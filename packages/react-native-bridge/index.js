@@ -1,7 +1,7 @@
 /**
  * External dependencies
  */
-import { NativeModules, NativeEventEmitter, Platform } from 'react-native';
+import { NativeEventEmitter, Platform } from 'react-native';
 
 /**
  * WordPress dependencies
@@ -11,9 +11,11 @@ import RCTAztecView from '@wordpress/react-native-aztec';
 /**
  * Internal dependencies
  */
+import RNReactNativeGutenbergBridge from './NativeRNReactNativeGutenbergBridge';
 import parseException from './lib/parseException';
+import contentFingerprint from './lib/contentFingerprint';
+import benchmarkHostQueriesLatency from './lib/benchmarkHostQueries';
 
-const { RNReactNativeGutenbergBridge } = NativeModules;
 const isIOS = Platform.OS === 'ios';
 const isAndroid = Platform.OS === 'android';
 
@@ -21,7 +23,10 @@ const gutenbergBridgeEvents = new NativeEventEmitter(
 	RNReactNativeGutenbergBridge
 );
 
-export const { isInitialColorSchemeDark } = RNReactNativeGutenbergBridge;
+// Constants are only available through `getConstants` with TurboModules.
+const bridgeConstants = RNReactNativeGutenbergBridge.getConstants();
+
+export const { isInitialColorSchemeDark } = bridgeConstants;
 
 export const mediaSources = {
 	deviceLibrary: 'DEVICE_MEDIA_LIBRARY',
@@ -35,8 +40,60 @@ export const actionButtons = {
 
 // Console polyfill from react-native.
 
+const LOG_LEVEL_ERROR = 3;
+const LOG_BATCH_SIZE = 50;
+const LOG_BATCH_MAX_LENGTH = 64 * 1024;
+const LOG_FLUSH_DELAY_MS = 250;
+const { minLogLevel = 0 } = bridgeConstants;
+let pendingLogMessages = [];
+let pendingLogLevels = [];
+let pendingLogLength = 0;
+let logFlushTimeout;
+
+function flushLogs() {
+	clearTimeout( logFlushTimeout );
+	logFlushTimeout = undefined;
+	if ( pendingLogMessages.length === 0 ) {
+		return;
+	}
+	const messages = pendingLogMessages;
+	const levels = pendingLogLevels;
+	// Reset the batch first, so it doesn't keep growing if sending it throws.
+	pendingLogMessages = [];
+	pendingLogLevels = [];
+	pendingLogLength = 0;
+	RNReactNativeGutenbergBridge.editorDidEmitLogs( messages, levels );
+}
+
+/**
+ * On Android, logs below the level set by the host are dropped, and the rest
+ * are sent in batches, of at most 50 logs and 64K characters. Errors are sent
+ * right away, with the logs before them.
+ *
+ * @param {string} message  Log message.
+ * @param {number} logLevel Log level, from 0 (trace) to 3 (error).
+ */
 export function nativeLoggingHook( message, logLevel ) {
-	RNReactNativeGutenbergBridge.editorDidEmitLog( message, logLevel );
+	if ( ! isAndroid ) {
+		RNReactNativeGutenbergBridge.editorDidEmitLog( message, logLevel );
+		return;
+	}
+
+	if ( logLevel < minLogLevel ) {
+		return;
+	}
+	pendingLogMessages.push( message );
+	pendingLogLevels.push( logLevel );
+	pendingLogLength += message.length;
+	if (
+		logLevel >= LOG_LEVEL_ERROR ||
+		pendingLogMessages.length >= LOG_BATCH_SIZE ||
+		pendingLogLength >= LOG_BATCH_MAX_LENGTH
+	) {
+		flushLogs();
+	} else if ( ! logFlushTimeout ) {
+		logFlushTimeout = setTimeout( flushLogs, LOG_FLUSH_DELAY_MS );
+	}
 }
 
 // Send messages.
@@ -50,6 +107,235 @@ export function sendNativeEditorDidLayout() {
 	}
 }
 
+// Whether the content changed since it was last sent to or received from the
+// host, which was then told so.
+let hasUnsyncedContentChanges = false;
+
+// Whether the host keeps local snapshots of the post, and so wants its title
+// and content along with each autosave. Android only.
+const { shouldSendContentOnAutosave = false } = bridgeConstants;
+
+/**
+ * Notifies the host that the post has been autosaved. On Android, when the host
+ * keeps local snapshots of the post, the title and content are sent along,
+ * unless the host has them already. Otherwise nulls are sent instead.
+ *
+ * @param {Function} getPost Returns the `title` and `content` of the post.
+ */
+export function editorDidAutosave( getPost ) {
+	if ( ! isAndroid ) {
+		RNReactNativeGutenbergBridge.editorDidAutosave();
+		return;
+	}
+	if ( ! shouldSendContentOnAutosave ) {
+		RNReactNativeGutenbergBridge.editorDidAutosave( null, null );
+		return;
+	}
+	const { title, content } = getPost();
+	hasUnsyncedContentChanges = false;
+	// The post isn't sent again when the host has it already, e.g. when it
+	// didn't change since the last autosave.
+	if (
+		title === getHostTitle() &&
+		contentFingerprint( content ) === getHostContentFingerprint()
+	) {
+		RNReactNativeGutenbergBridge.editorDidAutosave( null, null );
+		return;
+	}
+	RNReactNativeGutenbergBridge.editorDidAutosave( title, content );
+}
+
+/**
+ * Notifies the host that the content changed, so the content it last sent or
+ * received is no longer the current one. The host is only notified once until
+ * the content is sent or received again. Android only.
+ */
+export function editorDidChangeContent() {
+	if ( isAndroid && ! hasUnsyncedContentChanges ) {
+		hasUnsyncedContentChanges = true;
+		RNReactNativeGutenbergBridge.editorDidChangeContent();
+	}
+}
+
+/**
+ * Sends the HTML of the post to the host, in response to `requestGetHtml`.
+ *
+ * @param {string}  html        The HTML of the post.
+ * @param {string}  title       The title of the post.
+ * @param {boolean} changed     Whether the post changed since it was last sent.
+ * @param {Object}  contentInfo The character, word, paragraph and block counts.
+ */
+export function provideToNativeHtml( html, title, changed, contentInfo ) {
+	hasUnsyncedContentChanges = false;
+	RNReactNativeGutenbergBridge.provideToNative_Html(
+		html,
+		title,
+		changed,
+		contentInfo
+	);
+}
+
+export { contentFingerprint };
+
+/**
+ * Notifies the host that the rest of the blocks of a post loaded
+ * progressively were appended, or that the content was replaced before.
+ * Android only.
+ */
+export function editorDidLoadInitialContent() {
+	if ( isAndroid ) {
+		RNReactNativeGutenbergBridge.editorDidLoadInitialContent();
+	}
+}
+
+/**
+ * Looks up a translation of the host, when the translations aren't included
+ * in the initial props. Android only.
+ *
+ * @param {string} key The original string, prefixed with its context and
+ *                     `\u0004` when it has one.
+ *
+ * @return {?string[]} The plural forms of the translation, or null when there
+ *                     is none.
+ */
+export function getHostTranslation( key ) {
+	return isAndroid
+		? RNReactNativeGutenbergBridge.getHostTranslation( key )
+		: null;
+}
+
+/**
+ * Lists the hashes of the keys the host has a translation for, like Java's
+ * `String.hashCode`, in ascending order, as 8 hex digits each. Android only.
+ *
+ * @return {?string} The hashes, or null when they aren't known.
+ */
+export function getHostTranslationKeyHashes() {
+	return isAndroid
+		? RNReactNativeGutenbergBridge.getHostTranslationKeyHashes()
+		: null;
+}
+
+/**
+ * Returns the fingerprint of the post content the host set or autosaved last,
+ * see `contentFingerprint`, synchronously. Android only. Autosaves skip sending
+ * the content the host has already.
+ *
+ * @return {number|undefined} The fingerprint, or -1 when there is none.
+ */
+export function getHostContentFingerprint() {
+	return isAndroid
+		? RNReactNativeGutenbergBridge.getHostContentFingerprint()
+		: undefined;
+}
+
+/**
+ * Returns the post title the host set or autosaved last, synchronously.
+ * Android only.
+ *
+ * @return {string|null|undefined} The title, or null when it isn't known.
+ */
+export function getHostTitle() {
+	return isAndroid ? RNReactNativeGutenbergBridge.getHostTitle() : undefined;
+}
+
+/**
+ * Returns the current capabilities of the editor, as the host last updated
+ * them, synchronously. Android only. Capability updates only carry the ones
+ * that changed, so the editor reads the rest from here.
+ *
+ * @return {Object|null|undefined} The capabilities, or null when they aren't
+ *                                 known.
+ */
+export function getHostCapabilities() {
+	return isAndroid
+		? RNReactNativeGutenbergBridge.getHostCapabilities()
+		: undefined;
+}
+
+/**
+ * Returns the global styles parsed from a theme, as saved with
+ * `saveThemeStyles` in this or a previous editor session, synchronously.
+ * Android only.
+ *
+ * @param {number} themeHash The hash of the theme.
+ *
+ * @return {string|null|undefined} The global styles as JSON, or null when
+ *                                 they aren't saved.
+ */
+export function getHostThemeStyles( themeHash ) {
+	return isAndroid
+		? RNReactNativeGutenbergBridge.getHostThemeStyles( themeHash )
+		: undefined;
+}
+
+/**
+ * Saves the global styles parsed from a theme on the host, for the next editor
+ * sessions not to parse the theme again. Android only.
+ *
+ * @param {number} themeHash The hash of the theme.
+ * @param {string} styles    The global styles as JSON.
+ */
+export function saveThemeStyles( themeHash, styles ) {
+	if ( isAndroid ) {
+		RNReactNativeGutenbergBridge.saveThemeStyles( themeHash, styles );
+	}
+}
+
+/**
+ * Measures the latency of the synchronous host queries, through the bridge or
+ * JSI depending on the architecture the app is built with. Android only.
+ *
+ * @param {number} iterations How many times each query is made.
+ *
+ * @return {Object|undefined} The results, see `lib/benchmarkHostQueries`.
+ */
+export function benchmarkHostQueries( iterations ) {
+	if ( ! isAndroid ) {
+		return undefined;
+	}
+	return benchmarkHostQueriesLatency(
+		{
+			getHostContentFingerprint,
+			getHostTitle,
+			getHostCapabilities,
+		},
+		iterations
+	);
+}
+
+/**
+ * Reads the initial content the host handed off by handle, instead of putting
+ * it in the initial props because of its size. Android only.
+ *
+ * @param {string} handle The handle of the content, from the initial props.
+ *
+ * @throws {Error} When the host has no content with this handle, e.g. it was
+ *                 released, rather than starting the editor with part of it.
+ *
+ * @return {string} The initial content.
+ */
+export function readInitialContent( handle ) {
+	const chunks = [];
+	let length = 0;
+	while ( true ) {
+		const chunk = RNReactNativeGutenbergBridge.readInitialContentChunk(
+			handle,
+			length
+		);
+		if ( typeof chunk !== 'string' ) {
+			throw new Error(
+				`The initial content with handle ${ handle } is unavailable.`
+			);
+		}
+		if ( chunk === '' ) {
+			return chunks.join( '' );
+		}
+		chunks.push( chunk );
+		length += chunk.length;
+	}
+}
+
 // Register listeners.
 
 export function subscribeParentGetHtml( callback ) {
@@ -68,8 +354,18 @@ export function subscribeSetTitle( callback ) {
 	return gutenbergBridgeEvents.addListener( 'setTitle', callback );
 }
 
+/**
+ * Subscribes to the HTML set by the host. On Android, the payload has the
+ * `fingerprint` of the HTML too, so it can be skipped when it's the content
+ * the editor already has.
+ *
+ * @param {Function} callback Called with the `html` and `fingerprint`.
+ */
 export function subscribeUpdateHtml( callback ) {
-	return gutenbergBridgeEvents.addListener( 'updateHtml', callback );
+	return gutenbergBridgeEvents.addListener( 'updateHtml', ( payload ) => {
+		hasUnsyncedContentChanges = false;
+		callback( payload );
+	} );
 }
 
 export function subscribeFeaturedImageIdNativeUpdated( callback ) {
@@ -131,7 +427,36 @@ export function subscribeMediaSave( callback ) {
 }
 
 export function subscribeMediaAppend( callback ) {
-	return gutenbergBridgeEvents.addListener( 'mediaAppend', callback );
+	return gutenbergBridgeEvents.addListener( 'mediaAppend', ( payload ) => {
+		( payload.media ?? [ payload ] ).forEach(
+			( { mediaUrl, thumbnailUrl } ) =>
+				setMediaThumbnailUrl( mediaUrl, thumbnailUrl )
+		);
+		callback( payload );
+	} );
+}
+
+// The URLs of the downscaled previews the host generated for local images, by
+// the URLs of the images.
+const mediaThumbnailUrls = new Map();
+
+function setMediaThumbnailUrl( url, thumbnailUrl ) {
+	if ( url && thumbnailUrl ) {
+		mediaThumbnailUrls.set( url, thumbnailUrl );
+	}
+}
+
+/**
+ * Returns the URL of the downscaled preview the host generated for a local
+ * image the user selected, to show it instead of decoding the full image.
+ * Android only.
+ *
+ * @param {string} url The URL of the image.
+ *
+ * @return {string|undefined} The URL of the preview, if there is one.
+ */
+export function getMediaThumbnailUrl( url ) {
+	return mediaThumbnailUrls.get( url );
 }
 
 export function subscribeAndroidModalClosed( callback ) {
@@ -234,7 +559,17 @@ export function requestMediaPicker( source, filter, multiple, callback ) {
 		source,
 		filter,
 		multiple,
-		callback
+		( ...args ) => {
+			const [ media ] = args;
+			( Array.isArray( media ) ? media : [ media ] ).forEach(
+				( item ) =>
+					setMediaThumbnailUrl(
+						item?.url,
+						item?.metadata?.thumbnailUrl
+					)
+			);
+			callback( ...args );
+		}
 	);
 }
 
@@ -0,0 +1,43 @@
+/**
+ * Measures the latency of synchronous host queries, as JS sees it.
+ *
+ * The same queries go through the bridge with the legacy architecture and
+ * through JSI with the new one, so running this in a build of each tells how
+ * they compare.
+ *
+ * @param {Object<string, Function>} queries    The queries, by name.
+ * @param {number}                   iterations How many times each query is
+ *                                              made.
+ *
+ * @return {Object} The architecture, `turbomodule` or `legacy`, and the mean,
+ *                  median and 95th percentile latencies of each query, in
+ *                  milliseconds.
+ */
+export default function benchmarkHostQueries( queries, iterations = 1000 ) {
+	const results = {};
+	Object.entries( queries ).forEach( ( [ name, query ] ) => {
+		// The first call isn't measured, since it also loads the module.
+		query();
+		const latencies = [];
+		for ( let i = 0; i < iterations; i++ ) {
+			const start = performance.now();
+			query();
+			latencies.push( performance.now() - start );
+		}
+		latencies.sort( ( a, b ) => a - b );
+		const total = latencies.reduce( ( sum, latency ) => sum + latency, 0 );
+		results[ name ] = {
+			mean: total / iterations,
+			median: latencies[ Math.floor( iterations * 0.5 ) ],
+			p95: latencies[ Math.floor( iterations * 0.95 ) ],
+		};
+	} );
+	return {
+		architecture:
+			typeof global.__turboModuleProxy !== 'undefined'
+				? 'turbomodule'
+				: 'legacy',
+		iterations,
+		results,
+	};
+}
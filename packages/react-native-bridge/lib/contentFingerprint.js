@@ -0,0 +1,26 @@
+/**
+ * Returns a fingerprint of the content, to tell whether the host and the
+ * editor have the same content without sending it across the bridge.
+ *
+ * It's the 53-bit cyrb53 hash of the UTF-16 code units of the content, so it
+ * fits in a number without losing precision. The host computes the same one in
+ * `ContentFingerprint.java`.
+ *
+ * @param {string} content The content.
+ *
+ * @return {number} The fingerprint of the content.
+ */
+export default function contentFingerprint( content ) {
+	let h1 = 0xdeadbeef;
+	let h2 = 0x41c6ce57;
+	for ( let i = 0; i < content.length; i++ ) {
+		const charCode = content.charCodeAt( i );
+		h1 = Math.imul( h1 ^ charCode, 2654435761 );
+		h2 = Math.imul( h2 ^ charCode, 1597334677 );
+	}
+	h1 = Math.imul( h1 ^ ( h1 >>> 16 ), 2246822507 );
+	h1 ^= Math.imul( h2 ^ ( h2 >>> 13 ), 3266489909 );
+	h2 = Math.imul( h2 ^ ( h2 >>> 16 ), 2246822507 );
+	h2 ^= Math.imul( h1 ^ ( h1 >>> 13 ), 3266489909 );
+	return 4294967296 * ( 2097151 & h2 ) + ( h1 >>> 0 );
+}
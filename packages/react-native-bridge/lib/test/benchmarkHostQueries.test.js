@@ -0,0 +1,30 @@
+/**
+ * Internal dependencies
+ */
+import benchmarkHostQueries from '../benchmarkHostQueries';
+
+describe( 'Host queries benchmark', () => {
+	it( 'makes each query the given number of times, plus a warm-up call', () => {
+		const getTitle = jest.fn();
+		const getCapabilities = jest.fn();
+
+		benchmarkHostQueries( { getTitle, getCapabilities }, 10 );
+
+		expect( getTitle ).toHaveBeenCalledTimes( 11 );
+		expect( getCapabilities ).toHaveBeenCalledTimes( 11 );
+	} );
+
+	it( 'reports the latencies of each query with the architecture', () => {
+		const { architecture, iterations, results } = benchmarkHostQueries(
+			{ getTitle: () => 'Title' },
+			20
+		);
+
+		expect( architecture ).toBe( 'legacy' );
+		expect( iterations ).toBe( 20 );
+		const { mean, median, p95 } = results.getTitle;
+		expect( mean ).toBeGreaterThanOrEqual( 0 );
+		expect( median ).toBeGreaterThanOrEqual( 0 );
+		expect( p95 ).toBeGreaterThanOrEqual( median );
+	} );
+} );
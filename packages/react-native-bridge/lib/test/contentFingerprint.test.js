@@ -0,0 +1,23 @@
+/**
+ * Internal dependencies
+ */
+import contentFingerprint from '../contentFingerprint';
+
+describe( 'Content fingerprint', () => {
+	it( 'matches the fingerprints computed by the host', () => {
+		// Same values as ContentFingerprintTest.kt
+		expect( contentFingerprint( '' ) ).toBe( 3338908027751811 );
+		expect( contentFingerprint( 'Hello world' ) ).toBe( 3494146707865688 );
+		expect(
+			contentFingerprint(
+				'<!-- wp:paragraph --><p>👋</p><!-- /wp:paragraph -->'
+			)
+		).toBe( 259480873809778 );
+	} );
+
+	it( 'differs when the content differs', () => {
+		expect( contentFingerprint( 'Hello world' ) ).not.toBe(
+			contentFingerprint( 'Hello world!' )
+		);
+	} );
+} );
@@ -143,6 +143,7 @@ class MainActivity : ReactActivity() {
             var initialData: String? = null
             var rawStyles: String? = null
             var rawFeatures: String? = null
+            var benchmarkHostQueries = false
             val extrasBundle = intent.extras
             if (extrasBundle != null) {
                 val initialProps = extrasBundle.getString(EXTRAS_INITIAL_PROPS, "{}")
@@ -160,6 +161,7 @@ class MainActivity : ReactActivity() {
                     if (jsonObject.has(GutenbergProps.PROP_FEATURES)) {
                         rawFeatures = jsonObject.getString(GutenbergProps.PROP_FEATURES)
                     }
+                    benchmarkHostQueries = jsonObject.optBoolean(PROP_BENCHMARK_HOST_QUERIES)
                 } catch (e: JSONException) {
                     Log.e("MainActivity", "Json parsing error: " + e.message)
                 }
@@ -197,6 +199,9 @@ class MainActivity : ReactActivity() {
             if (rawFeatures != null) {
                 bundle.putString(GutenbergProps.PROP_FEATURES, rawFeatures)
             }
+            if (benchmarkHostQueries) {
+                bundle.putBoolean(PROP_BENCHMARK_HOST_QUERIES, true)
+            }
             return bundle
         }
 
@@ -204,5 +209,9 @@ class MainActivity : ReactActivity() {
         var instance: MainActivity? = null
             private set
         private const val EXTRAS_INITIAL_PROPS = "initialProps"
+        // Logs the latency of the host's synchronous queries, e.g. to compare the architectures:
+        // adb shell am start -n com.gutenberg/.MainActivity --es initialProps '{"benchmarkHostQueries":true}'
+        // adb logcat -s ReactNativeJS | grep "Host queries benchmark"
+        private const val PROP_BENCHMARK_HOST_QUERIES = "benchmarkHostQueries"
     }
 }
@@ -3,6 +3,11 @@
  */
 import { applyFilters, doAction } from '@wordpress/hooks';
 import { Component, cloneElement, registerComponent } from '@wordpress/element';
+import {
+	benchmarkHostQueries,
+	getHostTranslation,
+	getHostTranslationKeyHashes,
+} from '@wordpress/react-native-bridge';
 
 /**
  * Internal dependencies
@@ -10,6 +15,7 @@ import { Component, cloneElement, registerComponent } from '@wordpress/element';
 import './globals';
 import initialHtml from './initial-html';
 import setupLocale from './setup-locale';
+import setupLazyTranslations from './setup-lazy-translations';
 import { getTranslation as getGutenbergTranslation } from '../i18n-cache';
 
 /**
@@ -40,6 +46,14 @@ const registerGutenberg = ( {
 				getGutenbergTranslation,
 				pluginTranslations
 			);
+			// The host's translations are looked up as they're needed, instead
+			// of being included in the props.
+			if ( parentProps.lazyTranslations ) {
+				setupLazyTranslations(
+					getHostTranslation,
+					getHostTranslationKeyHashes
+				);
+			}
 
 			if ( beforeInitCallback ) {
 				beforeInitCallback( parentProps );
@@ -69,6 +83,18 @@ const registerGutenberg = ( {
 			);
 		}
 
+		componentDidMount() {
+			// The demo app runs the benchmark when launched with it in the
+			// initial props, in a build of each architecture to compare them.
+			if ( this.props.benchmarkHostQueries ) {
+				// eslint-disable-next-line no-console
+				console.log(
+					'Host queries benchmark:',
+					JSON.stringify( benchmarkHostQueries() )
+				);
+			}
+		}
+
 		render() {
 			return cloneElement( this.editorComponent, this.filteredProps );
 		}
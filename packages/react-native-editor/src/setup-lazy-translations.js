@@ -0,0 +1,134 @@
+/**
+ * WordPress dependencies
+ */
+import { createI18n, getLocaleData } from '@wordpress/i18n';
+import { addFilter } from '@wordpress/hooks';
+
+const NAMESPACE = 'core/react-native-editor/lazy-translations';
+// The hex digits of a key hash.
+const KEY_HASH_LENGTH = 8;
+
+/**
+ * Hashes a key like Java's `String.hashCode`, over its UTF-16 code units.
+ *
+ * @param {string} key The key.
+ *
+ * @return {number} The hash, as a signed 32-bit integer.
+ */
+const hashKey = ( key ) => {
+	let hash = 0;
+	for ( let i = 0; i < key.length; i++ ) {
+		hash = ( Math.imul( 31, hash ) + key.charCodeAt( i ) ) | 0;
+	}
+	return hash;
+};
+
+/**
+ * Searches the key hashes for the hash of a key.
+ *
+ * @param {string} keyHashes The hashes, in ascending order as signed integers,
+ *                           as 8 hex digits each.
+ * @param {string} key       The key.
+ *
+ * @return {boolean} Whether the key may have a translation, i.e. has the hash
+ *                   of a key that has one.
+ */
+const hasKeyHash = ( keyHashes, key ) => {
+	const hash = hashKey( key );
+	const readHash = ( slot ) =>
+		parseInt(
+			keyHashes.substr( slot * KEY_HASH_LENGTH, KEY_HASH_LENGTH ),
+			16
+		) | 0;
+	let low = 0;
+	let high = keyHashes.length / KEY_HASH_LENGTH;
+	while ( low < high ) {
+		const mid = ( low + high ) >>> 1;
+		if ( readHash( mid ) < hash ) {
+			low = mid + 1;
+		} else {
+			high = mid;
+		}
+	}
+	return (
+		low * KEY_HASH_LENGTH < keyHashes.length && readHash( low ) === hash
+	);
+};
+
+/**
+ * Setup translations looked up one by one, instead of being included in the
+ * locale data up front. Like the extra translations of `setupLocale`, they
+ * apply to every domain and take precedence over the domain's translations.
+ *
+ * Most keys have no translation, so when the host lists the hashes of the
+ * keys it has one for, only the keys that may have one are looked up.
+ *
+ * @param {Function} getTranslation Function for retrieving the translation of a
+ *                                  key, i.e. its plural forms, or null.
+ * @param {Function} [getKeyHashes] Function for retrieving the hashes of the
+ *                                  keys that have a translation, see
+ *                                  `getHostTranslationKeyHashes`, or null.
+ */
+export default ( getTranslation, getKeyHashes ) => {
+	// Holds the translations looked up so far, with the plural forms
+	// expression of the default domain.
+	const translations = createI18n( {
+		'': getLocaleData()?.[ '' ] ?? {},
+	} );
+	const lookedUpKeys = new Set();
+	// Retrieved with the first lookup, since the host may still be opening
+	// its translations when this runs.
+	let keyHashes;
+
+	const hasTranslation = ( single, context ) => {
+		const key = context ? context + '\u0004' + single : single;
+		if ( ! lookedUpKeys.has( key ) ) {
+			lookedUpKeys.add( key );
+			if ( keyHashes === undefined ) {
+				keyHashes = getKeyHashes?.() ?? null;
+			}
+			const translation =
+				typeof keyHashes !== 'string' || hasKeyHash( keyHashes, key )
+					? getTranslation( key )
+					: null;
+			if ( translation ) {
+				translations.setLocaleData( { [ key ]: translation } );
+			}
+		}
+		return translations.hasTranslation( single, context );
+	};
+
+	addFilter( 'i18n.gettext', NAMESPACE, ( translation, text ) =>
+		hasTranslation( text ) ? translations.__( text ) : translation
+	);
+	addFilter(
+		'i18n.gettext_with_context',
+		NAMESPACE,
+		( translation, text, context ) =>
+			hasTranslation( text, context )
+				? translations._x( text, context )
+				: translation
+	);
+	addFilter(
+		'i18n.ngettext',
+		NAMESPACE,
+		( translation, single, plural, number ) =>
+			hasTranslation( single )
+				? translations._n( single, plural, number )
+				: translation
+	);
+	addFilter(
+		'i18n.ngettext_with_context',
+		NAMESPACE,
+		( translation, single, plural, number, context ) =>
+			hasTranslation( single, context )
+				? translations._nx( single, plural, number, context )
+				: translation
+	);
+	addFilter(
+		'i18n.has_translation',
+		NAMESPACE,
+		( result, single, context ) =>
+			result || hasTranslation( single, context )
+	);
+};
@@ -12,6 +12,7 @@ import * as wpData from '@wordpress/data';
 import { registerCoreBlocks } from '@wordpress/block-library';
 // eslint-disable-next-line no-restricted-imports
 import { initializeEditor } from '@wordpress/edit-post';
+import { readInitialContent } from '@wordpress/react-native-bridge';
 
 /**
  * Internal dependencies
@@ -64,15 +65,22 @@ const setupInitHooks = () => {
 			const { capabilities = {} } = props;
 			let {
 				initialData,
+				initialDataHandle,
+				initialDataRemainderHandle,
 				initialTitle,
 				postType,
 				hostAppNamespace,
 				featuredImageId,
 				rawStyles,
 				rawFeatures,
+				themeHash,
 				locale,
 			} = props;
 
+			// Large content is handed off instead of being in the props
+			if ( initialDataHandle !== undefined ) {
+				initialData = readInitialContent( initialDataHandle );
+			}
 			if ( initialData === undefined && __DEV__ ) {
 				initialData = initialHtml;
 			}
@@ -85,6 +93,9 @@ const setupInitHooks = () => {
 
 			return {
 				initialHtml: initialData,
+				// The rest of a large post the editor starts with the first
+				// blocks of, read once it's mounted.
+				initialHtmlRemainderHandle: initialDataRemainderHandle,
 				initialHtmlModeEnabled: props.initialHtmlModeEnabled,
 				initialTitle,
 				postType,
@@ -93,6 +104,7 @@ const setupInitHooks = () => {
 				capabilities,
 				rawStyles,
 				rawFeatures,
+				themeHash,
 				locale,
 			};
 		}
@@ -0,0 +1,94 @@
+/**
+ * WordPress dependencies
+ */
+import { __, _n, _x, hasTranslation } from '@wordpress/i18n';
+import { removeAllFilters } from '@wordpress/hooks';
+
+/**
+ * Internal dependencies
+ */
+import setupLazyTranslations from '../setup-lazy-translations';
+
+const hostTranslations = {
+	'lazy-string': [ 'lazy-string-translation' ],
+	'context\u0004lazy-string': [ 'lazy-string-translation-with-context' ],
+	'%d lazy-string': [ '%d lazy-string-singular', '%d lazy-string-plural' ],
+};
+
+// The hashes of the keys above, as computed by Java's `String.hashCode`.
+const hostTranslationKeyHashes = [ '001986c9', '39a82c8a', '628fe935' ].join(
+	''
+);
+
+const getTranslation = jest.fn( ( key ) => hostTranslations[ key ] ?? null );
+
+const removeLazyTranslations = () =>
+	[
+		'i18n.gettext',
+		'i18n.gettext_with_context',
+		'i18n.ngettext',
+		'i18n.ngettext_with_context',
+		'i18n.has_translation',
+	].forEach( ( hookName ) => removeAllFilters( hookName ) );
+
+describe( 'Setup lazy translations', () => {
+	beforeAll( () => {
+		setupLazyTranslations( getTranslation );
+	} );
+
+	afterAll( () => {
+		removeLazyTranslations();
+		getTranslation.mockClear();
+	} );
+
+	it( 'looks translations up once', () => {
+		expect( __( 'lazy-string' ) ).toBe( 'lazy-string-translation' );
+		expect( __( 'lazy-string' ) ).toBe( 'lazy-string-translation' );
+		expect( __( 'missing-string' ) ).toBe( 'missing-string' );
+		expect( __( 'missing-string' ) ).toBe( 'missing-string' );
+
+		expect( getTranslation ).toHaveBeenCalledTimes( 2 );
+	} );
+
+	it( 'looks translations with context and plural forms up', () => {
+		expect( _x( 'lazy-string', 'context' ) ).toBe(
+			'lazy-string-translation-with-context'
+		);
+		expect( _n( '%d lazy-string', '%d lazy-strings', 1 ) ).toBe(
+			'%d lazy-string-singular'
+		);
+		expect( _n( '%d lazy-string', '%d lazy-strings', 2 ) ).toBe(
+			'%d lazy-string-plural'
+		);
+		expect( hasTranslation( 'lazy-string', 'context' ) ).toBe( true );
+		expect( hasTranslation( 'missing-string', 'context' ) ).toBe( false );
+	} );
+} );
+
+describe( 'Setup lazy translations with the key hashes', () => {
+	const getKeyHashes = jest.fn( () => hostTranslationKeyHashes );
+
+	beforeAll( () => {
+		setupLazyTranslations( getTranslation, getKeyHashes );
+	} );
+
+	afterAll( () => {
+		removeLazyTranslations();
+	} );
+
+	it( 'only looks up the keys that have a translation', () => {
+		expect( __( 'missing-string' ) ).toBe( 'missing-string' );
+		expect( _x( 'lazy-string', 'missing-context' ) ).toBe( 'lazy-string' );
+		expect( __( 'lazy-string' ) ).toBe( 'lazy-string-translation' );
+		expect( _x( 'lazy-string', 'context' ) ).toBe(
+			'lazy-string-translation-with-context'
+		);
+		expect( _n( '%d lazy-string', '%d lazy-strings', 2 ) ).toBe(
+			'%d lazy-string-plural'
+		);
+
+		expect( getKeyHashes ).toHaveBeenCalledTimes( 1 );
+		expect( getTranslation ).toHaveBeenCalledTimes( 3 );
+		expect( getTranslation ).not.toHaveBeenCalledWith( 'missing-string' );
+	} );
+} );
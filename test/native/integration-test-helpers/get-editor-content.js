@@ -3,7 +3,7 @@
  */
 import {
 	subscribeParentGetHtml,
-	provideToNative_Html as provideToNativeHtml,
+	provideToNativeHtml,
 } from '@wordpress/react-native-bridge';
 
 // Set up the mocks for getting the HTML output of the editor
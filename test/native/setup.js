@@ -115,10 +115,23 @@ jest.mock( '@wordpress/react-native-bridge', () => {
 		showAndroidSoftKeyboard: jest.fn(),
 		hideAndroidSoftKeyboard: jest.fn(),
 		editorDidAutosave: jest.fn(),
+		editorDidChangeContent: jest.fn(),
+		editorDidLoadInitialContent: jest.fn(),
+		readInitialContent: jest.fn(),
+		getHostTranslation: jest.fn(),
+		getHostTranslationKeyHashes: jest.fn(),
+		getHostContentFingerprint: jest.fn(),
+		getHostTitle: jest.fn(),
+		getHostCapabilities: jest.fn(),
+		getHostThemeStyles: jest.fn(),
+		saveThemeStyles: jest.fn(),
+		benchmarkHostQueries: jest.fn(),
+		getMediaThumbnailUrl: jest.fn(),
+		contentFingerprint: jest.fn(),
 		subscribeMediaUpload: jest.fn(),
 		subscribeMediaSave: jest.fn(),
 		getOtherMediaOptions: jest.fn(),
-		provideToNative_Html: jest.fn(),
+		provideToNativeHtml: jest.fn(),
 		requestImageFailedRetryDialog: jest.fn(),
 		requestImageUploadCancelDialog: jest.fn(),
 		requestImageUploadCancel: jest.fn(),